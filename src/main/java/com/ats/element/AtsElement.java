@@ -158,7 +158,7 @@ public class AtsElement extends AtsBaseElement {
 	}
 
 	public void setAttributes(ArrayList<DesktopData> value) {
-		this.attributes = value.parallelStream().collect(Collectors.toMap(s -> s.getName(), s -> s.getValue()));
+		this.attributes = value.stream().collect(Collectors.toMap(s -> s.getName(), s -> s.getValue()));
 	}
 	
 	public boolean isClickable() {
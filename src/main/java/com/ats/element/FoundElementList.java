@@ -0,0 +1,81 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.element;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Elements found by a search, kept as raw data returned by the driver until they are used.
+ * A found element (with its coordinates computed for the channel) is only created when it is read from the list.
+ * Elements matching the search but not loaded by the driver (search limited to the first elements) are not part of the list,
+ * they are only added to the matching count of the search.
+ */
+public class FoundElementList extends AbstractList<FoundElement> {
+
+	private final List<AtsElement> elements;
+	private final FoundElement[] found;
+	private final int notLoaded;
+
+	private final Function<AtsElement, FoundElement> factory;
+
+	public FoundElementList(List<AtsElement> elements, int notLoaded, Function<AtsElement, FoundElement> factory) {
+		this.elements = elements;
+		this.found = new FoundElement[elements.size()];
+		this.notLoaded = notLoaded;
+		this.factory = factory;
+	}
+
+	@Override
+	public FoundElement get(int index) {
+		FoundElement element = found[index];
+		if(element == null) {
+			element = factory.apply(elements.get(index));
+			found[index] = element;
+		}
+		return element;
+	}
+
+	@Override
+	public int size() {
+		return found.length;
+	}
+
+	/**
+	 * @return the number of elements matching the search, loaded or not
+	 */
+	public int getMatchingCount() {
+		return found.length + notLoaded;
+	}
+
+	/**
+	 * Dispose found elements already created, raw data of other elements is simply released
+	 */
+	public void dispose() {
+		for(int i=0; i<found.length; i++) {
+			if(found[i] != null) {
+				found[i].dispose();
+				found[i] = null;
+			}
+		}
+		elements.clear();
+	}
+}
@@ -128,13 +128,19 @@ public class SearchedElement {
 		this.image = value;
 	}
 
+	public String getImageSource() {
+		final CalculatedProperty prop = criterias.stream().filter(c -> "source".equals(c.getName())).findFirst().orElse(null);
+		if(prop != null) {
+			return prop.getValue().getCalculated();
+		}
+		return null;
+	}
+
 	public byte[] getImage() {
 		if(image == null) {
-			final CalculatedProperty prop = criterias.stream().filter(c -> "source".equals(c.getName())).findFirst().orElse(null);
-			if(prop != null) {
+			final String imagePath = getImageSource();
+			if(imagePath != null) {
 
-				final String imagePath = prop.getValue().getCalculated();
-				
 				URL imageUrl = null;
 				if(imagePath.startsWith("http://") || imagePath.startsWith("https://") || imagePath.startsWith("file://")) {
 					try {
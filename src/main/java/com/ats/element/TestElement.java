@@ -83,6 +83,11 @@ public class TestElement{
 	private String criterias = "";
 	private String searchedTag = "";
 
+	private String[] searchedAttributes;
+	private String[] searchedAttributesValues;
+
+	private int searchLimit = 0;
+
 	protected IVisualRecorder recorder;
 
 	private boolean sysComp = false;
@@ -164,8 +169,13 @@ public class TestElement{
 			parent = null;
 		}
 
-		while(foundElements.size() > 0) {
-			foundElements.remove(0).dispose();
+		if(foundElements instanceof FoundElementList) {
+			((FoundElementList)foundElements).dispose();
+			foundElements = Collections.<FoundElement>emptyList();
+		}else {
+			while(foundElements.size() > 0) {
+				foundElements.remove(0).dispose();
+			}
 		}
 	}
 
@@ -233,21 +243,63 @@ public class TestElement{
 			}
 		}
 
+		searchedAttributes = attributes;
+		searchedAttributesValues = attributesValues;
+
+		//only the element at the searched index is used, next matching elements are only counted,
+		//without index all matching elements are needed (table data of all occurrences)
+		if(index > 0) {
+			searchLimit = index;
+		}
+
 		try {
 			return engine.findElements(sysComp, this, searchedTag, attributes, attributesValues, fullPredicate, null);
 		}catch (StaleElementReferenceException e) {
 			return Collections.<FoundElement>emptyList();
+		}finally {
+			searchLimit = 0;
 		}
 	}
 
+	/**
+	 * @return the number of first matching elements the running search has to load, or 0 if all matching elements are needed
+	 */
+	public int getSearchLimit() {
+		return searchLimit;
+	}
+
+	/**
+	 * Wait until the elements found by the search may have changed or the deadline is reached
+	 *
+	 * @param deadline time in milliseconds of the end of the wait
+	 * @return false if the driver engine cannot wait for changes, the caller has to wait before a new search
+	 */
+	public boolean waitElements(long deadline) {
+		if(searchedAttributes == null) {
+			return false;
+		}
+		return engine.waitElements(this, searchedTag, searchedAttributes, searchedAttributesValues, (int)(deadline - System.currentTimeMillis()));
+	}
+
 	private int getElementsCount() {
-		if(foundElements.size() > getStartOneIndex()){
-			return foundElements.size();
+		final int found = getFoundCount();
+		if(found > getStartOneIndex()){
+			return found;
 		}else{
 			return 0;
 		}
 	}
 
+	/**
+	 * @return the number of elements matching the search, including elements counted but not loaded by a limited search
+	 */
+	public int getFoundCount() {
+		if(foundElements instanceof FoundElementList) {
+			return ((FoundElementList)foundElements).getMatchingCount();
+		}
+		return foundElements.size();
+	}
+
 	private Long getTotalDuration(){
 		if(parent != null){
 			return searchDuration + parent.getTotalDuration();
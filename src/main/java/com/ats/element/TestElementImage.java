@@ -49,7 +49,7 @@ public class TestElementImage extends TestElement {
 			engine.mouseMoveToElement(parent.getFoundElement());
 		}		
 		
-		final ImageTemplateMatchingSimple template = new ImageTemplateMatchingSimple(searchedElement.getImage());
+		final ImageTemplateMatchingSimple template = ImageTemplateMatchingSimple.getTemplate(searchedElement.getImageSource(), searchedElement.getImage());
 
 		for (CalculatedProperty property : searchedElement.getCriterias()){
 			if("error".equals(property.getName())){
@@ -52,8 +52,10 @@ import org.testng.annotations.Listeners;
 
 import com.ats.crypto.Passwords;
 import com.ats.element.SearchedElement;
+import com.ats.executor.ScriptRunner.ScriptClassLoader;
 import com.ats.executor.channels.Channel;
 import com.ats.executor.channels.ChannelManager;
+import com.ats.executor.drivers.HttpClientRegistry;
 import com.ats.generator.objects.Cartesian;
 import com.ats.generator.objects.MouseDirectionData;
 import com.ats.generator.objects.mouse.Mouse;
@@ -75,6 +77,7 @@ import com.ats.generator.variables.transform.Transformer;
 import com.ats.recorder.IVisualRecorder;
 import com.ats.recorder.VisualRecorder;
 import com.ats.recorder.VisualRecorderNull;
+import com.ats.recorder.VisualRecorderQueue;
 import com.ats.script.Project;
 import com.ats.script.Script;
 import com.ats.script.ScriptHeader;
@@ -288,7 +291,11 @@ public class ActionTestScript extends Script implements ITest{
 					output.mkdirs();
 				}
 
-				setRecorder(new VisualRecorder(this, output, header, xml, visualQuality, logger));
+				final VisualRecorderQueue queue = new VisualRecorderQueue(
+						Utils.string2Int(getEnvironmentValue("visual.queue.size", ""), VisualRecorderQueue.DEFAULT_SIZE), 
+						VisualRecorderQueue.Policy.fromString(getEnvironmentValue("visual.queue.policy", "")));
+
+				setRecorder(new VisualRecorder(this, output, header, xml, visualQuality, logger, queue));
 			}
 
 			final JsonObject logs = new JsonObject();
@@ -352,6 +359,16 @@ public class ActionTestScript extends Script implements ITest{
 		tearDown();
 	}
 
+	/**
+	 * Initialize a script executed by the script runner, outside of a TestNG suite
+	 */
+	public void initRunner(String suiteName) {
+		testName = getClass().getName();
+		scriptCallTree = new ArrayList<ActionTestScript>(Arrays.asList(this));
+		status = new ScriptStatus(testName, suiteName);
+		sendScriptInfo("Starting script (" + testName + ") -> " + suiteName);
+	}
+
 	@Override
 	public String getTestName() {
 		return testName;
@@ -414,6 +431,16 @@ public class ActionTestScript extends Script implements ITest{
 		topScript.sendScriptInfo(ActionCallscript.getScriptLog(testName, line, log));
 	}
 
+	/**
+	 * @return class of a called script, scripts compiled in memory by the script runner load their subscripts from the runner
+	 */
+	public Class<ActionTestScript> loadTestScriptClass(String name) {
+		if(getClass().getClassLoader() instanceof ScriptClassLoader) {
+			return ((ScriptClassLoader)getClass().getClassLoader()).loadCalledScriptClass(name);
+		}
+		return getCurrentChannel().loadTestScriptClass(name);
+	}
+
 	public ChannelManager getChannelManager() {
 		return channelManager;
 	}
@@ -430,6 +457,7 @@ public class ActionTestScript extends Script implements ITest{
 	public void tearDown(){
 		sendInfoLog("Drivers", "closing ...");
 		getChannelManager().tearDown();
+		sendInfoLog("Http connections", HttpClientRegistry.getMetrics().toString());
 	}
 
 	//----------------------------------------------------------------------------------------------------------
@@ -8,6 +8,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerException;
 
 import org.testng.IExecutionListener;
@@ -84,7 +85,7 @@ public class ExecutionListener implements IExecutionListener {
 	
 				try {
 					new CampaignReportGenerator(getOutputFolderPath(), jsonSuiteFile, atsReport, jasperHome);
-				} catch (IOException | TransformerException | ParserConfigurationException | SAXException e) {
+				} catch (IOException | TransformerException | ParserConfigurationException | SAXException | XMLStreamException e) {
 					e.printStackTrace();
 				}
 			}
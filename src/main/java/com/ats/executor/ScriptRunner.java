@@ -0,0 +1,238 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.executor;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ats.driver.AtsManager;
+import com.ats.generator.ATS;
+import com.ats.generator.GeneratorCache;
+import com.ats.generator.GeneratorCompiler;
+import com.ats.generator.GeneratorReport;
+import com.ats.generator.parsers.Lexer;
+import com.ats.script.Project;
+import com.ats.script.Script;
+import com.ats.script.ScriptLoader;
+import com.ats.tools.logger.levels.AtsFailError;
+
+/**
+ * Execute ATS scripts of a project without generated Java files, TestNG suite or Ant build.
+ * Scripts are parsed by the lexer and compiled in memory, compiled classes are kept by script content hash
+ * so an unchanged script (or subscript) is only compiled once by JVM.
+ */
+public class ScriptRunner {
+
+	public static final String RUNNER_SUITE_NAME = "ScriptRunner";
+
+	private static final Map<String, ScriptRunner> runners = new ConcurrentHashMap<String, ScriptRunner>();
+
+	/**
+	 * @return the runner of the project, created once by JVM and project folder
+	 */
+	public static ScriptRunner getInstance(Project project) {
+		return runners.computeIfAbsent(new File(project.getFolderPath()).getAbsolutePath(), k -> new ScriptRunner(project));
+	}
+
+	public static void main(String[] args) {
+		if(args.length > 1) {
+			final Project project = Project.getProjectData(new File(args[0]), null, null);
+			if(project.isValidated()) {
+				final ActionTestScript ts = getInstance(project).run(args[1]);
+				if(ts == null || !ts.getStatus().isPassed()) {
+					System.exit(1);
+				}
+			}else {
+				ATS.logError("No valid Ats project found at -> " + args[0]);
+			}
+		}else {
+			ATS.logInfo("Usage : ScriptRunner [project folder] [script qualified name]");
+		}
+	}
+
+	private final Project project;
+	private final Lexer lexer;
+	private final GeneratorCompiler compiler;
+
+	private final Map<String, CompiledScript> scripts = new ConcurrentHashMap<String, CompiledScript>();
+
+	private ScriptRunner(Project project) {
+		this.project = project;
+		this.lexer = new Lexer(project, new GeneratorReport(), StandardCharsets.UTF_8);
+		this.compiler = new GeneratorCompiler(project);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  execution
+	//-------------------------------------------------------------------------------------------------
+
+	/**
+	 * Execute a script of the project, channels opened by the script are closed at the end of the execution
+	 *
+	 * @param scriptName qualified name of the script
+	 * @return the executed script instance, or null if the script cannot be loaded
+	 */
+	public ActionTestScript run(String scriptName) {
+
+		final Class<ActionTestScript> clazz = loadScriptClass(scriptName);
+		if(clazz == null) {
+			ATS.logError("Unable to load script -> " + scriptName);
+			return null;
+		}
+
+		ActionTestScript ts = null;
+		try {
+			ts = clazz.getDeclaredConstructor().newInstance();
+		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+			ATS.logError("Unable to create script instance -> " + e.getMessage());
+			return null;
+		}
+
+		ts.setProjectData(project);
+		ts.initRunner(RUNNER_SUITE_NAME);
+
+		try {
+			clazz.getMethod(ActionTestScript.MAIN_TEST_FUNCTION).invoke(ts);
+		} catch (InvocationTargetException e) {
+			if(!(e.getCause() instanceof AtsFailError)) {
+				ts.getStatus().failed();
+				ATS.logError("Script execution error -> " + e.getCause());
+			}
+		} catch (IllegalAccessException | NoSuchMethodException e) {
+			ATS.logError("Unable to execute script -> " + e.getMessage());
+		} finally {
+			ts.stopRecorder();
+			ts.tearDown();
+		}
+
+		return ts;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  classes cache
+	//-------------------------------------------------------------------------------------------------
+
+	/**
+	 * Load the class of a script, the script is compiled again only if the content of its ATS file has changed.
+	 * Classes already compiled in the classpath are used when the script is not found in the ATS sources folder.
+	 *
+	 * @param scriptName qualified name of the script
+	 * @return the class of the script, or null if the script cannot be found or compiled
+	 */
+	public Class<ActionTestScript> loadScriptClass(String scriptName) {
+
+		final File atsFile = project.getAtsSourceFolder().resolve(scriptName.replace('.', File.separatorChar) + Script.ATS_FILE_EXTENSION).toFile();
+		if(!atsFile.isFile()) {
+			return AtsManager.getInstance().loadTestScriptClass(scriptName);
+		}
+
+		final String hash = GeneratorCache.getFileHash(atsFile);
+
+		final CompiledScript cached = scripts.get(scriptName);
+		if(cached != null && cached.hash.equals(hash)) {
+			return cached.clazz;
+		}
+
+		final ScriptLoader sc = lexer.loadScript(atsFile);
+		if(sc == null) {
+			return null;
+		}
+
+		final String className = sc.getHeader().getQualifiedName();
+		final Map<String, byte[]> classes = compiler.compile(className, sc.getJavaCode(project));
+		if(classes == null) {
+			return null;
+		}
+
+		try {
+			final Class<ActionTestScript> clazz = new ScriptClassLoader(this, classes).loadTestScriptClass(className);
+			scripts.put(scriptName, new CompiledScript(hash, clazz));
+			return clazz;
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+	}
+
+	private static class CompiledScript {
+
+		private final String hash;
+		private final Class<ActionTestScript> clazz;
+
+		private CompiledScript(String hash, Class<ActionTestScript> clazz) {
+			this.hash = hash;
+			this.clazz = clazz;
+		}
+	}
+
+	/**
+	 * Class loader of a script compiled in memory, one instance by compilation so a modified script can be loaded again.
+	 * Compiled classes are loaded before the ones of the parent class loader (an older version may exist in the classpath).
+	 * Subscripts called by the script are loaded through the runner.
+	 */
+	public static class ScriptClassLoader extends ClassLoader {
+
+		private final ScriptRunner runner;
+		private final Map<String, byte[]> classes;
+
+		private ScriptClassLoader(ScriptRunner runner, Map<String, byte[]> classes) {
+			super(ScriptRunner.class.getClassLoader());
+			this.runner = runner;
+			this.classes = classes;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Class<ActionTestScript> loadTestScriptClass(String className) throws ClassNotFoundException {
+			return (Class<ActionTestScript>) loadClass(className);
+		}
+
+		public Class<ActionTestScript> loadCalledScriptClass(String scriptName) {
+			return runner.loadScriptClass(scriptName);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if(classes.containsKey(name)) {
+				synchronized (getClassLoadingLock(name)) {
+					Class<?> c = findLoadedClass(name);
+					if(c == null) {
+						c = findClass(name);
+					}
+					if(resolve) {
+						resolveClass(c);
+					}
+					return c;
+				}
+			}
+			return super.loadClass(name, resolve);
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			final byte[] bytes = classes.get(name);
+			if(bytes == null) {
+				throw new ClassNotFoundException(name);
+			}
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+}
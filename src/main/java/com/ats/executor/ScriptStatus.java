@@ -69,6 +69,10 @@ public class ScriptStatus {
 		actions += b ? 0:1;
 	}
 
+	public void failed() {
+		passed = false;
+	}
+
 	public boolean isPassed() {
 		return passed;
 	}
@@ -49,6 +49,7 @@ import com.ats.generator.objects.MouseDirectionData;
 import com.ats.generator.variables.CalculatedProperty;
 import com.ats.generator.variables.CalculatedValue;
 import com.ats.recorder.ReportSummary;
+import com.ats.recorder.VisualElement;
 import com.ats.script.ScriptHeader;
 import com.ats.script.actions.Action;
 import com.ats.script.actions.ActionApi;
@@ -626,6 +627,17 @@ public class Channel {
 		sleep(200 + value*50);
 	}
 
+	/**
+	 * @return total duration of the progressive waits of a search with the max number of tries
+	 */
+	public int getProgressiveWaitDuration(int maxTry) {
+		int duration = 0;
+		for(int i=1; i<=maxTry; i++) {
+			duration += 200 + i*50;
+		}
+		return duration;
+	}
+
 	public void sleep(int ms){
 		mainScript.sleep(ms);
 	}
@@ -821,7 +833,7 @@ public class Channel {
 		getDesktopDriver().updateVisualPosition(type, hdir, vdir);
 	}
 
-	public void updateVisualAction(TestElement element) {
+	public void updateVisualAction(VisualElement element) {
 		getDesktopDriver().updateVisualElement(element);
 	}
 
@@ -21,12 +21,12 @@ package com.ats.executor.channels;
 
 import java.nio.file.Path;
 
-import com.ats.element.TestElement;
 import com.ats.executor.ActionStatus;
 import com.ats.executor.ScriptStatus;
 import com.ats.executor.drivers.desktop.DesktopResponse;
 import com.ats.generator.objects.MouseDirectionData;
 import com.ats.recorder.ReportSummary;
+import com.ats.recorder.VisualElement;
 import com.ats.script.ScriptHeader;
 import com.ats.script.actions.ActionExecute;
 import com.ats.tools.logger.ExecutionLogger;
@@ -119,7 +119,7 @@ public class EmptyChannel extends Channel {
 	}
 
 	@Override
-	public void updateVisualAction(TestElement element) {
+	public void updateVisualAction(VisualElement element) {
 	}
 
 	@Override
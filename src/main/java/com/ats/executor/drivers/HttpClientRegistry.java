@@ -0,0 +1,206 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.executor.drivers;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+
+/**
+ * Http clients used by drivers, api channels and performance integrations.
+ * All clients are derived from a single root client, they share its connection pool and its dispatcher,
+ * only timeouts, proxy and ssl settings are different, connections to drivers and servers are reused between channels and actions.
+ */
+public final class HttpClientRegistry {
+
+	private static final int MAX_IDLE_CONNECTIONS = 32;
+	private static final int KEEP_ALIVE_DURATION = 5;
+
+	private static final int MAX_REQUESTS = 128;
+	private static final int MAX_REQUESTS_PER_HOST = 32;
+
+	private static final Metrics metrics = new Metrics();
+
+	private static final OkHttpClient root = createRoot();
+	private static final Map<String, OkHttpClient> clients = new ConcurrentHashMap<String, OkHttpClient>();
+
+	private HttpClientRegistry() {}
+
+	private static OkHttpClient createRoot() {
+		final Dispatcher dispatcher = new Dispatcher();
+		dispatcher.setMaxRequests(MAX_REQUESTS);
+		dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+
+		return new OkHttpClient.Builder()
+				.connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_DURATION, TimeUnit.MINUTES))
+				.dispatcher(dispatcher)
+				.eventListenerFactory(call -> metrics.new CallListener())
+				.cache(null)
+				.build();
+	}
+
+	/**
+	 * @param timeout connect, write and read timeout in seconds
+	 * @return shared client with the given timeout and no proxy
+	 */
+	public static OkHttpClient getClient(int timeout) {
+		return getClient(timeout, timeout, timeout, null);
+	}
+
+	/**
+	 * @param timeout connect, write and read timeout in seconds
+	 * @param proxy proxy used by the client, or null for a direct connection
+	 * @return shared client with the given timeout and proxy
+	 */
+	public static OkHttpClient getClient(int timeout, Proxy proxy) {
+		return getClient(timeout, timeout, timeout, proxy);
+	}
+
+	/**
+	 * @return shared client with the given timeouts in seconds and proxy, clients are created once by settings
+	 */
+	public static OkHttpClient getClient(int connectTimeout, int writeTimeout, int readTimeout, Proxy proxy) {
+		final String key = connectTimeout + ":" + writeTimeout + ":" + readTimeout + ":" + (proxy != null ? proxy.toString() : "");
+		return clients.computeIfAbsent(key, k -> {
+			final OkHttpClient.Builder builder = newBuilder(connectTimeout, writeTimeout, readTimeout);
+			if(proxy != null) {
+				builder.proxy(proxy);
+			}
+			return builder.build();
+		});
+	}
+
+	/**
+	 * Builder of a client sharing connection pool and dispatcher of the registry, used for clients with specific settings (ssl, redirects)
+	 *
+	 * @param timeout connect, write and read timeout in seconds
+	 */
+	public static OkHttpClient.Builder newBuilder(int timeout) {
+		return newBuilder(timeout, timeout, timeout);
+	}
+
+	private static OkHttpClient.Builder newBuilder(int connectTimeout, int writeTimeout, int readTimeout) {
+		return root.newBuilder()
+				.connectTimeout(connectTimeout, TimeUnit.SECONDS)
+				.writeTimeout(writeTimeout, TimeUnit.SECONDS)
+				.readTimeout(readTimeout, TimeUnit.SECONDS);
+	}
+
+	public static Metrics getMetrics() {
+		return metrics;
+	}
+
+	//------------------------------------------------------------------------------------------------------------------------
+	//------------------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Calls and connections counters of all clients of the registry,
+	 * a connection hit is a call executed with a pooled connection, a miss is a call that has to open a new connection
+	 */
+	public static class Metrics {
+
+		private final AtomicLong calls = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+		private final AtomicLong acquired = new AtomicLong();
+		private final AtomicLong connected = new AtomicLong();
+		private final AtomicLong totalNanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		public long getCalls() {
+			return calls.get();
+		}
+
+		public long getFailed() {
+			return failed.get();
+		}
+
+		public long getPoolHits() {
+			return Math.max(0, acquired.get() - connected.get());
+		}
+
+		public long getPoolMisses() {
+			return connected.get();
+		}
+
+		public long getAverageLatency() {
+			final long count = calls.get();
+			return count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalNanos.get() / count) : 0;
+		}
+
+		public long getMaxLatency() {
+			return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+		}
+
+		@Override
+		public String toString() {
+			return "calls=" + getCalls() + ", failed=" + getFailed() + ", pool hits=" + getPoolHits() + ", pool misses=" + getPoolMisses()
+			+ ", average latency=" + getAverageLatency() + "ms, max latency=" + getMaxLatency() + "ms";
+		}
+
+		private class CallListener extends EventListener {
+
+			private long started;
+
+			@Override
+			public void callStart(Call call) {
+				started = System.nanoTime();
+			}
+
+			@Override
+			public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+				connected.incrementAndGet();
+			}
+
+			@Override
+			public void connectionAcquired(Call call, Connection connection) {
+				acquired.incrementAndGet();
+			}
+
+			@Override
+			public void callEnd(Call call) {
+				ended();
+			}
+
+			@Override
+			public void callFailed(Call call, IOException ioe) {
+				failed.incrementAndGet();
+				ended();
+			}
+
+			private void ended() {
+				final long duration = System.nanoTime() - started;
+				calls.incrementAndGet();
+				totalNanos.addAndGet(duration);
+				maxNanos.accumulateAndGet(duration, Math::max);
+			}
+		}
+	}
+}
@@ -19,16 +19,16 @@ under the License.
 
 package com.ats.executor.drivers.desktop;
 
-import java.awt.Rectangle;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -46,10 +46,12 @@ import com.ats.executor.TestBound;
 import com.ats.executor.channels.Channel;
 import com.ats.executor.drivers.DriverManager;
 import com.ats.executor.drivers.DriverProcess;
+import com.ats.executor.drivers.HttpClientRegistry;
 import com.ats.executor.drivers.engines.DesktopDriverEngine;
 import com.ats.generator.objects.MouseDirectionData;
 import com.ats.generator.variables.CalculatedProperty;
 import com.ats.recorder.ReportSummary;
+import com.ats.recorder.VisualElement;
 import com.ats.script.ScriptHeader;
 import com.ats.tools.logger.ExecutionLogger;
 import com.exadel.flamingo.flex.messaging.amf.io.AMF3Deserializer;
@@ -57,7 +59,6 @@ import com.google.gson.Gson;
 
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
-import okhttp3.OkHttpClient.Builder;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -67,6 +68,7 @@ public class DesktopDriver extends RemoteWebDriver {
 	private static final int TIME_OUT = 60;
 
 	private List<FoundElement> elementMapLocation;
+	private volatile ElementMapIndex elementMapIndex;
 
 	private String driverHost;
 	private int driverPort;
@@ -76,6 +78,10 @@ public class DesktopDriver extends RemoteWebDriver {
 	private String driverUrl;
 
 	private OkHttpClient client;
+	//errors of the recording commands without response, logged when the visual report is saved
+	private static final int MAX_RECORD_ERRORS = 10;
+	private final List<String> recordErrors = new ArrayList<String>();
+	private int recordErrorsCount = 0;
 
 	private String driverVersion;
 
@@ -116,12 +122,7 @@ public class DesktopDriver extends RemoteWebDriver {
 			this.driverPort = desktopDriverProcess.getDriverServerUrl().getPort();
 			this.driverUrl = "http://" + getDriverHost() + ":" + getDriverPort();
 
-			this.client = new Builder().
-					cache(null)
-					.connectTimeout(TIME_OUT, TimeUnit.SECONDS)
-					.writeTimeout(TIME_OUT, TimeUnit.SECONDS)
-					.readTimeout(TIME_OUT, TimeUnit.SECONDS)
-					.build();
+			this.client = HttpClientRegistry.getClient(TIME_OUT);
 
 			int maxTry = 10;
 			DesktopResponse resp = sendRequestCommand(CommandType.Driver, DriverType.Capabilities);
@@ -504,11 +505,11 @@ public class DesktopDriver extends RemoteWebDriver {
 	//---------------------------------------------------------------------------------------------------------------------------
 
 	public List<FoundElement> getWebElementsListByHandle(TestBound channelDimension, int handle) {
-		return sendRequestCommand(CommandType.Element, ElementType.LoadTree, handle).getFoundElements(channelDimension);
+		return sendElementsRequest(Objects::nonNull, channelDimension, ElementType.LoadTree, handle).getFoundElements(channelDimension);
 	}
 
 	public void defineRoot(TestBound channelDimension, String id) {
-		setElementMapLocation(sendRequestCommand(CommandType.Element, ElementType.Root, id).getFoundElements(channelDimension));
+		setElementMapLocation(sendElementsRequest(Objects::nonNull, channelDimension, ElementType.Root, id).getFoundElements(channelDimension));
 	}
 
 	public void refreshElementMapLocation(Channel channel) {
@@ -523,6 +524,7 @@ public class DesktopDriver extends RemoteWebDriver {
 		final FoundElement parent = new FoundElement();
 		list.parallelStream().forEach(e -> recalculateSize(parent, e));
 		
+		this.elementMapIndex = new ElementMapIndex(list);
 		this.elementMapLocation = list;
 	}
 	
@@ -537,50 +539,19 @@ public class DesktopDriver extends RemoteWebDriver {
 	}
 
 	public FoundElement getElementFromPoint(final Double x, final Double y) {
-
-		final double xPos = x;
-		final double yPos = y - 10;
-
-		if (elementMapLocation != null && elementMapLocation.size() > 0) {
-			final Optional<FoundElement> fe = elementMapLocation.stream().filter(e -> e.isActive() && e.getRectangle().contains(xPos, yPos)).findFirst();
-			if(fe.isPresent()) {
-				return getHoverChild(fe.get(), xPos, yPos);
-			}
+		final ElementMapIndex index = elementMapIndex;
+		if (index != null) {
+			return index.getElementFromPoint(x, y - 10);
 		}
 		return null;
 	}
 
-	private FoundElement getHoverChild(final FoundElement elem, final double xPos, final double yPos) {
-		if(elem.getChildren() != null && elem.getChildren().size() > 0) {
-			final Optional<FoundElement> child = elem.getChildren().stream().parallel().filter(e -> e.isActive() && e.getRectangle().contains(xPos, yPos)).parallel().sorted((a,b)->-1).findFirst();//.sorted(compareElementBySize)
-			if(child.isPresent()) {
-				return getHoverChild(child.get(), xPos, yPos);
-			}
-		}
-		return elem;
-	}
-
 	public FoundElement getElementFromRect(Double x, Double y, Double w, Double h) {
-		FoundElement hoverElement = null;
-		if (elementMapLocation != null) {
-			for (FoundElement testElement : elementMapLocation) {
-				if(testElement != null && testElement.isVisible()){
-					if (hoverElement == null) {
-						hoverElement = testElement;
-						continue;
-					}
-
-					final Rectangle rect = testElement.getRectangle();
-
-					if (!rect.contains(x, y)
-							|| rect.getWidth() > w || rect.getHeight() > h
-							|| hoverElement.getWidth() <= testElement.getWidth() 
-							&& hoverElement.getHeight() <= testElement.getHeight()) continue;
-					hoverElement = testElement;
-				}
-			}
+		final ElementMapIndex index = elementMapIndex;
+		if (index != null) {
+			return index.getElementFromRect(x, y, w, h);
 		}
-		return hoverElement;
+		return null;
 	}
 
 	public FoundElement getRootElement(Channel channel) {
@@ -693,10 +664,10 @@ public class DesktopDriver extends RemoteWebDriver {
 
 		if(testElement.getParent() != null){
 			data[0] = testElement.getParent().getWebElementId();
-			response = sendRequestCommand(CommandType.Element, ElementType.Childs, data);
+			response = sendElementsRequest(predicate, channel.getDimension(), ElementType.Childs, data);
 		}else{
 			data[0] = channel.getHandle(this) + "";
-			response = sendRequestCommand(CommandType.Element, ElementType.Find, data);
+			response = sendElementsRequest(predicate, channel.getDimension(), ElementType.Find, data);
 		}
 
 		return response.getFoundElements(predicate, channel.getDimension());
@@ -749,7 +720,7 @@ public class DesktopDriver extends RemoteWebDriver {
 	//---------------------------------------------------------------------------------------
 
 	public void saveSummary(ScriptStatus status, ReportSummary summary) {
-		sendRequestCommand(CommandType.Record, RecordType.Summary, summary.toData(status));
+		sendRecordCommand(RecordType.Summary, summary.toData(status));
 	}
 
 	public void stopVisualRecord() {
@@ -780,8 +751,7 @@ public class DesktopDriver extends RemoteWebDriver {
 	}
 
 	public void createVisualAction(Channel channel, boolean stop, String actionType, int scriptLine, String scriptName, long timeline, boolean sync) {
-		sendRequestCommand(
-				CommandType.Record, 
+		sendRecordCommand(
 				RecordType.Create, 
 				actionType, 
 				scriptLine, 
@@ -814,53 +784,22 @@ public class DesktopDriver extends RemoteWebDriver {
 	}
 
 	public void updateVisualValue(String value) {
-		sendRequestCommand(CommandType.Record, RecordType.Value, value);
+		sendRecordCommand(RecordType.Value, value);
 	}
 
 	public void updateVisualData(String value, String data) {
-		sendRequestCommand(CommandType.Record, RecordType.Data, value, data);
+		sendRecordCommand(RecordType.Data, value, data);
 	}
 
 	public void updateVisualStatus(int error, long duration) {
-		sendRequestCommand(CommandType.Record, RecordType.Status, error, duration);
+		sendRecordCommand(RecordType.Status, error, duration);
 	}
 
-	public void updateVisualElement(TestElement element) {
-
-		Double x = 0D;
-		Double y = 0D;
-		Double w = 0D;
-		Double h = 0D;
-
-		final int numElements = element.getFoundElements().size();
-
-		if(numElements > 0) {
-			int i = element.getIndex() == 0 ? 0 : element.getIndex() - 1;
-			final TestBound bound = element
-					.getFoundElements()
-					.get(i)
-					.getTestBound();
-
-			x = bound.getX();
-			y = bound.getY();
-
-			w = bound.getWidth();
-			h = bound.getHeight();
-
-			if(element.isSysComp()) {
-				x += 8;
-				y += 8;
-			}
-		}
-
-		String savedCriterias = element.getCriterias();
-		if(savedCriterias.length() > 100) {
-			savedCriterias = savedCriterias.substring(0, 100);
-		}
-
-		sendRequestCommand(CommandType.Record, RecordType.Element, 
-				x.intValue(), y.intValue(), w.intValue(), h.intValue(), 
-				element.getTotalSearchDuration(), numElements, savedCriterias, element.getSearchedTag());
+	public void updateVisualElement(VisualElement element) {
+		final TestBound bound = element.getBound();
+		sendRecordCommand(RecordType.Element, 
+				bound.getX().intValue(), bound.getY().intValue(), bound.getWidth().intValue(), bound.getHeight().intValue(), 
+				element.getSearchDuration(), element.getFoundElements(), element.getCriterias(), element.getTag());
 	}
 
 	public void updateVisualPosition(String type, MouseDirectionData hdir, MouseDirectionData vdir) {
@@ -881,7 +820,7 @@ public class DesktopDriver extends RemoteWebDriver {
 			vdirValue = vdir.getIntValue();
 		}
 
-		sendRequestCommand(CommandType.Record, RecordType.Position, hdirName, hdirValue, vdirName, vdirValue);
+		sendRecordCommand(RecordType.Position, hdirName, hdirValue, vdirName, vdirValue);
 	}
 
 	//---------------------------------------------------------------------------------------
@@ -891,10 +830,47 @@ public class DesktopDriver extends RemoteWebDriver {
 	private static final MediaType MEDIA_UTF8 = MediaType.parse("application/x-www-form-urlencoded; charset=utf-8");
 
 	private DesktopResponse sendRequestCommand(CommandType type, Enum<?> subType, Object... data) {
-		return sendRequestCommand(type, subType, Stream.of(data).map(Object::toString).collect(Collectors.joining("\n")));
+		return sendRequestCommand(type, subType, joinData(data), AMF3Deserializer::new);
+	}
+
+	/**
+	 * Elements of the response are filtered and converted while the response is decoded
+	 */
+	private DesktopResponse sendElementsRequest(Predicate<AtsBaseElement> predicate, TestBound dimension, ElementType subType, Object... data) {
+		return sendRequestCommand(CommandType.Element, subType, joinData(data), in -> new DesktopResponseReader(in, predicate, dimension));
+	}
+
+	/**
+	 * Recording commands without response are sent by the worker of the visual recorder queue, the test thread does not wait for the driver.
+	 * Errors are kept as nothing waits for the result of these commands.
+	 */
+	private void sendRecordCommand(RecordType subType, Object... data) {
+		final DesktopResponse resp = sendRequestCommand(CommandType.Record, subType, joinData(data), AMF3Deserializer::new);
+		if(resp != null && resp.errorCode < 0) {
+			recordFailed("Recording command failed", subType + " -> " + resp.errorMessage);
+		}
+	}
+
+	private synchronized void recordFailed(String message, String error) {
+		recordErrorsCount++;
+		if(recordErrors.size() < MAX_RECORD_ERRORS) {
+			recordErrors.add(message + " : " + error);
+		}
+	}
+
+	private synchronized void logRecordErrors(ExecutionLogger logger) {
+		if(recordErrorsCount > 0) {
+			logger.sendError(recordErrorsCount + " visual recording command(s) failed, actions may be missing in the report", String.join(", ", recordErrors));
+			recordErrors.clear();
+			recordErrorsCount = 0;
+		}
 	}
-	
-	private DesktopResponse sendRequestCommand(CommandType type, Enum<?> subType, String data) {
+
+	private static String joinData(Object... data) {
+		return Stream.of(data).map(Object::toString).collect(Collectors.joining("\n"));
+	}
+
+	private DesktopResponse sendRequestCommand(CommandType type, Enum<?> subType, String data, Function<InputStream, AMF3Deserializer> reader) {
 
 		final String url = new StringBuilder(driverUrl)
 				.append("/")
@@ -909,15 +885,13 @@ public class DesktopDriver extends RemoteWebDriver {
 				.post(RequestBody.create(MEDIA_UTF8, data))
 				.build();
 
-		try {
+		//the response is always closed so the keep-alive connection can be used by the next request
+		try (Response response = client.newCall(request).execute()){
 
-			final Response response = client.newCall(request).execute();
-			final AMF3Deserializer amf3 = new AMF3Deserializer(response.body().byteStream());
+			final AMF3Deserializer amf3 = reader.apply(response.body().byteStream());
 			final DesktopResponse desktopResponse = (DesktopResponse) amf3.readObject();
 
 			amf3.close();
-			response.close();
-
 			return desktopResponse;
 
 		} catch (IOException e) {
@@ -927,6 +901,8 @@ public class DesktopDriver extends RemoteWebDriver {
 
 	public void saveVisualReportFile(Path path, ExecutionLogger logger) {
 
+		logRecordErrors(logger);
+
 		final String url = new StringBuilder(driverUrl)
 				.append("/")
 				.append(CommandType.Record)
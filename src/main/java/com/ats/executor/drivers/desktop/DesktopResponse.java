@@ -42,6 +42,9 @@ public class DesktopResponse {
 	public String errorMessage = null;
 	
 	public byte[] image;
+
+	//elements converted and filtered while the response is decoded
+	private transient List<FoundElement> foundElements;
 	
 	public DesktopResponse() {}
 	
@@ -50,8 +53,15 @@ public class DesktopResponse {
 		this.errorCode = -999;
 	}
 
+	public void setFoundElements(List<FoundElement> value) {
+		this.foundElements = value;
+	}
+
 	@Transient
 	public List<FoundElement> getFoundElements(TestBound channelDimension) {
+		if(foundElements != null) {
+			return foundElements;
+		}
 		if(elements == null) {
 			return Collections.<FoundElement>emptyList();
 		}
@@ -116,6 +126,9 @@ public class DesktopResponse {
 	@Transient
 	public List<FoundElement> getFoundElements(Predicate<AtsBaseElement> predicate, TestBound dimension) {
 		
+		if(foundElements != null) {
+			return foundElements;
+		}
 		if(elements == null) {
 			return Collections.<FoundElement>emptyList();
 		}
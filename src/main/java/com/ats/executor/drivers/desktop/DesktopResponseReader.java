@@ -0,0 +1,109 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.executor.drivers.desktop;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.ats.element.AtsBaseElement;
+import com.ats.element.AtsElement;
+import com.ats.element.FoundElement;
+import com.ats.executor.TestBound;
+import com.exadel.flamingo.flex.messaging.amf.io.AMF3Deserializer;
+import com.exadel.flamingo.flex.messaging.amf.io.util.ActionScriptClassDescriptor;
+
+/**
+ * Decode a desktop driver response and visit the elements of the response while they are decoded :
+ * matching elements are converted to found elements, the decoded elements are not kept in the response.
+ * The desktop driver never sends references to elements of the list, they are released by the deserializer once visited.
+ */
+public class DesktopResponseReader extends AMF3Deserializer {
+
+	private static final String ELEMENTS_PROPERTY = "elements";
+
+	private final Predicate<AtsBaseElement> predicate;
+	private final TestBound dimension;
+
+	public DesktopResponseReader(InputStream in, Predicate<AtsBaseElement> predicate, TestBound dimension) {
+		super(in);
+		this.predicate = predicate;
+		this.dimension = dimension;
+	}
+
+	@Override
+	protected Object readPropertyValue(ActionScriptClassDescriptor desc, int index, Object instance, int type) throws IOException {
+		if(type == AMF3_ARRAY && instance instanceof DesktopResponse && ELEMENTS_PROPERTY.equals(desc.getPropertyName(index))) {
+			((DesktopResponse)instance).setFoundElements(readElements());
+			return null;
+		}
+		return super.readPropertyValue(desc, index, instance, type);
+	}
+
+	private List<FoundElement> readElements() throws IOException {
+
+		final List<FoundElement> result = new ArrayList<FoundElement>();
+
+		final int type = readAMF3Integer();
+		if ((type & 0x01) == 0) {
+			final Object stored = getFromStoredObjects(type >> 1);
+			if(stored instanceof Object[]) {
+				for(Object element : (Object[]) stored) {
+					visitElement(element, result);
+				}
+			}
+			return result;
+		}
+
+		//the list keeps its index in the references of the deserializer
+		addToStoredObjects(result);
+
+		String key = readAMF3String();
+		while(key.length() > 0) {
+			readElement(result);
+			key = readAMF3String();
+		}
+
+		for(int i=0; i<type >> 1; i++) {
+			readElement(result);
+		}
+
+		return result;
+	}
+
+	private void readElement(List<FoundElement> result) throws IOException {
+		final int storedIndex = storedObjects.size();
+		final Object element = readObject();
+
+		visitElement(element, result);
+
+		if(storedIndex < storedObjects.size() && storedObjects.get(storedIndex) == element) {
+			setStoredObject(storedIndex, null);
+		}
+	}
+
+	private void visitElement(Object element, List<FoundElement> result) {
+		if(element instanceof AtsElement && predicate.test((AtsElement) element)) {
+			result.add(new FoundElement((AtsElement) element, dimension));
+		}
+	}
+}
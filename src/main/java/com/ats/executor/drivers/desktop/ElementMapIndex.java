@@ -0,0 +1,312 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.executor.drivers.desktop;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.ats.element.FoundElement;
+
+/**
+ * Spatial index (R-tree packed once with the Sort-Tile-Recursive algorithm) of the elements map of a desktop window.
+ * Top level elements and large lists of children are indexed, small lists of children are simply scanned.
+ * Results are the same as a scan of the lists : the first matching element of the top level list,
+ * then the last matching child (displayed over its previous siblings) at each level of the tree.
+ */
+public class ElementMapIndex {
+
+	private static final int NODE_CAPACITY = 16;
+	private static final int MIN_INDEXED_SIZE = 64;
+
+	private final List<FoundElement> elements;
+	private final Node root;
+
+	private final Map<FoundElement, ElementMapIndex> childrenIndexes;
+
+	public ElementMapIndex(List<FoundElement> elements) {
+		this(elements, new IdentityHashMap<FoundElement, ElementMapIndex>());
+	}
+
+	private ElementMapIndex(List<FoundElement> elements, Map<FoundElement, ElementMapIndex> childrenIndexes) {
+
+		this.elements = elements;
+		this.childrenIndexes = childrenIndexes;
+
+		if(elements.size() >= MIN_INDEXED_SIZE) {
+			root = build(elements);
+		}else {
+			root = null;
+		}
+
+		for(FoundElement element : elements) {
+			if(element != null && element.getChildren() != null && element.getChildren().size() > 0) {
+				childrenIndexes.put(element, new ElementMapIndex(element.getChildren(), childrenIndexes));
+			}
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  hit tests
+	//-------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return the deepest active element at the given position, or null if no top level element contains the position
+	 */
+	public FoundElement getElementFromPoint(double x, double y) {
+
+		final int found = search(x, y, false, FoundElement::isActive);
+		if(found < 0) {
+			return null;
+		}
+
+		FoundElement element = elements.get(found);
+
+		ElementMapIndex children = childrenIndexes.get(element);
+		while(children != null) {
+			final int child = children.search(x, y, true, FoundElement::isActive);
+			if(child < 0) {
+				break;
+			}
+			element = children.elements.get(child);
+			children = childrenIndexes.get(element);
+		}
+
+		return element;
+	}
+
+	/**
+	 * @return the smallest visible top level element at the given position with a size lower than the given size,
+	 * the first visible element of the list if there is no such element
+	 */
+	public FoundElement getElementFromRect(double x, double y, double w, double h) {
+
+		FoundElement hoverElement = null;
+
+		int start = 0;
+		while(start < elements.size() && hoverElement == null) {
+			final FoundElement element = elements.get(start++);
+			if(element != null && element.isVisible()) {
+				hoverElement = element;
+			}
+		}
+
+		if(hoverElement != null) {
+			if(root == null) {
+				for(int i=start; i<elements.size(); i++) {
+					final FoundElement element = elements.get(i);
+					if(isMatching(element, x, y, FoundElement::isVisible)) {
+						hoverElement = getSmallerElement(hoverElement, element, w, h);
+					}
+				}
+			}else {
+				for(int index : searchAll(x, y, FoundElement::isVisible)) {
+					if(index >= start) {
+						hoverElement = getSmallerElement(hoverElement, elements.get(index), w, h);
+					}
+				}
+			}
+		}
+
+		return hoverElement;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  search
+	//-------------------------------------------------------------------------------------------------
+
+	private int search(double x, double y, boolean last, Predicate<FoundElement> filter) {
+		if(root == null) {
+			if(last) {
+				for(int i=elements.size()-1; i>=0; i--) {
+					if(isMatching(elements.get(i), x, y, filter)) {
+						return i;
+					}
+				}
+			}else {
+				for(int i=0; i<elements.size(); i++) {
+					if(isMatching(elements.get(i), x, y, filter)) {
+						return i;
+					}
+				}
+			}
+			return -1;
+		}
+		return root.search(this, x, y, last, filter, -1);
+	}
+
+	private int[] searchAll(double x, double y, Predicate<FoundElement> filter) {
+		final List<Integer> result = new ArrayList<Integer>();
+		root.searchAll(this, x, y, filter, result);
+
+		final int[] indexes = result.stream().mapToInt(Integer::intValue).toArray();
+		Arrays.sort(indexes);
+		return indexes;
+	}
+
+	private static boolean isMatching(FoundElement element, double x, double y, Predicate<FoundElement> filter) {
+		return element != null && filter.test(element) && element.getRectangle().contains(x, y);
+	}
+
+	private static FoundElement getSmallerElement(FoundElement hoverElement, FoundElement element, double w, double h) {
+		final Rectangle rect = element.getRectangle();
+		if(rect.getWidth() <= w && rect.getHeight() <= h
+				&& !(hoverElement.getWidth() <= element.getWidth() && hoverElement.getHeight() <= element.getHeight())) {
+			return element;
+		}
+		return hoverElement;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  tree
+	//-------------------------------------------------------------------------------------------------
+
+	private static Node build(List<FoundElement> elements) {
+
+		List<Node> level = new ArrayList<Node>(elements.size());
+		for(int i=0; i<elements.size(); i++) {
+			final FoundElement element = elements.get(i);
+			if(element != null) {
+				level.add(new Node(i, element));
+			}
+		}
+
+		if(level.isEmpty()) {
+			return null;
+		}
+
+		while(level.size() > 1) {
+			level = pack(level);
+		}
+		return level.get(0);
+	}
+
+	private static List<Node> pack(List<Node> entries) {
+
+		final int parentsCount = (entries.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+		final int sliceSize = (int)Math.ceil(Math.sqrt(parentsCount)) * NODE_CAPACITY;
+
+		entries.sort(Comparator.comparingDouble(n -> n.minX + n.maxX));
+
+		final List<Node> parents = new ArrayList<Node>(parentsCount);
+		for(int s=0; s<entries.size(); s+=sliceSize) {
+
+			final List<Node> slice = entries.subList(s, Math.min(s + sliceSize, entries.size()));
+			slice.sort(Comparator.comparingDouble(n -> n.minY + n.maxY));
+
+			for(int i=0; i<slice.size(); i+=NODE_CAPACITY) {
+				parents.add(new Node(slice.subList(i, Math.min(i + NODE_CAPACITY, slice.size())).toArray(new Node[0])));
+			}
+		}
+		return parents;
+	}
+
+	private static class Node {
+
+		private final int index;
+		private final Node[] nodes;
+
+		private double minX;
+		private double minY;
+		private double maxX;
+		private double maxY;
+
+		private int minIndex;
+		private int maxIndex;
+
+		private Node(int index, FoundElement element) {
+			final Rectangle rect = element.getRectangle();
+
+			this.index = index;
+			this.nodes = null;
+
+			this.minX = rect.getX();
+			this.minY = rect.getY();
+			this.maxX = rect.getX() + rect.getWidth();
+			this.maxY = rect.getY() + rect.getHeight();
+
+			this.minIndex = index;
+			this.maxIndex = index;
+		}
+
+		private Node(Node[] nodes) {
+			this.index = -1;
+			this.nodes = nodes;
+
+			minX = minY = Double.MAX_VALUE;
+			maxX = maxY = -Double.MAX_VALUE;
+			minIndex = Integer.MAX_VALUE;
+			maxIndex = Integer.MIN_VALUE;
+
+			for(Node n : nodes) {
+				minX = Math.min(minX, n.minX);
+				minY = Math.min(minY, n.minY);
+				maxX = Math.max(maxX, n.maxX);
+				maxY = Math.max(maxY, n.maxY);
+				minIndex = Math.min(minIndex, n.minIndex);
+				maxIndex = Math.max(maxIndex, n.maxIndex);
+			}
+		}
+
+		private boolean contains(double x, double y) {
+			return x >= minX && y >= minY && x < maxX && y < maxY;
+		}
+
+		private int search(ElementMapIndex map, double x, double y, boolean last, Predicate<FoundElement> filter, int best) {
+
+			//no element of this node can be before (or after) the best element already found
+			if(best > -1 && (last ? maxIndex <= best : minIndex >= best)) {
+				return best;
+			}
+
+			if(contains(x, y)) {
+				if(nodes == null) {
+					if(isMatching(map.elements.get(index), x, y, filter)) {
+						return index;
+					}
+				}else {
+					for(Node n : nodes) {
+						best = n.search(map, x, y, last, filter, best);
+					}
+				}
+			}
+			return best;
+		}
+
+		private void searchAll(ElementMapIndex map, double x, double y, Predicate<FoundElement> filter, List<Integer> result) {
+			if(contains(x, y)) {
+				if(nodes == null) {
+					if(isMatching(map.elements.get(index), x, y, filter)) {
+						result.add(index);
+					}
+				}else {
+					for(Node n : nodes) {
+						n.searchAll(map, x, y, filter, result);
+					}
+				}
+			}
+		}
+	}
+}
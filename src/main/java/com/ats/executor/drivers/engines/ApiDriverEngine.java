@@ -25,7 +25,6 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.net.URL;
 import java.nio.file.Path;
@@ -41,7 +40,6 @@ import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import javax.net.ssl.HostnameVerifier;
@@ -70,27 +68,27 @@ import com.ats.executor.ActionStatus;
 import com.ats.executor.SendKeyData;
 import com.ats.executor.TestBound;
 import com.ats.executor.channels.Channel;
+import com.ats.executor.drivers.HttpClientRegistry;
 import com.ats.executor.drivers.desktop.DesktopDriver;
 import com.ats.executor.drivers.engines.webservices.ApiExecutor;
 import com.ats.executor.drivers.engines.webservices.RestApiExecutor;
 import com.ats.executor.drivers.engines.webservices.SoapApiExecutor;
+import com.ats.executor.drivers.engines.webservices.WsdlCache;
+import com.ats.executor.drivers.engines.webservices.WsdlDefinition;
 import com.ats.generator.objects.MouseDirection;
 import com.ats.generator.variables.CalculatedProperty;
 import com.ats.graphic.ImageTemplateMatchingSimple;
 import com.ats.script.Project;
 import com.ats.script.actions.ActionApi;
 import com.ats.script.actions.ActionChannelStart;
-import com.google.common.base.Charsets;
-import com.google.common.io.CharStreams;
 
 import okhttp3.OkHttpClient;
 import okhttp3.OkHttpClient.Builder;
-import okhttp3.Request;
-import okhttp3.Response;
 
 public class ApiDriverEngine extends DriverEngine implements IDriverEngine{
 
 	private final static String API = "API";
+	private final static String WSDL_FOLDER = "wsdl";
 	private ApiExecutor executor;
 	
 	private PrintStream logStream;
@@ -134,27 +132,19 @@ public class ApiDriverEngine extends DriverEngine implements IDriverEngine{
 			applicationPath = path;
 		}
 
-		final Request request = new Request.Builder().url(applicationPath).get().build();
-
-		String wsContent = null;
 		try {
 
-			final Response response = client.newCall(request).execute();
-			wsContent = CharStreams.toString(new InputStreamReader(response.body().byteStream(), Charsets.UTF_8)).trim();
-			response.close();
-
-			if(wsContent.endsWith("definitions>")) {
-				try {
-					executor = new SoapApiExecutor(logStream, client, timeout, maxTry, channel, wsContent, applicationPath);
-					channel.setApplicationData(API, ActionApi.SOAP, ((SoapApiExecutor)executor).getOperations());
-				} catch (SAXException | IOException | ParserConfigurationException e) {
-					status.setError(ActionStatus.CHANNEL_START_ERROR, e.getMessage());
-				}
+			final WsdlDefinition wsdl = WsdlCache.load(client, applicationPath, Paths.get(Project.TARGET_FOLDER, WSDL_FOLDER));
+			if(wsdl != null) {
+				executor = new SoapApiExecutor(logStream, client, timeout, maxTry, channel, wsdl, applicationPath);
+				channel.setApplicationData(API, ActionApi.SOAP, wsdl.getOperationNames());
 			}else {
 				channel.setApplicationData(API, ActionApi.REST);
 				executor = new RestApiExecutor(logStream, client, timeout, maxTry, channel, applicationPath);
 			}
 
+		} catch (SAXException | ParserConfigurationException e) {
+			status.setError(ActionStatus.CHANNEL_START_ERROR, e.getMessage());
 		} catch (IOException e) {
 			status.setError(ActionStatus.CHANNEL_START_ERROR, "service is not responding -> " + e.getMessage());
 			e.printStackTrace(logStream);
@@ -164,6 +154,7 @@ public class ApiDriverEngine extends DriverEngine implements IDriverEngine{
 	@Override
 	public void api(ActionStatus status, ActionApi api) {
 		executor.execute(status, api);
+		executor.load(status, api);
 	}
 
 	@Override
@@ -370,11 +361,7 @@ public class ApiDriverEngine extends DriverEngine implements IDriverEngine{
 			}
 		}
 		
-		final Builder builder = new Builder()
-				.connectTimeout(timeout, TimeUnit.SECONDS)
-				.writeTimeout(timeout, TimeUnit.SECONDS)
-				.readTimeout(timeout, TimeUnit.SECONDS)
-				.cache(null)
+		final Builder builder = HttpClientRegistry.newBuilder(timeout)
 				.followRedirects(true)
 				.followSslRedirects(true);
 
@@ -100,6 +100,15 @@ public abstract class DriverEngine {
 		getDesktopDriver().createVisualAction(channel, stop, actionType, scriptLine, scriptName, timeline, sync);
 	}
 
+	/**
+	 * Wait for a change of the elements found by the last search of the test element
+	 *
+	 * @return false if the engine cannot be notified of changes, the caller has to wait before a new search
+	 */
+	public boolean waitElements(TestElement testObject, String tagName, String[] attributes, String[] attributesValues, int timeout) {
+		return false;
+	}
+
 	public TestElement getTestElementRoot() {
 		return new TestElement(channel);
 	}
@@ -59,6 +59,7 @@ public interface IDriverEngine{
 	
 	public List<FoundElement> findElements(boolean sysComp, TestElement testObject, String tagName, String[] attributes, String[] attributesValues, Predicate<AtsBaseElement> searchPredicate, WebElement startElement);
 	public List<FoundElement> findElements(TestElement parent, ImageTemplateMatchingSimple template);
+	public boolean waitElements(TestElement testObject, String tagName, String[] attributes, String[] attributesValues, int timeout);
 	
 	public Rectangle getBoundRect(TestElement testElement);
 	
@@ -34,7 +34,6 @@ import java.util.Base64;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -57,10 +56,12 @@ import com.ats.executor.ActionStatus;
 import com.ats.executor.SendKeyData;
 import com.ats.executor.TestBound;
 import com.ats.executor.channels.Channel;
+import com.ats.executor.drivers.HttpClientRegistry;
 import com.ats.executor.drivers.desktop.DesktopDriver;
 import com.ats.executor.drivers.engines.mobiles.AndroidRootElement;
 import com.ats.executor.drivers.engines.mobiles.IosRootElement;
 import com.ats.executor.drivers.engines.mobiles.MobileAlert;
+import com.ats.executor.drivers.engines.mobiles.MobileCapture;
 import com.ats.executor.drivers.engines.mobiles.RootElement;
 import com.ats.generator.ATS;
 import com.ats.generator.objects.BoundData;
@@ -75,7 +76,6 @@ import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 
 import okhttp3.OkHttpClient;
-import okhttp3.OkHttpClient.Builder;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -104,6 +104,7 @@ public class MobileDriverEngine extends DriverEngine implements IDriverEngine {
 	private JsonObject source;
 	private MobileTestElement testElement;
 	private OkHttpClient client;
+	private MobileCapture capture;
 
 	protected RootElement rootElement;
 	protected RootElement cachedElement;
@@ -133,7 +134,8 @@ public class MobileDriverEngine extends DriverEngine implements IDriverEngine {
 			endPoint = appData[0];
 
 			this.applicationPath = "http://" + endPoint;
-			this.client = new Builder().cache(null).connectTimeout(30, TimeUnit.SECONDS).writeTimeout(30, TimeUnit.SECONDS).readTimeout(40, TimeUnit.SECONDS).build();
+			this.client = HttpClientRegistry.getClient(30, 30, 40, null);
+			this.capture = new MobileCapture(client);
 
 			this.userAgent = "AtsMobileDriver/" + ATS.VERSION + "," + System.getProperty("user.name") + ",";
 			this.token = token;
@@ -254,15 +256,14 @@ public class MobileDriverEngine extends DriverEngine implements IDriverEngine {
 
 	@Override
 	public void refreshElementMapLocation() {
-		source = executeRequest(CAPTURE);
-		rootElement.refresh(source);
+		source = capture.load(newRequest(CAPTURE), rootElement);
 	}
 
 	protected void loadCapturedElement() {
 		long current = System.currentTimeMillis();
 		if(cachedElement == null || current - 2500 > cachedElementTime) {
 			if (cachedElement != null) {
-				cachedElement.refresh(executeRequest(CAPTURE));
+				capture.load(newRequest(CAPTURE), cachedElement);
 			}
 			cachedElementTime = System.currentTimeMillis();
 		}
@@ -407,9 +408,9 @@ public class MobileDriverEngine extends DriverEngine implements IDriverEngine {
 
 	private AtsMobileElement getCapturedElementById(String id, boolean reload) {
 		if (reload) {
-			return getElementById(rootElement.getValue(), id);
+			return rootElement.getElementById(id);
 		} else if(cachedElement != null) {
-			return getElementById(cachedElement.getValue(), id);
+			return cachedElement.getElementById(id);
 		} else {
 			return null;
 		}
@@ -432,9 +433,9 @@ public class MobileDriverEngine extends DriverEngine implements IDriverEngine {
 		
 		if (parent == null) {
 			refreshElementMapLocation();
-			loadElementsByTag(rootElement.getValue(), tagName, list);
+			rootElement.loadElementsByTag(rootElement.getValue(), tagName, list);
 		} else {
-			loadElementsByTag(getElementById(parent.getWebElementId()), tagName, list);
+			rootElement.loadElementsByTag(rootElement.getElementById(parent.getWebElementId()), tagName, list);
 		}
 
 		return list.parallelStream().filter(searchPredicate).map(FoundElement::new).collect(Collectors.toCollection(ArrayList::new));
@@ -449,6 +450,11 @@ public class MobileDriverEngine extends DriverEngine implements IDriverEngine {
 	public void loadElementsByTag(AtsMobileElement root, String tag, List<AtsMobileElement> list)
 	{
 		if(root == null) return;
+		if(rootElement.contains(root)) {
+			rootElement.loadElementsByTag(root, tag, list);
+			return;
+		}
+
 		if(root.checkTag(tag)) {
 			list.add(root);
 		}
@@ -640,7 +646,7 @@ public class MobileDriverEngine extends DriverEngine implements IDriverEngine {
 		refreshElementMapLocation();
 
 		final List<AtsMobileElement> list = new ArrayList<AtsMobileElement>();
-		loadElementsByTag(rootElement.getValue(), "Alert", list);
+		rootElement.loadElementsByTag(rootElement.getValue(), "Alert", list);
 
 		return list;
 	}
@@ -673,39 +679,26 @@ public class MobileDriverEngine extends DriverEngine implements IDriverEngine {
 	//----------------------------------------------------------------------------------------------------------------------------------------
 
 	private AtsMobileElement getElementById(String id) {
-		return getElementById(rootElement.getValue(), id);
-	}
-
-	private AtsMobileElement getElementById(AtsMobileElement root, String id) {
-
-		if(root.getId().equals(id)) {
-			return root;
-		}
-
-		for(AtsMobileElement elem : root.getChildren()) {
-			elem.setParent(root);
-			AtsMobileElement found = getElementById(elem, id);
-			if(found != null) {
-				return found;
-			}
-		}
-		return null;
+		return rootElement.getElementById(id);
 	}
 
-	public JsonObject executeRequest(String type, String ... data) {
-
-		final String url = applicationPath + "/" + type;
+	private Request.Builder newRequest(String type) {
 
 		final Request.Builder requestBuilder = new Request.Builder();
-		requestBuilder.url(url);
+		requestBuilder.url(applicationPath + "/" + type);
 
 		if (token != null) {
 			requestBuilder.addHeader("Token", token);
 		}
 
-		final Request request = requestBuilder
+		return requestBuilder
 				.addHeader("User-Agent", userAgent)
-				.addHeader("Content-Type","application/x-www-form-urlencoded;charset=UTF8")
+				.addHeader("Content-Type","application/x-www-form-urlencoded;charset=UTF8");
+	}
+
+	public JsonObject executeRequest(String type, String ... data) {
+
+		final Request request = newRequest(type)
 				.post(RequestBody.create(null, Stream.of(data).map(Object::toString).collect(Collectors.joining("\n"))))
 				.build();
 
@@ -68,6 +68,7 @@ import com.ats.element.AtsBaseElement;
 import com.ats.element.AtsElement;
 import com.ats.element.DialogBox;
 import com.ats.element.FoundElement;
+import com.ats.element.FoundElementList;
 import com.ats.element.TestElement;
 import com.ats.executor.ActionStatus;
 import com.ats.executor.SendKeyData;
@@ -120,6 +121,8 @@ public class WebDriverEngine extends DriverEngine implements IDriverEngine {
 	protected static final String JS_ELEMENT_CSS = "var result={};var o=getComputedStyle(arguments[0]);for(var i=0, len=o.length; i < len; i++){result[o[i]]=o.getPropertyValue(o[i]);};";
 
 	protected static final String JS_SEARCH_ELEMENT = ResourceContent.getSearchElementsJavaScript();
+	protected static final String JS_SEARCH_ELEMENT_CALL = "var result=null;if(typeof window.atsSearchElements==='function'){result=window.atsSearchElements(arguments[0],arguments[1],arguments[2],arguments[3],arguments[4],arguments[5]);}";
+	protected static final String JS_WAIT_ELEMENT = ResourceContent.getWaitElementsJavaScript();
 	protected static final String JS_ELEMENT_AUTOSCROLL = ResourceContent.getScrollElementJavaScript();
 	protected static final String JS_ELEMENT_ATTRIBUTES = ResourceContent.getElementAttributesJavaScript();
 	protected static final String JS_ELEMENT_PARENTS = ResourceContent.getParentElementJavaScript();
@@ -139,7 +142,7 @@ public class WebDriverEngine extends DriverEngine implements IDriverEngine {
 
 	protected java.net.URI driverSession;
 
-	protected String searchElementScript = JS_SEARCH_ELEMENT;
+	protected String searchElementPrefix = "";
 
 	public WebDriverEngine(
 			Channel channel, 
@@ -584,7 +587,7 @@ public class WebDriverEngine extends DriverEngine implements IDriverEngine {
 
 	@Override
 	public List<FoundElement> findSelectOptions(TestBound dimension, TestElement element) {
-		return listElementsFound(runJavaScript(searchElementScript, element.getWebElement(), OPTION, new String[0], 0), Objects::nonNull);
+		return listElementsFound(searchElements(element.getWebElement(), OPTION, new String[0], new String[0], 0), Objects::nonNull, false);
 	}
 
 	public List<FoundElement> findMatSelectOptions(TestElement element) {
@@ -1219,19 +1222,94 @@ public class WebDriverEngine extends DriverEngine implements IDriverEngine {
 		}
 
 		channel.waitBeforeSearchElement(this);
-		return listElementsFound(runJavaScript(searchElementScript, startElement, tagName, attributes, attributes.length), predicate);
+
+		final int limit = testObject.getSearchLimit();
+		if(limit > 0) {
+			final List<FoundElement> limited = listElementsFound(searchElements(startElement, tagName, attributes, attributesValues, limit), predicate, true);
+			if(limited != null) {
+				return limited;
+			}
+		}
+		return listElementsFound(searchElements(startElement, tagName, attributes, attributesValues, 0), predicate, false);
+	}
+
+	/**
+	 * The search function is installed once in the window of the current document and called by name,
+	 * it is installed again only when the document has changed (navigation, new window or frame).
+	 * With a limit, the browser only returns the first matching elements followed by the count of other matching elements
+	 * (the limit is ignored by the browser if some criterias are regular expressions)
+	 */
+	private Object searchElements(WebElement parent, String tagName, String[] attributes, String[] attributesValues, int limit) {
+		final Object result = runJavaScript(searchElementPrefix + JS_SEARCH_ELEMENT_CALL, parent, tagName, attributes, attributes.length, attributesValues, limit);
+		if(result != null) {
+			return result;
+		}
+		return runJavaScript(searchElementPrefix + JS_SEARCH_ELEMENT + JS_SEARCH_ELEMENT_CALL, parent, tagName, attributes, attributes.length, attributesValues, limit);
 	}
 
-	private List<FoundElement> listElementsFound(Object maps, Predicate<AtsBaseElement> predicate){
-		final List<List<Object>> objects = (List<List<Object>>) maps;
+	/**
+	 * A mutation observer of the current document counts elements matching the search criteria until the count differs
+	 * from the last search or the timeout is reached, regular expression criteria cannot be evaluated by the browser
+	 */
+	@Override
+	public boolean waitElements(TestElement testObject, String tagName, String[] attributes, String[] attributesValues, int timeout) {
+
+		for(String value : attributesValues) {
+			if(value.indexOf('\t') < 0) {
+				return false;
+			}
+		}
+
+		if(timeout <= 0) {
+			return true;
+		}
+
+		WebElement parent = null;
+		if(testObject.getParent() != null && !testObject.getParent().isIframe()) {
+			parent = testObject.getParent().getWebElement();
+		}
+
+		try {
+			final int maxTimeout = AtsManager.getInstance().getScriptTimeOut() * 1000 - 1000;
+			return driver.executeAsyncScript(JS_WAIT_ELEMENT, parent, tagName, attributes, attributesValues, testObject.getFoundCount(), Math.min(timeout, maxTimeout)) != null;
+		}catch(Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Without regular expression, the browser keeps elements whose attributes are strictly equal (===) to the criteria values,
+	 * the same test as the predicate of the criteria (String.equals on the attribute values returned by the browser).
+	 * If the predicate still rejects an element of a limited search (a predicate stricter than the criteria), the count of not loaded elements
+	 * and the index of the loaded ones are not reliable, null is returned and the search has to be done again without limit.
+	 *
+	 * @param limited true if the browser search was limited to the first matching elements
+	 * @return found elements or null if the predicate rejected an element of a limited search
+	 */
+	private List<FoundElement> listElementsFound(Object maps, Predicate<AtsBaseElement> predicate, boolean limited){
+		final List<Object> objects = (List<Object>) maps;
 		if(objects != null && objects.size() > 0){
-			final List<AtsElement> elements = objects.parallelStream().filter(Objects::nonNull).map(e -> new AtsElement(e)).collect(Collectors.toCollection(ArrayList::new));
 
-			final Stream<FoundElement> st = elements.parallelStream().
-					filter(predicate).
-					map(e -> new FoundElement(this, e, channel, initElementX + offsetIframeX, initElementY + offsetIframeY, false));
+			final List<AtsElement> elements = new ArrayList<AtsElement>(objects.size());
+			int notLoaded = 0;
+
+			for(Object data : objects) {
+				if(data instanceof List) {
+					final AtsElement element = new AtsElement((List<Object>) data);
+					if(predicate.test(element)) {
+						elements.add(element);
+					}else if(limited) {
+						return null;
+					}
+				}else if(data instanceof Number) {
+					notLoaded = ((Number) data).intValue();
+				}
+			}
+
+			final Double offsetX = initElementX + offsetIframeX;
+			final Double offsetY = initElementY + offsetIframeY;
 
-			return st.collect(Collectors.toCollection(ArrayList::new));
+			return new FoundElementList(elements, notLoaded, e -> new FoundElement(this, e, channel, offsetX, offsetY, false));
 		}
 		return Collections.<FoundElement>emptyList();
 	}
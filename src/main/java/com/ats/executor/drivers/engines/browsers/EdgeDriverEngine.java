@@ -51,7 +51,7 @@ public class EdgeDriverEngine extends WebDriverEngine {
 		
 		super(channel, DriverManager.EDGE_BROWSER, driverProcess, windowsDriver, props);
 
-		this.searchElementScript = JS_WAIT_READYSTATE + JS_SEARCH_ELEMENT;
+		this.searchElementPrefix = JS_WAIT_READYSTATE;
 
 		EdgeOptions options = new EdgeOptions();
 		options.setCapability(CapabilityType.ACCEPT_SSL_CERTS, true);
@@ -20,7 +20,6 @@ under the License.
 package com.ats.executor.drivers.engines.browsers;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
 
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
@@ -34,6 +33,7 @@ import com.ats.executor.SendKeyData;
 import com.ats.executor.channels.Channel;
 import com.ats.executor.drivers.DriverManager;
 import com.ats.executor.drivers.DriverProcess;
+import com.ats.executor.drivers.HttpClientRegistry;
 import com.ats.executor.drivers.desktop.DesktopDriver;
 import com.ats.executor.drivers.engines.WebDriverEngine;
 import com.ats.generator.objects.MouseDirection;
@@ -41,7 +41,6 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 import okhttp3.OkHttpClient;
-import okhttp3.OkHttpClient.Builder;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
@@ -78,13 +77,7 @@ public class FirefoxDriverEngine extends WebDriverEngine {
 			options.addArguments(opt);
 		}
 
-		final Builder builder = new Builder()
-				.connectTimeout(20, TimeUnit.SECONDS)
-				.writeTimeout(20, TimeUnit.SECONDS)
-				.readTimeout(20, TimeUnit.SECONDS)
-				.cache(null);
-
-		client = builder.build();
+		client = HttpClientRegistry.getClient(20);
 
 		launchDriver(status, options);
 	}
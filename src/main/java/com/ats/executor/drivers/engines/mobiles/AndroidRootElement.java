@@ -6,10 +6,18 @@ import com.ats.element.MobileTestElement;
 import com.ats.executor.ActionStatus;
 import com.ats.executor.drivers.engines.MobileDriverEngine;
 import com.ats.generator.objects.MouseDirection;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class AndroidRootElement extends RootElement {
 
@@ -19,7 +27,119 @@ public class AndroidRootElement extends RootElement {
 	
 	@Override
 	public void refresh(JsonObject jsonObject) {
-		this.value = gson.fromJson(jsonObject, AtsMobileElement.class);
+		setValue(gson.fromJson(jsonObject, AtsMobileElement.class));
+	}
+
+	@Override
+	public boolean applyPatches(JsonArray patches) {
+		JsonObject source = getCaptureSource();
+		if(value == null || source == null) {
+			return false;
+		}
+
+		//elements added and removed by the previous patches, the tree is indexed once all patches are applied
+		final Map<String, AtsMobileElement> added = new HashMap<String, AtsMobileElement>();
+		final Set<AtsMobileElement> removed = Collections.newSetFromMap(new IdentityHashMap<AtsMobileElement, Boolean>());
+
+		for(JsonElement item : patches) {
+			final JsonObject patch = item.getAsJsonObject();
+			final AtsMobileElement target = patch.has("id") ? findPatched(patch.get("id").getAsString(), added, removed) : null;
+			if(target == null) {
+				return false;
+			}
+
+			final JsonElement element = patch.get("element");
+			final JsonObject elementSource = element != null && element.isJsonObject() ? element.getAsJsonObject() : null;
+
+			final AtsMobileElement parent = target.getParent();
+			if(parent == null) {
+				if(elementSource == null) {
+					return false;
+				}
+				setCapture(getCaptureVersion(), elementSource);
+				refresh(elementSource);
+
+				//next patches are applied to the new root
+				source = getCaptureSource();
+				added.clear();
+				removed.clear();
+				continue;
+			}
+
+			if(!replaceSource(source, target.getId(), elementSource)) {
+				return false;
+			}
+
+			removed.add(target);
+
+			final AtsMobileElement[] children = parent.getChildren();
+			if(elementSource == null) {
+				parent.setChildren(Arrays.stream(children).filter(c -> c != target).toArray(AtsMobileElement[]::new));
+			}else {
+				final AtsMobileElement newElement = gson.fromJson(elementSource, AtsMobileElement.class);
+				for(int i=0; i<children.length; i++) {
+					if(children[i] == target) {
+						children[i] = newElement;
+					}
+				}
+				addPatched(newElement, parent, added);
+			}
+		}
+
+		//parents and index of the changed tree
+		setValue(value);
+		return true;
+	}
+
+	private AtsMobileElement findPatched(String id, Map<String, AtsMobileElement> added, Set<AtsMobileElement> removed) {
+		AtsMobileElement element = added.get(id);
+		if(element == null) {
+			element = getElementById(id);
+		}
+
+		for(AtsMobileElement e = element; e != null; e = e.getParent()) {
+			if(removed.contains(e)) {
+				return null;
+			}
+		}
+		return element;
+	}
+
+	private static void addPatched(AtsMobileElement element, AtsMobileElement parent, Map<String, AtsMobileElement> added) {
+		element.setParent(parent);
+		if(element.getId() != null) {
+			added.putIfAbsent(element.getId(), element);
+		}
+		for(AtsMobileElement child : element.getChildren()) {
+			if(child != null) {
+				addPatched(child, element, added);
+			}
+		}
+	}
+
+	private static boolean replaceSource(JsonObject node, String id, JsonObject element) {
+		final JsonElement children = node.get("children");
+		if(children != null && children.isJsonArray()) {
+			final JsonArray array = children.getAsJsonArray();
+			for(int i=0; i<array.size(); i++) {
+				final JsonElement child = array.get(i);
+				if(child.isJsonObject()) {
+					final JsonElement childId = child.getAsJsonObject().get("id");
+					if(childId != null && !childId.isJsonNull() && id.equals(childId.getAsString())) {
+						if(element == null) {
+							array.remove(i);
+						}else {
+							array.set(i, element);
+						}
+						return true;
+					}
+					if(replaceSource(child.getAsJsonObject(), id, element)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
 	}
 
 	@Override
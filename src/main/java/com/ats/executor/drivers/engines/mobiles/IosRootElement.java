@@ -122,7 +122,9 @@ public class IosRootElement extends RootElement {
 				new HashMap<>()
 		);
 		
-		int currentElementIndex = 0;
+		//last element found for each level, parent of the next elements of the level below
+		final Map<Integer, AtsMobileElement> levelParents = new HashMap<>();
+		
 		for (StructDebugDescription elementInfo : elementInfoArray) {
 			final String[] arraySize = elementInfo.getContent().split(regexBraces);
 			final String tag = arraySize[0].replaceAll(regexSpaces, "");
@@ -162,24 +164,12 @@ public class IosRootElement extends RootElement {
 			if (elementInfo.getLevel() == 1) {
 				rootElement.addChildren(element);
 			} else {
-				
-				// get parentLevel
-				int i = currentElementIndex;
-				UUID uuidParent = null;
-				while ((i - 1) > -1) {
-					if (elementInfoArray.get(i - 1).getLevel() + 1 == elementInfo.getLevel()) {
-						uuidParent = elementInfoArray.get(i - 1).getUuid();
-						break;
-					}
-					i--;
-				}
-
-				if (uuidParent != null) {
-					searchAndAdd(uuidParent.toString(), rootElement, element);
+				final AtsMobileElement parent = levelParents.get(elementInfo.getLevel() - 1);
+				if (parent != null) {
+					parent.addChildren(element);
 				}
-
 			}
-			currentElementIndex++;
+			levelParents.put(elementInfo.getLevel(), element);
 		}
 
 		// Many Windows
@@ -199,7 +189,7 @@ public class IosRootElement extends RootElement {
 			}
 		}
 		// domStructure.getChildren()[0].setChildren(fixErrorsInDOM(domStructure.getChildren()[0]));
-		this.value = rootElement;
+		setValue(rootElement);
 	}
 
 	public boolean checkConsistency(AtsMobileElement[] child, boolean val) {
@@ -366,17 +356,4 @@ public class IosRootElement extends RootElement {
 
 		return count;
 	}
-
-	private void searchAndAdd(String uuid, AtsMobileElement node, AtsMobileElement elementToAdd) {
-		if (node.getId().equals(uuid)) {
-			node.addChildren(elementToAdd);
-		} else {
-			final AtsMobileElement[] childs = node.getChildren();
-			if (childs != null) {
-				for (int i = 0; i < node.getChildren().length; i++) {
-					searchAndAdd(uuid, node.getChildren()[i], elementToAdd);
-				}
-			}
-		}
-	}
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.ats.executor.drivers.engines.mobiles;
+
+import com.ats.tools.Utils;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Load captures of the mobile station into a root element, only changes since the last capture are applied.
+ *
+ * The version of the last capture is sent in the 'If-None-Match' header, the station can answer with :
+ * - a 304 status if nothing has changed since this version
+ * - a json object with a 'patches' array if it knows the version, each patch has the 'id' of a changed element and its new 'element' (or null if removed)
+ * - the full capture, with its version in the 'ETag' header
+ * Stations without versions send the full capture, it is only parsed if its content hash is different from the last capture.
+ */
+public class MobileCapture {
+
+	public static final String IF_NONE_MATCH = "If-None-Match";
+	public static final String ETAG = "ETag";
+	public static final String PATCHES = "patches";
+
+	private final OkHttpClient client;
+
+	private int loaded = 0;
+	private int unchanged = 0;
+	private int patched = 0;
+
+	public MobileCapture(OkHttpClient client) {
+		this.client = client;
+	}
+
+	/**
+	 * @param request capture request of the station, with url and headers
+	 * @param root root element updated with the capture
+	 * @return json source of the capture, or null if the capture cannot be loaded
+	 */
+	public JsonObject load(Request.Builder request, RootElement root) {
+
+		final String version = root.getCaptureVersion();
+		if(version != null) {
+			request.header(IF_NONE_MATCH, version);
+		}
+
+		try (Response response = client.newCall(request.post(RequestBody.create(null, "")).build()).execute()) {
+
+			if(version != null && response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+				unchanged++;
+				return root.getCaptureSource();
+			}
+
+			final ResponseBody body = response.body();
+			if(body == null) {
+				root.reset();
+				return null;
+			}
+
+			final byte[] data = body.bytes();
+
+			String newVersion = response.header(ETAG);
+			if(newVersion == null) {
+				newVersion = Utils.getHash(data);
+			}
+
+			if(newVersion.equals(version)) {
+				unchanged++;
+				return root.getCaptureSource();
+			}
+
+			final JsonObject json = JsonParser.parseString(new String(data, StandardCharsets.UTF_8)).getAsJsonObject();
+			if(json.has(PATCHES)) {
+				if(version != null && root.applyPatches(json.getAsJsonArray(PATCHES))) {
+					patched++;
+					root.setCapture(newVersion, root.getCaptureSource());
+					return root.getCaptureSource();
+				}
+
+				//changes cannot be applied, full capture is loaded again
+				root.reset();
+				if(version != null) {
+					request.removeHeader(IF_NONE_MATCH);
+					return load(request, root);
+				}
+				return null;
+			}
+
+			loaded++;
+			root.refresh(json);
+			root.setCapture(newVersion, json);
+			return json;
+
+		} catch (JsonSyntaxException | IllegalStateException | IOException e) {
+			root.reset();
+			return null;
+		}
+	}
+
+	public int getLoaded() {
+		return loaded;
+	}
+
+	public int getUnchanged() {
+		return unchanged;
+	}
+
+	public int getPatched() {
+		return patched;
+	}
+}
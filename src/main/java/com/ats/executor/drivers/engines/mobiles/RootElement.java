@@ -3,21 +3,38 @@ package com.ats.executor.drivers.engines.mobiles;
 import com.ats.element.AtsMobileElement;
 import com.ats.element.FoundElement;
 import com.ats.element.MobileTestElement;
+import com.ats.element.SearchedElement;
 import com.ats.executor.ActionStatus;
 import com.ats.executor.drivers.engines.MobileDriverEngine;
 import com.ats.generator.objects.MouseDirection;
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 public abstract class RootElement {
 
 	protected Gson gson = new Gson();
 	protected AtsMobileElement value;
 	protected MobileDriverEngine driver;
-	
+
+	//elements of the capture in tree order, an element is followed by all elements of its sub tree
+	private List<AtsMobileElement> elements = Collections.emptyList();
+	private Map<AtsMobileElement, Integer> positions = Collections.emptyMap();
+	private Map<String, AtsMobileElement> elementsById = Collections.emptyMap();
+	private Map<String, List<Integer>> elementsByTag = Collections.emptyMap();
+	private int[] subTreeEnds = new int[0];
+
+	private String captureVersion;
+	private JsonObject captureSource;
+
 	public RootElement(MobileDriverEngine driver) {
 		this.driver = driver;
 	}
@@ -26,6 +43,132 @@ public abstract class RootElement {
 		return value;
 	}
 
+	public String getCaptureVersion() {
+		return captureVersion;
+	}
+
+	public JsonObject getCaptureSource() {
+		return captureSource;
+	}
+
+	/**
+	 * Keep the version and the json source of the capture loaded in this root element
+	 */
+	public void setCapture(String version, JsonObject source) {
+		this.captureVersion = version;
+		this.captureSource = source;
+	}
+
+	/**
+	 * Forget the last capture, the next capture will be fully loaded
+	 */
+	public void reset() {
+		setCapture(null, null);
+		setValue(null);
+	}
+
+	/**
+	 * Apply sub trees changes sent by the mobile station to the last capture
+	 *
+	 * @param patches changed elements, the sub tree of the element with the same id is replaced by the element, or removed if the element is null
+	 * @return false if changes cannot be applied, the capture has to be fully loaded
+	 */
+	public boolean applyPatches(JsonArray patches) {
+		return false;
+	}
+
+	/**
+	 * Set the root element of a new capture and index its elements by id and by tag, parents of all elements are set
+	 */
+	protected void setValue(AtsMobileElement root) {
+		this.value = root;
+
+		final List<AtsMobileElement> list = new ArrayList<AtsMobileElement>();
+		final Map<AtsMobileElement, Integer> pos = new IdentityHashMap<AtsMobileElement, Integer>();
+		final Map<String, AtsMobileElement> ids = new HashMap<String, AtsMobileElement>();
+		final Map<String, List<Integer>> tags = new HashMap<String, List<Integer>>();
+		final List<Integer> ends = new ArrayList<Integer>();
+
+		if(root != null) {
+			root.setParent(null);
+			addElement(root, list, pos, ids, tags, ends);
+		}
+
+		this.elements = list;
+		this.positions = pos;
+		this.elementsById = ids;
+		this.elementsByTag = tags;
+		this.subTreeEnds = ends.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static void addElement(AtsMobileElement element, List<AtsMobileElement> list, Map<AtsMobileElement, Integer> pos, Map<String, AtsMobileElement> ids, Map<String, List<Integer>> tags, List<Integer> ends) {
+
+		final int index = list.size();
+		list.add(element);
+		pos.put(element, index);
+		ends.add(index);
+
+		if(element.getId() != null) {
+			ids.putIfAbsent(element.getId(), element);
+		}
+		if(element.getTag() != null) {
+			tags.computeIfAbsent(element.getTag().toLowerCase(), k -> new ArrayList<Integer>()).add(index);
+		}
+
+		for(AtsMobileElement child : element.getChildren()) {
+			if(child != null) {
+				child.setParent(element);
+				addElement(child, list, pos, ids, tags, ends);
+			}
+		}
+
+		ends.set(index, list.size());
+	}
+
+	/**
+	 * @return element of the last capture with the given id, or null if not found
+	 */
+	public AtsMobileElement getElementById(String id) {
+		return elementsById.get(id);
+	}
+
+	/**
+	 * @return true if the element is part of the last capture
+	 */
+	public boolean contains(AtsMobileElement element) {
+		return element != null && positions.containsKey(element);
+	}
+
+	/**
+	 * Add elements with the tag found in the sub tree of the parent element (parent included), in tree order
+	 *
+	 * @param parent element of the last capture
+	 * @param tag searched tag, case insensitive, or wild char for all elements
+	 */
+	public void loadElementsByTag(AtsMobileElement parent, String tag, List<AtsMobileElement> list) {
+		final Integer start = positions.get(parent);
+		if(start == null) {
+			return;
+		}
+
+		final int end = subTreeEnds[start];
+		if(SearchedElement.WILD_CHAR.equals(tag)) {
+			list.addAll(elements.subList(start, end));
+			return;
+		}
+
+		final List<Integer> tagged = elementsByTag.get(tag.toLowerCase());
+		if(tagged != null) {
+			int i = Collections.binarySearch(tagged, start);
+			if(i < 0) {
+				i = -i - 1;
+			}
+			for(; i < tagged.size() && tagged.get(i) < end; i++) {
+				list.add(elements.get(tagged.get(i)));
+			}
+		}
+	}
+
 	abstract public void refresh(@Nonnull JsonObject jsonObject);
 	abstract public void tap(ActionStatus status, FoundElement element, MouseDirection position);
 	abstract public void tap(FoundElement element, int count);
@@ -0,0 +1,570 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.executor.drivers.engines.webservices;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.ats.element.api.AtsApiElement;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Elements of a webservice response, loaded in a single streamed pass of the response body (StAX for xml, Gson reader for json).
+ * Elements are kept in the order of the flattened elements list (document order for xml, arrays before and objects after their children for json)
+ * and each element knows the range of the table searched under it, so searches with a parent element only read the positions of the searched tag in this range.
+ */
+public class ApiElementsIndex {
+
+	public final static short TEXT_TYPE = 0;
+	public final static short JSON_TYPE = 1;
+	public final static short XML_TYPE = 2;
+
+	public final static int TRUNCATE_SIZE = 100000;
+
+	private final static String TRUNCATED_DATA = "TRUNCATED_DATA";
+	private final static String STREAM = "Stream";
+
+	private final static String ELEMENT = "ELEMENT";
+	private final static String NODE = "NODE";
+	private final static String OBJECT = "OBJECT";
+	private final static String ARRAY = "ARRAY";
+
+	//cdata sections are reported as text by default with the jdk implementation
+	private final static String REPORT_CDATA = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+	private final static XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+	private final static XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+
+	static {
+		xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		if(xmlInputFactory.isPropertySupported(REPORT_CDATA)) {
+			xmlInputFactory.setProperty(REPORT_CDATA, true);
+		}
+	}
+
+	private final int code;
+
+	private short type = TEXT_TYPE;
+	private String source;
+
+	private ArrayList<AtsApiElement> elements;
+	private int[] scopes;
+
+	private final HashMap<String, Integer> positions = new HashMap<String, Integer>();
+	private final HashMap<String, int[]> tags = new HashMap<String, int[]>();
+
+	/**
+	 * Load the elements of a response body
+	 *
+	 * @param code status code of the response
+	 * @param contentType content type of the response, xml content is parsed only if the type contains '/xml', json is tried otherwise
+	 * @param body content of the response, parsed as text when it's not valid xml or json
+	 */
+	public ApiElementsIndex(int code, String contentType, byte[] body) {
+		this.code = code;
+
+		if(contentType.contains("/xml")) {
+			try {
+				initElements();
+				source = "<root><RESPONSE code=\"" + code + "\"><data>" + parseXml(body) + "</data></RESPONSE></root>";
+				type = XML_TYPE;
+			} catch (XMLStreamException | RuntimeException e) {}
+		}else {
+			try {
+				initElements();
+				source = "{\"response\":{\"name\":\"response\",\"code\":" + code + ",\"" + ApiExecutor.ROOT + "\":" + parseJson(body) + "}}";
+				type = JSON_TYPE;
+			} catch (IOException | RuntimeException e) {}
+		}
+
+		if(type == TEXT_TYPE) {
+			initElements();
+
+			final String content = new String(body, StandardCharsets.UTF_8).lines().collect(Collectors.joining("\n"));
+			addElement(ApiExecutor.DATA, ImmutableMap.of("value", content), 0, 0);
+			source = "<ats_response><code>" + code + "</code><data><![CDATA[" + content + "]]></data></ats_response>";
+		}
+
+		for(int i=0; i<elements.size(); i++) {
+			final AtsApiElement element = elements.get(i);
+			positions.put(element.getId(), i);
+
+			final int[] tagPositions = tags.get(element.getTag());
+			if(tagPositions == null) {
+				tags.put(element.getTag(), new int[] {1, i});
+			}else {
+				final int size = tagPositions[0] + 1;
+				if(size == tagPositions.length) {
+					tags.put(element.getTag(), appendPosition(Arrays.copyOf(tagPositions, size * 2), size, i));
+				}else {
+					appendPosition(tagPositions, size, i);
+				}
+			}
+		}
+	}
+
+	private static int[] appendPosition(int[] tagPositions, int size, int position) {
+		tagPositions[0] = size;
+		tagPositions[size] = position;
+		return tagPositions;
+	}
+
+	private void initElements() {
+		elements = new ArrayList<AtsApiElement>();
+		scopes = new int[128];
+		addElement(ApiExecutor.RESPONSE, ImmutableMap.of("name", "response", "code", code + ""), 0, 0);
+	}
+
+	public short getType() {
+		return type;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public int size() {
+		return elements.size();
+	}
+
+	//------------------------------------------------------------------------------------------------------------
+	// search
+	//------------------------------------------------------------------------------------------------------------
+
+	public AtsApiElement getElement(String id) {
+		final Integer position = positions.get(id);
+		if(position != null) {
+			return elements.get(position);
+		}
+		return null;
+	}
+
+	/**
+	 * Find elements by tag, under a parent element if it's found in this response.
+	 * The response element is always the first one of a search with parent, as elements searched from a new response
+	 *
+	 * @param parentId id of the parent element or null to search in all elements
+	 * @param tag searched tag in upper case, or '*' for all tags
+	 * @return found elements in order of the flattened elements list
+	 */
+	public List<AtsApiElement> findElements(String parentId, String tag) {
+
+		int start = 0;
+		int end = elements.size();
+
+		if(parentId != null) {
+			final Integer parent = positions.get(parentId);
+			if(parent != null && parent > 0 && scopes[parent * 2 + 1] > 0) {
+				start = scopes[parent * 2];
+				end = scopes[parent * 2 + 1];
+			}
+		}
+
+		final ArrayList<AtsApiElement> result = new ArrayList<AtsApiElement>();
+		if(start > 0 && ("*".equals(tag) || ApiExecutor.RESPONSE.equals(tag))) {
+			result.add(elements.get(0));
+		}
+
+		if("*".equals(tag)) {
+			result.addAll(elements.subList(start, end));
+		}else {
+			final int[] tagPositions = tags.get(tag);
+			if(tagPositions == null) {
+				return result;
+			}
+
+			int i = Arrays.binarySearch(tagPositions, 1, tagPositions[0] + 1, start);
+			if(i < 0) {
+				i = -i - 1;
+			}
+
+			for(; i <= tagPositions[0] && tagPositions[i] < end; i++) {
+				result.add(elements.get(tagPositions[i]));
+			}
+		}
+
+		return result;
+	}
+
+	//------------------------------------------------------------------------------------------------------------
+	// table
+	//------------------------------------------------------------------------------------------------------------
+
+	private int reserveElement() {
+		elements.add(null);
+		return elements.size() - 1;
+	}
+
+	private void setElement(int position, String tag, Map<String, String> attributes, int scopeStart, int scopeEnd) {
+		elements.set(position, new AtsApiElement(tag, attributes));
+		if(scopes.length <= position * 2 + 1) {
+			scopes = Arrays.copyOf(scopes, Math.max(scopes.length * 2, position * 2 + 2));
+		}
+		scopes[position * 2] = scopeStart;
+		scopes[position * 2 + 1] = scopeEnd;
+	}
+
+	private void addElement(String tag, Map<String, String> attributes, int scopeStart, int scopeEnd) {
+		setElement(reserveElement(), tag, attributes, scopeStart, scopeEnd);
+	}
+
+	//-------------------------------------------------------------------------------------------------------------------------------------------------------
+	// Json
+	//-------------------------------------------------------------------------------------------------------------------------------------------------------
+
+	private String parseJson(byte[] body) throws IOException {
+
+		final JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+		reader.setLenient(true);
+
+		final StringWriter out = new StringWriter();
+		final JsonWriter writer = new JsonWriter(out);
+		writer.setLenient(true);
+
+		try {
+			reader.peek();
+		}catch(EOFException e) {
+			return "null";
+		}
+
+		readJson(reader, writer, ApiExecutor.ROOT);
+
+		if(reader.peek() != JsonToken.END_DOCUMENT) {
+			throw new IOException("Did not consume the entire document");
+		}
+
+		writer.flush();
+		return out.toString();
+	}
+
+	private String readJsonPrimitive(JsonReader reader, JsonWriter writer, JsonToken token) throws IOException {
+		if(token == JsonToken.BOOLEAN) {
+			final boolean value = reader.nextBoolean();
+			writer.value(value);
+			return String.valueOf(value);
+		}
+
+		final String value = reader.nextString();
+		if(token == JsonToken.NUMBER) {
+			writer.jsonValue(value);
+		}else {
+			writer.value(value);
+		}
+		return value;
+	}
+
+	private static boolean isJsonPrimitive(JsonToken token) {
+		return token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN;
+	}
+
+	private void readJson(JsonReader reader, JsonWriter writer, String name) throws IOException {
+
+		final JsonToken token = reader.peek();
+		final HashMap<String, String> attributes = new HashMap<String, String>(Map.of("name", name));
+
+		final int start = elements.size();
+
+		if(token == JsonToken.BEGIN_ARRAY) {
+
+			final int position = reserveElement();
+
+			reader.beginArray();
+			writer.beginArray();
+
+			int index = 0;
+			while(reader.hasNext()) {
+				final JsonToken item = reader.peek();
+				if(isJsonPrimitive(item)) {
+					final String value = readJsonPrimitive(reader, writer, item);
+					final int size = elements.size();
+					addElement(ELEMENT, ImmutableMap.of("name", "index" + index, "value", value), size, size);
+				}else {
+					readJson(reader, writer, "index" + index);
+				}
+				index++;
+			}
+
+			reader.endArray();
+			writer.endArray();
+
+			attributes.put("size", index + "");
+			setElement(position, ARRAY, attributes, start, elements.size());
+
+		}else if(token == JsonToken.BEGIN_OBJECT) {
+
+			reader.beginObject();
+			writer.beginObject();
+
+			while(reader.hasNext()) {
+				final String attributeName = reader.nextName();
+				writer.name(attributeName);
+
+				final JsonToken value = reader.peek();
+				if(isJsonPrimitive(value)) {
+					attributes.put(attributeName, readJsonPrimitive(reader, writer, value));
+				}else {
+					readJson(reader, writer, attributeName);
+				}
+			}
+
+			reader.endObject();
+			writer.endObject();
+
+			addElement(OBJECT, attributes, start, elements.size() + 1);
+
+		}else if(token == JsonToken.NULL) {
+			reader.nextNull();
+			writer.nullValue();
+		}else {
+			readJsonPrimitive(reader, writer, token);
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------------------------------------------------------------
+	// Xml
+	//-------------------------------------------------------------------------------------------------------------------------------------------------------
+
+	private static class XmlNode {
+
+		private final int position;
+		private final boolean stream;
+		private final HashMap<String, String> attributes = new HashMap<String, String>();
+		private final ArrayList<String[]> properties = new ArrayList<String[]>();
+
+		private boolean hasChild = false;
+		private int textLength = 0;
+
+		private XmlNode(int position, boolean stream) {
+			this.position = position;
+			this.stream = stream;
+		}
+
+		private void addProperty(String name, String value) {
+			value = value.trim();
+			if(value.length() > 0) {
+				if("#text".equals(name)) {
+					attributes.put("text", value);
+				}else if("#comment".equals(name)) {
+					attributes.put("comment", value);
+				}
+				properties.add(new String[] {name, value});
+			}
+		}
+	}
+
+	private String parseXml(byte[] body) throws XMLStreamException {
+
+		final XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(body));
+
+		//content of stream nodes is written apart, it will be replaced in the source if the node is truncated
+		final ArrayDeque<StringWriter> outs = new ArrayDeque<StringWriter>();
+		final ArrayDeque<XMLStreamWriter> writers = new ArrayDeque<XMLStreamWriter>();
+
+		outs.push(new StringWriter());
+		writers.push(xmlOutputFactory.createXMLStreamWriter(outs.peek()));
+
+		XMLStreamWriter writer = writers.peek();
+
+		final ArrayDeque<XmlNode> nodes = new ArrayDeque<XmlNode>();
+		final ArrayList<XmlNode> streams = new ArrayList<XmlNode>();
+		final StringBuilder text = new StringBuilder();
+
+		try {
+			while(reader.hasNext()) {
+
+				final int event = reader.next();
+
+				if(event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+					text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+					streams.forEach(s -> s.textLength += reader.getTextLength());
+					writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+					continue;
+				}
+
+				final XmlNode current = nodes.peek();
+				if(text.length() > 0) {
+					if(current != null) {
+						current.addProperty("#text", text.toString());
+					}
+					text.setLength(0);
+				}
+
+				switch (event) {
+
+				case XMLStreamConstants.START_ELEMENT:
+
+					if(current != null) {
+						current.hasChild = true;
+					}
+
+					final String prefix = reader.getPrefix() == null ? "" : reader.getPrefix();
+					final XmlNode node = new XmlNode(reserveElement(), prefix.isEmpty() && STREAM.equals(reader.getLocalName()));
+					node.attributes.put("name", reader.getLocalName());
+
+					if(node.stream) {
+						writer.writeCharacters("");
+						outs.push(new StringWriter());
+						writers.push(xmlOutputFactory.createXMLStreamWriter(outs.peek()));
+						writer = writers.peek();
+						streams.add(node);
+					}
+
+					writer.writeStartElement(prefix, reader.getLocalName(), reader.getNamespaceURI() == null ? "" : reader.getNamespaceURI());
+
+					for(int i=0; i<reader.getNamespaceCount(); i++) {
+						final String namespacePrefix = reader.getNamespacePrefix(i);
+						if(namespacePrefix == null || namespacePrefix.isEmpty()) {
+							addAttribute(node.attributes, "xmlns", reader.getNamespaceURI(i));
+							writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+						}else {
+							addAttribute(node.attributes, namespacePrefix, reader.getNamespaceURI(i));
+							writer.writeNamespace(namespacePrefix, reader.getNamespaceURI(i));
+						}
+					}
+
+					for(int i=0; i<reader.getAttributeCount(); i++) {
+						final String attributePrefix = reader.getAttributePrefix(i);
+						addAttribute(node.attributes, reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+						if(attributePrefix == null || attributePrefix.isEmpty()) {
+							writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+						}else {
+							writer.writeAttribute(attributePrefix, reader.getAttributeNamespace(i), reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+						}
+					}
+
+					nodes.push(node);
+					break;
+
+				case XMLStreamConstants.END_ELEMENT:
+
+					nodes.pop();
+					writer.writeEndElement();
+
+					if(current.stream) {
+						streams.remove(current);
+
+						writer.flush();
+						writers.pop();
+						final String streamContent = outs.pop().toString();
+
+						writer = writers.peek();
+						if(current.textLength > TRUNCATE_SIZE) {
+							truncateStream(current);
+							writer.writeStartElement(STREAM);
+							writer.writeCharacters(current.attributes.get("text"));
+							writer.writeEndElement();
+						}else {
+							writer.flush();
+							outs.peek().write(streamContent);
+						}
+					}
+
+					loadXmlElement(current);
+					break;
+
+				case XMLStreamConstants.CDATA:
+					streams.forEach(s -> s.textLength += reader.getTextLength());
+					if(current != null) {
+						current.addProperty("#cdata-section", reader.getText());
+					}
+					writer.writeCData(reader.getText());
+					break;
+
+				case XMLStreamConstants.COMMENT:
+					if(current != null) {
+						current.addProperty("#comment", reader.getText());
+					}
+					writer.writeComment(reader.getText());
+					break;
+
+				case XMLStreamConstants.PROCESSING_INSTRUCTION:
+					if(current != null) {
+						current.addProperty(reader.getPITarget(), reader.getPIData() == null ? "" : reader.getPIData());
+					}
+					writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData() == null ? "" : reader.getPIData());
+					break;
+
+				default:
+					break;
+				}
+			}
+
+			writer.flush();
+
+		}finally {
+			reader.close();
+		}
+
+		return outs.getLast().toString();
+	}
+
+	private void truncateStream(XmlNode stream) {
+
+		final List<AtsApiElement> children = elements.subList(stream.position + 1, elements.size());
+		children.clear();
+
+		final String truncated = "[" + TRUNCATED_DATA + ", size:" + stream.textLength + "]";
+
+		stream.attributes.clear();
+		stream.attributes.put("name", STREAM);
+		stream.attributes.put("text", truncated);
+		stream.properties.clear();
+		stream.properties.add(new String[] {"#text", truncated});
+		stream.hasChild = false;
+	}
+
+	private void loadXmlElement(XmlNode node) {
+		if(node.hasChild) {
+			setElement(node.position, NODE, node.attributes, node.position + 1, elements.size());
+		}else {
+			for(String[] property : node.properties) {
+				addAttribute(node.attributes, "#text".equals(property[0]) ? "value" : property[0], property[1]);
+			}
+			setElement(node.position, ELEMENT, node.attributes, node.position + 1, elements.size());
+		}
+	}
+
+	private static void addAttribute(Map<String, String> map, String propertyName, String propertyValue) {
+		if(!"xsd".equals(propertyName) && !"xsi".equals(propertyName)) {
+			map.put(propertyName, propertyValue);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+
+package com.ats.executor.drivers.engines.webservices;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Latencies and errors of the requests sent by an api load run.
+ * Latencies are counted in a log-linear histogram (microseconds, 32 sub-buckets by power of two, about 3% of precision),
+ * so concurrent calls only increment counters and the memory used does not depend on the number of requests.
+ */
+public class ApiLoadReport {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+	private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+	private final AtomicLong received = new AtomicLong();
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong max = new AtomicLong();
+
+	private final int concurrency;
+	private long elapsed = 0;
+
+	public ApiLoadReport(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	private static int getBucket(long micros) {
+		if(micros < LINEAR_LIMIT) {
+			return (int)micros;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		final int sub = (int)(micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + sub;
+	}
+
+	private static long getBucketValue(int bucket) {
+		if(bucket < LINEAR_LIMIT) {
+			return bucket;
+		}
+		final int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+		final long sub = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+		return (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * Add a completed request
+	 *
+	 * @param nanos latency of the request, response body included
+	 * @param failed true if the request has not been sent or has an error status code
+	 * @param size number of bytes of the response body
+	 */
+	public void add(long nanos, boolean failed, long size) {
+		final long micros = Math.max(0, nanos / 1000);
+
+		buckets.incrementAndGet(getBucket(micros));
+		requests.incrementAndGet();
+		total.addAndGet(micros);
+		received.addAndGet(size);
+		min.accumulateAndGet(micros, Math::min);
+		max.accumulateAndGet(micros, Math::max);
+
+		if(failed) {
+			errors.incrementAndGet();
+		}
+	}
+
+	public void setElapsed(long nanos) {
+		this.elapsed = nanos / 1000000;
+	}
+
+	//------------------------------------------------------------------------------------------------------------
+	// results
+	//------------------------------------------------------------------------------------------------------------
+
+	public long getRequests() {
+		return requests.get();
+	}
+
+	public long getErrors() {
+		return errors.get();
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public long getElapsed() {
+		return elapsed;
+	}
+
+	/**
+	 * @param percentile between 0 and 100
+	 * @return latency in microseconds under which the given percentile of requests have been completed, the lower value of its histogram bucket or the highest latency for 100
+	 */
+	public long getPercentile(double percentile) {
+		final long count = requests.get();
+		if(count == 0) {
+			return 0;
+		}
+
+		final long rank = Math.max(1, (long)Math.ceil(count * percentile / 100));
+		if(rank >= count) {
+			return max.get();
+		}
+
+		long current = 0;
+		for(int i=0; i<BUCKETS; i++) {
+			current += buckets.get(i);
+			if(current >= rank) {
+				return Math.min(Math.max(getBucketValue(i), min.get()), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	private static double toMillis(long micros) {
+		return micros / 1000.0;
+	}
+
+	public JsonObject toJson() {
+		final long count = requests.get();
+
+		final JsonObject latency = new JsonObject();
+		latency.addProperty("min", toMillis(count > 0 ? min.get() : 0));
+		latency.addProperty("mean", toMillis(count > 0 ? total.get() / count : 0));
+		latency.addProperty("p50", toMillis(getPercentile(50)));
+		latency.addProperty("p95", toMillis(getPercentile(95)));
+		latency.addProperty("p99", toMillis(getPercentile(99)));
+		latency.addProperty("max", toMillis(max.get()));
+
+		final JsonObject result = new JsonObject();
+		result.addProperty("requests", count);
+		result.addProperty("errors", errors.get());
+		result.addProperty("concurrency", concurrency);
+		result.addProperty("duration", elapsed);
+		result.addProperty("throughput", elapsed > 0 ? Math.round(count * 100000.0 / elapsed) / 100.0 : 0);
+		result.addProperty("received", received.get());
+		result.add("latency", latency);
+
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return toJson().toString();
+	}
+}
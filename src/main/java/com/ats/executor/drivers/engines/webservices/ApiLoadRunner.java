@@ -0,0 +1,101 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+
+package com.ats.executor.drivers.engines.webservices;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Send the request of an api action many times from a bounded pool of threads, to use a functional api script as a load probe.
+ * The run stops when all requests have been sent or when the duration is over, the first limit reached.
+ */
+public class ApiLoadRunner {
+
+	private final OkHttpClient client;
+	private final int requests;
+	private final int concurrency;
+	private final int duration;
+
+	/**
+	 * @param client http client of the channel
+	 * @param requests number of requests to send, no limit if 0
+	 * @param concurrency number of requests sent at the same time
+	 * @param duration maximum duration of the run in seconds, no limit if 0
+	 */
+	public ApiLoadRunner(OkHttpClient client, int requests, int concurrency, int duration) {
+		this.client = client;
+		this.requests = Math.max(0, requests);
+		this.duration = Math.max(0, duration);
+
+		if(this.requests > 0) {
+			this.concurrency = Math.max(1, Math.min(concurrency, this.requests));
+		}else {
+			this.concurrency = Math.max(1, concurrency);
+		}
+	}
+
+	public ApiLoadReport run(Request request) {
+
+		final ApiLoadReport report = new ApiLoadReport(concurrency);
+
+		final AtomicInteger remaining = new AtomicInteger(requests > 0 ? requests : Integer.MAX_VALUE);
+		final long started = System.nanoTime();
+		final long deadline = duration > 0 ? started + TimeUnit.SECONDS.toNanos(duration) : Long.MAX_VALUE;
+
+		final ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+		for(int i=0; i<concurrency; i++) {
+			pool.execute(() -> {
+				while(System.nanoTime() < deadline && remaining.getAndDecrement() > 0) {
+					call(request, report);
+				}
+			});
+		}
+		pool.shutdown();
+
+		try {
+			while(!pool.awaitTermination(1, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+
+		report.setElapsed(System.nanoTime() - started);
+		return report;
+	}
+
+	private void call(Request request, ApiLoadReport report) {
+		final long start = System.nanoTime();
+		try (Response response = client.newCall(request).execute()){
+			final long size = response.body() != null ? response.body().byteStream().transferTo(OutputStream.nullOutputStream()) : 0;
+			report.add(System.nanoTime() - start, response.code() >= 400, size);
+		} catch (IOException e) {
+			report.add(System.nanoTime() - start, true, 0);
+		}
+	}
+}
@@ -19,13 +19,9 @@ under the License.
 
 package com.ats.executor.drivers.engines.webservices;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.io.PrintStream;
-import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -44,7 +40,6 @@ import org.xml.sax.SAXException;
 import com.ats.executor.ActionStatus;
 import com.ats.executor.channels.Channel;
 import com.ats.script.actions.ActionApi;
-import com.google.common.base.Charsets;
 
 import okhttp3.OkHttpClient;
 import okhttp3.Request.Builder;
@@ -57,26 +52,15 @@ public class SoapApiExecutor extends ApiExecutor {
 	private String namespace = "";
 	private Map<String, SoapOperation> operations;
 
-	public SoapApiExecutor(PrintStream logStream, OkHttpClient client, int timeout, int maxTry, Channel channel, String wsdlContent, String wsUrl) 
-			throws SAXException, IOException, ParserConfigurationException {
+	public SoapApiExecutor(PrintStream logStream, OkHttpClient client, int timeout, int maxTry, Channel channel, WsdlDefinition wsdl, String wsUrl) {
 
 		super(logStream, client, timeout, maxTry, channel);
 
-		final File wsdlFile = File.createTempFile("atsWs_", ".txt");
-		wsdlFile.deleteOnExit();
-
-		final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(wsdlFile), Charsets.UTF_8));
-		writer.write(wsdlContent);
-		writer.flush();
-		writer.close();
-
 		this.setUri(wsUrl);
 
-		operations = new HashMap<String, SoapOperation>();
-		final String[] wsdlData = parse(wsdlFile, operations);
-
-		this.namespace = wsdlData[0];
-		this.setUri(wsdlData[1]);
+		this.operations = wsdl.getOperations();
+		this.namespace = wsdl.getNamespace();
+		this.setUri(wsdl.getAddress());
 	}
 
 	public ArrayList<String> getOperations() {
@@ -115,11 +99,14 @@ public class SoapApiExecutor extends ApiExecutor {
 	//------------------------------------------------------------------------------------------------------------------------
 
 	public static String[] parse(File wsdlFile, Map<String, SoapOperation> operations) throws SAXException, IOException, ParserConfigurationException {
+		return parse(DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(wsdlFile), operations);
+	}
+
+	public static String[] parse(Document document, Map<String, SoapOperation> operations) {
 
 		String namespace = "";
 		final HashMap<String, String> messages = new HashMap<String, String>();
 
-		final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(wsdlFile);
 		if( document.getFirstChild().getNodeName().equalsIgnoreCase("#comment")){
 			document.removeChild(document.getFirstChild());
 		}  
@@ -0,0 +1,184 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+
+package com.ats.executor.drivers.engines.webservices;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.xml.sax.SAXException;
+
+import com.ats.tools.Utils;
+import com.google.common.io.CharStreams;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Wsdl definitions parsed once by JVM and by service url.
+ * A known definition is revalidated with the ETag and Last-Modified headers of its last response,
+ * and it is not parsed again if the service returns the same content.
+ * Definitions can also be saved in a folder, so next executions start with the definitions already parsed.
+ */
+public final class WsdlCache {
+
+	private static final String WSDL_END = "definitions>";
+	private static final String JSON_EXTENSION = ".json";
+
+	private static final Gson gson = new Gson();
+	private static final Map<String, WsdlDefinition> definitions = new ConcurrentHashMap<String, WsdlDefinition>();
+
+	private static final AtomicLong parsed = new AtomicLong();
+	private static final AtomicLong reused = new AtomicLong();
+
+	private WsdlCache() {}
+
+	/**
+	 * Load the wsdl of a service, the request is sent with the validators of the known definition
+	 *
+	 * @param client http client of the channel
+	 * @param url address of the service
+	 * @param folder folder where definitions are saved, or null to keep them only in memory
+	 * @return the definition of the service, or null if the service does not return a wsdl
+	 */
+	public static WsdlDefinition load(OkHttpClient client, String url, Path folder) throws IOException, SAXException, ParserConfigurationException {
+
+		WsdlDefinition cached = definitions.get(url);
+		if(cached == null && folder != null) {
+			cached = read(folder, url);
+		}
+
+		final Request.Builder builder = new Request.Builder().url(url).get();
+		if(cached != null) {
+			if(cached.getEtag() != null) {
+				builder.header("If-None-Match", cached.getEtag());
+			}
+			if(cached.getLastModified() != null) {
+				builder.header("If-Modified-Since", cached.getLastModified());
+			}
+		}
+
+		try (Response response = client.newCall(builder.build()).execute()){
+
+			if(cached != null && response.code() == 304) {
+				reused.incrementAndGet();
+				definitions.put(url, cached);
+				return cached;
+			}
+
+			final String content = CharStreams.toString(new InputStreamReader(response.body().byteStream(), StandardCharsets.UTF_8)).trim();
+			if(!content.endsWith(WSDL_END)) {
+				definitions.remove(url);
+				return null;
+			}
+
+			final String hash = Utils.getHash(content.getBytes(StandardCharsets.UTF_8));
+			final String etag = response.header("ETag");
+			final String lastModified = response.header("Last-Modified");
+
+			final WsdlDefinition wsdl;
+			boolean changed = true;
+			if(cached != null && hash.equals(cached.getHash())) {
+				reused.incrementAndGet();
+				changed = !Objects.equals(etag, cached.getEtag()) || !Objects.equals(lastModified, cached.getLastModified());
+				wsdl = changed ? cached.revalidated(etag, lastModified) : cached;
+			}else {
+				parsed.incrementAndGet();
+				wsdl = WsdlDefinition.parse(url, content, hash, etag, lastModified);
+			}
+
+			definitions.put(url, wsdl);
+			if(folder != null && (changed || !Files.isRegularFile(getFile(folder, url)))) {
+				write(folder, wsdl);
+			}
+
+			return wsdl;
+		}
+	}
+
+	/**
+	 * Remove definitions kept in memory, saved definitions are not deleted
+	 */
+	public static void clear() {
+		definitions.clear();
+	}
+
+	/**
+	 * @return number of wsdl contents parsed since the start of the JVM
+	 */
+	public static long getParsed() {
+		return parsed.get();
+	}
+
+	/**
+	 * @return number of channels started with a known definition, not modified or with the same content
+	 */
+	public static long getReused() {
+		return reused.get();
+	}
+
+	//------------------------------------------------------------------------------------------------------------
+	// saved definitions
+	//------------------------------------------------------------------------------------------------------------
+
+	private static Path getFile(Path folder, String url) {
+		return folder.resolve(Utils.getHash(url.getBytes(StandardCharsets.UTF_8)) + JSON_EXTENSION);
+	}
+
+	private static WsdlDefinition read(Path folder, String url) {
+		final Path file = getFile(folder, url);
+		if(Files.isRegularFile(file)) {
+			try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)){
+				final WsdlDefinition wsdl = gson.fromJson(reader, WsdlDefinition.class);
+				if(wsdl != null && wsdl.isValid(url)) {
+					return wsdl;
+				}
+			} catch (IOException | JsonParseException e) {}
+		}
+		return null;
+	}
+
+	private static void write(Path folder, WsdlDefinition wsdl) {
+		try {
+			Files.createDirectories(folder);
+
+			final Path temp = Files.createTempFile(folder, "wsdl", JSON_EXTENSION);
+			try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)){
+				gson.toJson(wsdl, writer);
+			}
+			Files.move(temp, getFile(folder, wsdl.getUrl()), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+
+package com.ats.executor.drivers.engines.webservices;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Operations, namespace and address of a wsdl service, with the validators of the response it has been parsed from.
+ * Definitions are not modified once parsed, they are shared by all soap channels of the same service.
+ */
+public class WsdlDefinition {
+
+	private String url;
+	private String hash;
+	private String etag;
+	private String lastModified;
+
+	private String namespace;
+	private String address;
+	private HashMap<String, SoapOperation> operations;
+
+	public WsdlDefinition() {}
+
+	private WsdlDefinition(String url, String hash, String etag, String lastModified, String namespace, String address, HashMap<String, SoapOperation> operations) {
+		this.url = url;
+		this.hash = hash;
+		this.etag = etag;
+		this.lastModified = lastModified;
+		this.namespace = namespace;
+		this.address = address;
+		this.operations = operations;
+	}
+
+	/**
+	 * Parse the content of a wsdl service
+	 *
+	 * @param url address of the wsdl
+	 * @param content wsdl content
+	 * @param hash hash of the content
+	 * @param etag ETag header of the response, can be null
+	 * @param lastModified Last-Modified header of the response, can be null
+	 */
+	public static WsdlDefinition parse(String url, String content, String hash, String etag, String lastModified) throws SAXException, IOException, ParserConfigurationException {
+		final HashMap<String, SoapOperation> operations = new HashMap<String, SoapOperation>();
+		final String[] wsdlData = SoapApiExecutor.parse(DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(content))), operations);
+		return new WsdlDefinition(url, hash, etag, lastModified, wsdlData[0], wsdlData[1], operations);
+	}
+
+	/**
+	 * @return the same definition with the validators of a new response of the service
+	 */
+	public WsdlDefinition revalidated(String etag, String lastModified) {
+		return new WsdlDefinition(url, hash, etag, lastModified, namespace, address, operations);
+	}
+
+	public boolean isValid(String url) {
+		return url.equals(this.url) && hash != null && operations != null;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public String getHash() {
+		return hash;
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	public String getLastModified() {
+		return lastModified;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public String getAddress() {
+		return address;
+	}
+
+	public Map<String, SoapOperation> getOperations() {
+		return Collections.unmodifiableMap(operations);
+	}
+
+	public ArrayList<String> getOperationNames() {
+		return new ArrayList<String>(operations.keySet());
+	}
+}
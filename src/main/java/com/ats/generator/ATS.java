@@ -68,6 +68,7 @@ public class ATS {
 	private String[] suites = null;
 
 	private boolean compile = false;
+	private boolean incremental = false;
 
 	public ATS(String[] args) {
 
@@ -76,6 +77,7 @@ public class ATS {
 		options.addOption("h", "help", false, "Show help");
 		options.addOption("f", "force", false, "Force Java files generation if files or folder exists");
 		options.addOption("comp", "compile", false, "Compile generated java files");
+		options.addOption("inc", "incremental", false, "Only generate java files of ATS scripts changed since last generation");
 		options.addOption("prj", "project", true, "ATS project folder");
 		options.addOption("dest", "destination", true, "Generated Java files destination folder");
 		options.addOption("rep", "report", true, "Execution report Java files destination folder");
@@ -100,6 +102,7 @@ public class ATS {
 
 			final boolean force = cmd.hasOption("f");
 			compile = cmd.hasOption("comp");
+			incremental = cmd.hasOption("inc");
 			
 			if (cmd.hasOption("suites")) {
 				suites = cmd.getOptionValue("suites").split(",");
@@ -162,6 +165,10 @@ public class ATS {
 		return compile;
 	}
 
+	public boolean isIncremental() {
+		return incremental;
+	}
+
 	public File getProjectFolder() {
 		return projectFolder;
 	}
@@ -25,10 +25,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvValidationException;
 import org.apache.commons.lang3.StringUtils;
 
 import com.ats.generator.events.ScriptProcessedEvent;
@@ -41,12 +41,17 @@ import com.ats.tools.Utils;
 public class Generator implements ScriptProcessedEvent{
 
 	private GeneratorReport genReport;
+	private GeneratorCache genCache;
+	private ProjectIndex projectIndex;
 	private Lexer lexer;
 	private ArrayList<File> filesList;
+	private ArrayList<File> updatedFilesList;
+
+	private final Set<File> generatedJavaFiles = ConcurrentHashMap.newKeySet();
 
 	private Project project;
 
-	private int remainingScripts = 0;
+	private final AtomicInteger remainingScripts = new AtomicInteger(0);
 
 	public static void main(String[] args) throws IOException {
 
@@ -60,50 +65,41 @@ public class Generator implements ScriptProcessedEvent{
 
 		if(projectData.isValidated()) {
 
-			final Generator generator = new Generator(projectData);
+			final Generator generator = new Generator(projectData, arguments.isIncremental());
 			final GeneratorReport report = generator.launch();
 
 			ATS.logInfo(StringUtils.repeat("-", 72));
 			ATS.logInfo("ATS Generator finished :");
 			ATS.logInfo("- Java files generated -> " + report.getGeneratedScriptsCount());
+			if(arguments.isIncremental()) {
+				ATS.logInfo("- Unchanged scripts -> " + report.getCacheHitsCount());
+				ATS.logInfo("- Deleted scripts -> " + report.getDeletedScriptsCount());
+			}
 			ATS.logInfo("- Ellapsed time -> " + report.getGenerationEllapsedTime() + " ms");
 			ATS.logInfo(StringUtils.repeat("-", 72));
 
 			if(arguments.isCompile()) {
 
-				final String targetFolderPath = projectData.getTargetFolderPath().toString();
-
-				ATS.logInfo("Compile generated java files into folder -> " + targetFolderPath + "/" + Project.TARGET_FOLDER_CLASSES);
-
-				StringBuilder xmlBuilder = new StringBuilder();
-				xmlBuilder.append("<project basedir=\"");
-				xmlBuilder.append(targetFolderPath);
-				xmlBuilder.append("\" default=\"compile\">");
-				xmlBuilder.append("<copy todir=\"");
-				xmlBuilder.append(Project.TARGET_FOLDER_CLASSES);
-				xmlBuilder.append("\"><fileset dir=\"../");
-				xmlBuilder.append(Project.SRC_FOLDER);
-				xmlBuilder.append("\" includes=\"");
-				xmlBuilder.append(Project.ASSETS_FOLDER);
-				xmlBuilder.append("/**\"/></copy>");
-				xmlBuilder.append("<property name=\"lib.dir\" value=\"lib\"/>");
-				xmlBuilder.append("<target name=\"compile\"><mkdir dir=\"");
-				xmlBuilder.append(Project.TARGET_FOLDER_CLASSES);
-				xmlBuilder.append("\"/><javac includeantruntime=\"true\" srcdir=\"");
-				xmlBuilder.append(Project.TARGET_FOLDER_GENERATED);
-				xmlBuilder.append("\" destdir=\"");
-				xmlBuilder.append(Project.TARGET_FOLDER_CLASSES);
-				xmlBuilder.append("\"/></target></project>");
-
-				try {
-					File tempXml = File.createTempFile("ant_", ".xml");
-					tempXml.deleteOnExit();
-
-					Files.write(tempXml.toPath(), xmlBuilder.toString().getBytes());
-
-					new AntCompiler(tempXml);
-
-				} catch (IOException e) {}
+				final String classesFolderPath = projectData.getTargetFolderPath().resolve(Project.TARGET_FOLDER_CLASSES).toString();
+				ATS.logInfo("Compile generated java files into folder -> " + classesFolderPath);
+
+				if(GeneratorCompiler.isAvailable()) {
+
+					final long start = System.currentTimeMillis();
+
+					final GeneratorCompiler compiler = new GeneratorCompiler(projectData);
+					compiler.copyAssets();
+
+					if(compiler.compile(generator.getGeneratedJavaFiles())) {
+						ATS.logInfo("- Java files compiled -> " + compiler.getCompiledFilesCount() + " (" + (System.currentTimeMillis() - start) + " ms)");
+					}else {
+						ATS.logError("Compilation of generated java files failed !");
+					}
+
+				}else {
+					ATS.logWarn("No system Java compiler found (JRE used instead of JDK ?), compilation done with Ant");
+					antCompile(projectData.getTargetFolderPath().toString());
+				}
 			}
 
 			if(arguments.getSuites() != null) {
@@ -135,6 +131,39 @@ public class Generator implements ScriptProcessedEvent{
 		}
 	}
 
+	private static void antCompile(String targetFolderPath) {
+
+		StringBuilder xmlBuilder = new StringBuilder();
+		xmlBuilder.append("<project basedir=\"");
+		xmlBuilder.append(targetFolderPath);
+		xmlBuilder.append("\" default=\"compile\">");
+		xmlBuilder.append("<copy todir=\"");
+		xmlBuilder.append(Project.TARGET_FOLDER_CLASSES);
+		xmlBuilder.append("\"><fileset dir=\"../");
+		xmlBuilder.append(Project.SRC_FOLDER);
+		xmlBuilder.append("\" includes=\"");
+		xmlBuilder.append(Project.ASSETS_FOLDER);
+		xmlBuilder.append("/**\"/></copy>");
+		xmlBuilder.append("<property name=\"lib.dir\" value=\"lib\"/>");
+		xmlBuilder.append("<target name=\"compile\"><mkdir dir=\"");
+		xmlBuilder.append(Project.TARGET_FOLDER_CLASSES);
+		xmlBuilder.append("\"/><javac includeantruntime=\"true\" srcdir=\"");
+		xmlBuilder.append(Project.TARGET_FOLDER_GENERATED);
+		xmlBuilder.append("\" destdir=\"");
+		xmlBuilder.append(Project.TARGET_FOLDER_CLASSES);
+		xmlBuilder.append("\"/></target></project>");
+
+		try {
+			File tempXml = File.createTempFile("ant_", ".xml");
+			tempXml.deleteOnExit();
+
+			Files.write(tempXml.toPath(), xmlBuilder.toString().getBytes());
+
+			new AntCompiler(tempXml);
+
+		} catch (IOException e) {}
+	}
+
 	public static String findSuiteFile(String s) {
 		if(Paths.get(s).toFile().exists()) {
 			return s;
@@ -164,11 +193,21 @@ public class Generator implements ScriptProcessedEvent{
 	}
 
 	public Generator(Project project){
+		this(project, false);
+	}
+
+	/**
+	 * @param incremental only generate Java files of scripts that have changed since the previous generation
+	 */
+	public Generator(Project project, boolean incremental){
+
+		if(init(project, incremental) && filesList.size() > 0){
 
-		if(init(project) && remainingScripts > 0){
+			if(!incremental || !genCache.isValid()) {
+				project.initFolders();
+			}
 
-			project.initFolders();
-			genReport.startGenerator(remainingScripts);
+			genReport.startGenerator(remainingScripts.get());
 
 			lexer = new Lexer(project, genReport, StandardCharsets.UTF_8);
 
@@ -177,39 +216,47 @@ public class Generator implements ScriptProcessedEvent{
 		}
 	}
 
-	private boolean init(Project p) {
+	private boolean init(Project p, boolean incremental) {
 		if(p.isValidated()) {
 
 			genReport = new GeneratorReport();
 			project = p;
 
 			filesList = project.getAtsScripts();
-			remainingScripts = filesList.size();
+
+			if(incremental) {
+				genCache = GeneratorCache.load(project);
+				updatedFilesList = genCache.getUpdatedScripts(filesList, genReport);
+			}else {
+				genCache = GeneratorCache.create(project);
+				updatedFilesList = new ArrayList<File>(filesList);
+				genReport.setCacheMissesCount(filesList.size());
+			}
+
+			remainingScripts.set(updatedFilesList.size());
 
 			return true;
 		}
 		return false;
 	}
 
-	private void addDataFile(ArrayList<File> list, File f) {
-		if(f.getName().toLowerCase().endsWith(".csv") || f.getName().toLowerCase().endsWith(".json")) {
-			list.add(f);
-		}
-	}
-
 	public GeneratorReport launch(){
 
+		generatedJavaFiles.clear();
+
 		if(project.getJavaSourceFolder().toFile().exists()){
 			Utils.copyDir(project.getJavaSourceFolder().toString(), project.getJavaDestinationFolder().toString(), true);
 		}
 
-		final Stream<File> stream = filesList.parallelStream();
+		final Stream<File> stream = updatedFilesList.parallelStream();
 		stream.forEach(f -> generateJava(f));
 		stream.close();
 
+		genCache.save();
 		genReport.endGenerator();
 
 		filesList.clear();
+		updatedFilesList.clear();
 		lexer = null;
 
 		return genReport;
@@ -218,58 +265,33 @@ public class Generator implements ScriptProcessedEvent{
 	private void generateJava(File f){
 		final ScriptLoader sc = lexer.loadScript(f, new ScriptProcessedNotifier(this));
 		sc.generateJavaFile(project);
+		genCache.update(f, sc);
+		generatedJavaFiles.add(sc.getHeader().getJavaFile());
+	}
+
+	/**
+	 * @return Java files written by the last launch of the generator
+	 */
+	public Set<File> getGeneratedJavaFiles() {
+		return generatedJavaFiles;
 	}
 
 	public ArrayList<String> findSubscriptRef(String calledScript){
-		final ArrayList<String> result = new ArrayList<String>();
-		for(File f : filesList) {
-			final ScriptLoader sc = lexer.loadScript(f, new ScriptProcessedNotifier(this));
-			if(sc.isSubscriptCalled(calledScript)) {
-				result.add(sc.getHeader().getQualifiedName());
-			}
+		if(projectIndex == null) {
+			projectIndex = ProjectIndex.load(project);
 		}
 
-		final ArrayList<File> dataFiles = new ArrayList<File>();
-		try {
-			Files.find(project.getAssetsFolderPath(), 99999, (p, bfa) -> bfa.isRegularFile()).forEach(p -> addDataFile(dataFiles, p.toFile()));
-
-			for(File f : dataFiles) {
-				String[] stringArray = f.getName().split("\\.");
-				String fileExtension = stringArray[stringArray.length-1];
-				if (fileExtension.equalsIgnoreCase("csv")) {
-					try (CSVReader csvReader = new CSVReader(new FileReader(f.getAbsolutePath()))) {
-						String[] values;
-						while ((values = csvReader.readNext()) != null) {
-							List<String> list = Arrays.asList(values);
-							if (list.contains(calledScript)) {
-								result.add(f.getCanonicalPath());
-								break;
-							}
-						}
-					}
-				} else {
-					Scanner scanner = new Scanner(f);
-					while (scanner.hasNext()) {
-						final String line = scanner.next();
-						if(line.equals(calledScript) || line.contains("\"" + calledScript + "\"")) {
-							result.add(f.getCanonicalPath());
-							break;
-						}
-					}
-					scanner.close();
-				}
-			}
-
-		} catch (IOException | CsvValidationException e) {
-			e.printStackTrace();
+		if(lexer == null) {
+			lexer = new Lexer(project, new GeneratorReport(), StandardCharsets.UTF_8);
 		}
 
-		return result;
+		projectIndex.update(lexer);
+		return projectIndex.findSubscriptRef(calledScript);
 	}
 
 	@Override
 	public void scriptProcessed() {
-		remainingScripts--;
+		remainingScripts.decrementAndGet();
 
 		//int percent = (int)(10000-(double)remainingScripts/(double)totalScript*10000)/100;
 		//log.info("Generator in progress : " + percent + " % done");
@@ -42,6 +42,11 @@ public class GeneratorAnt extends Task{
 		reportFolder = report;
 	}
 
+	boolean incremental = false;
+	public void setIncremental(boolean value) {
+		incremental = value;
+	}
+
 	@Override
 	public void execute() {
 		if(destinationFolder != null && sourceFolder != null){
@@ -62,11 +67,14 @@ public class GeneratorAnt extends Task{
 
 				Project projectData = Project.getProjectData(source, destination, report);
 				if(projectData.isValidated()) {
-					Generator generator = new Generator(projectData);
+					Generator generator = new Generator(projectData, incremental);
 					GeneratorReport generatorReport = generator.launch();
 
 					log("Script Generator executed in " + generatorReport.getGenerationEllapsedTime() + " ms");
 					log(" - Main scripts -> " + generatorReport.getGeneratedScriptsCount());
+					if(incremental) {
+						log(" - Unchanged scripts -> " + generatorReport.getCacheHitsCount());
+					}
 				}else {
 					throw new BuildException("Source folder [" + sourceFolder + "] does not exists !");
 				}
@@ -0,0 +1,276 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.generator;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.ats.script.Project;
+import com.ats.script.ScriptLoader;
+import com.ats.tools.Utils;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Persistent manifest of the last ATS to Java generation, stored in the project target folder.
+ * Each script is recorded with the hash of its content and the subscripts it calls, a script is
+ * generated again only if one of these inputs has changed since the previous generation.
+ */
+public class GeneratorCache {
+
+	public static final String CACHE_FILE_NAME = ".atsGenerator.json";
+
+	public String generatorVersion;
+	public String projectGav;
+	public String javaDestination;
+	public Map<String, GeneratorCacheItem> scripts = new ConcurrentHashMap<String, GeneratorCacheItem>();
+
+	private transient Project project;
+	private transient File cacheFile;
+	private transient boolean valid = false;
+	private transient Map<String, String> currentHashes = new ConcurrentHashMap<String, String>();
+
+	public static GeneratorCache load(Project project) {
+
+		final File file = project.getTargetFolderPath().resolve(CACHE_FILE_NAME).toFile();
+
+		GeneratorCache cache = null;
+		if(file.exists()) {
+			try {
+				final JsonReader reader = new JsonReader(new FileReader(file));
+				cache = new Gson().fromJson(reader, GeneratorCache.class);
+				reader.close();
+			} catch (IOException | JsonParseException e) {
+				ATS.logWarn("Unable to read generator cache, all scripts will be generated -> " + e.getMessage());
+			}
+		}
+
+		if(cache == null || cache.scripts == null) {
+			cache = new GeneratorCache();
+		}else {
+			cache.scripts = new ConcurrentHashMap<String, GeneratorCacheItem>(cache.scripts);
+			cache.valid = ATS.VERSION.equals(cache.generatorVersion)
+					&& project.getGav().equals(cache.projectGav)
+					&& project.getJavaDestinationFolder().toString().equals(cache.javaDestination);
+		}
+
+		cache.init(project, file);
+		return cache;
+	}
+
+	/**
+	 * Create an empty cache, previous generation data will be overwritten when the cache is saved
+	 */
+	public static GeneratorCache create(Project project) {
+		final GeneratorCache cache = new GeneratorCache();
+		cache.init(project, project.getTargetFolderPath().resolve(CACHE_FILE_NAME).toFile());
+		return cache;
+	}
+
+	public GeneratorCache() {}
+
+	private void init(Project project, File file) {
+		this.project = project;
+		this.cacheFile = file;
+		this.currentHashes = new ConcurrentHashMap<String, String>();
+
+		if(!valid) {
+			scripts.clear();
+		}
+
+		generatorVersion = ATS.VERSION;
+		projectGav = project.getGav();
+		javaDestination = project.getJavaDestinationFolder().toString();
+	}
+
+	/**
+	 * @return false if the previous generation was made with another version of the generator,
+	 * another project definition or another destination folder, in this case all scripts have to be generated
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  scripts state
+	//-------------------------------------------------------------------------------------------------
+
+	/**
+	 * Compare the given ATS files with the previous generation, remove Java files of deleted scripts
+	 * and return the list of scripts that have to be generated.
+	 */
+	public ArrayList<File> getUpdatedScripts(List<File> files, GeneratorReport report) {
+
+		final Set<String> currentKeys = ConcurrentHashMap.newKeySet();
+
+		files.parallelStream().forEach(f -> {
+			final String key = getScriptKey(f);
+			currentKeys.add(key);
+			currentHashes.put(key, getFileHash(f));
+		});
+
+		final Set<String> changedNames = new HashSet<String>();
+		final Set<String> changedKeys = new HashSet<String>();
+
+		report.setDeletedScriptsCount(deleteOrphans(currentKeys, changedNames));
+
+		for(Entry<String, String> entry : currentHashes.entrySet()) {
+			final GeneratorCacheItem item = scripts.get(entry.getKey());
+			if(item == null || !entry.getValue().equals(item.hash) || !project.getJavaFile(item.javaFile).exists()) {
+				changedKeys.add(entry.getKey());
+				if(item != null) {
+					changedNames.add(item.qualifiedName);
+				}else {
+					changedNames.add(getQualifiedName(entry.getKey()));
+				}
+			}
+		}
+
+		for(Entry<String, GeneratorCacheItem> entry : scripts.entrySet()) {
+			if(!changedKeys.contains(entry.getKey()) && entry.getValue().isCalling(changedNames)) {
+				changedKeys.add(entry.getKey());
+			}
+		}
+
+		final ArrayList<File> result = new ArrayList<File>();
+		for(File f : files) {
+			if(changedKeys.contains(getScriptKey(f))) {
+				result.add(f);
+			}
+		}
+
+		report.setCacheHitsCount(files.size() - result.size());
+		report.setCacheMissesCount(result.size());
+
+		return result;
+	}
+
+	private int deleteOrphans(Set<String> currentKeys, Set<String> changedNames) {
+
+		final List<String> orphans = scripts.keySet().stream().filter(k -> !currentKeys.contains(k)).collect(Collectors.toList());
+		for(String key : orphans) {
+			final GeneratorCacheItem item = scripts.remove(key);
+			if(item != null) {
+				changedNames.add(item.qualifiedName);
+				if(item.javaFile != null) {
+					project.getJavaFile(item.javaFile).delete();
+				}
+			}
+		}
+
+		return orphans.size();
+	}
+
+	/**
+	 * Record a generated script, can be called from concurrent generation threads
+	 */
+	public void update(File f, ScriptLoader sc) {
+
+		final String key = getScriptKey(f);
+
+		String hash = currentHashes.get(key);
+		if(hash == null) {
+			hash = getFileHash(f);
+		}
+
+		final GeneratorCacheItem item = new GeneratorCacheItem();
+		item.hash = hash;
+		item.qualifiedName = sc.getHeader().getQualifiedName();
+		item.javaFile = project.getJavaDestinationFolder().relativize(sc.getHeader().getJavaFile().toPath()).toString();
+		item.subscripts = sc.getCalledSubscripts();
+
+		scripts.put(key, item);
+	}
+
+	public void save() {
+		try {
+			cacheFile.getParentFile().mkdirs();
+			final FileWriter writer = new FileWriter(cacheFile);
+			new Gson().toJson(this, writer);
+			writer.close();
+		} catch (IOException e) {
+			ATS.logWarn("Unable to save generator cache -> " + e.getMessage());
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  utils
+	//-------------------------------------------------------------------------------------------------
+
+	private String getScriptKey(File f) {
+		final Path atsFolder = project.getAtsSourceFolder();
+		final Path path = f.toPath().toAbsolutePath();
+		if(path.startsWith(atsFolder.toAbsolutePath())) {
+			return atsFolder.toAbsolutePath().relativize(path).toString().replace(File.separatorChar, '/');
+		}
+		return path.toString().replace(File.separatorChar, '/');
+	}
+
+	private static String getQualifiedName(String key) {
+		final int extension = key.lastIndexOf('.');
+		if(extension > 0) {
+			key = key.substring(0, extension);
+		}
+		return key.replace('/', '.');
+	}
+
+	public static String getFileHash(File f) {
+		try {
+			return Utils.getHash(Files.readAllBytes(f.toPath()));
+		} catch (IOException e) {
+			return "";
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  serialized script data
+	//-------------------------------------------------------------------------------------------------
+
+	public static class GeneratorCacheItem {
+		public String hash;
+		public String qualifiedName;
+		public String javaFile;
+		public List<String> subscripts;
+
+		private boolean isCalling(Set<String> names) {
+			if(subscripts != null) {
+				for(String sub : subscripts) {
+					if(names.contains(sub)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+	}
+}
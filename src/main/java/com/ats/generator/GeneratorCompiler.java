@@ -0,0 +1,378 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.generator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import com.ats.script.Project;
+
+/**
+ * Compile generated Java files in the running JVM with the system Java compiler.
+ * Only Java files regenerated by the last generation, or without an up to date class file, are compiled into the target classes folder.
+ * Class files written for each Java file are recorded, so only the classes of deleted Java files are removed from the classes folder.
+ * Single scripts sources can also be compiled in memory, without any Java or class file written.
+ * The file manager is shared by all compilations of the JVM so libraries of the classpath are only indexed once.
+ */
+public class GeneratorCompiler {
+
+	private static final String JAVA_EXTENSION = ".java";
+	private static final String CLASS_EXTENSION = ".class";
+	private static final String OUTPUTS_FILE = "ats-compiled-classes.properties";
+	private static final String OUTPUTS_SEPARATOR = ",";
+
+	private static final List<String> OPTIONS = List.of("-encoding", StandardCharsets.UTF_8.name(), "-proc:none", "-nowarn");
+
+	private static final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+	private static StandardJavaFileManager fileManager;
+
+	private final Path javaFolder;
+	private final Path classesFolder;
+	private final Path assetsFolder;
+	private final Path outputsFile;
+
+	private int compiledFilesCount = 0;
+
+	/**
+	 * @return false if the JVM is not a JDK and has no system Java compiler
+	 */
+	public static boolean isAvailable() {
+		return compiler != null;
+	}
+
+	private static synchronized StandardJavaFileManager getFileManager() {
+		if(fileManager == null) {
+			fileManager = compiler.getStandardFileManager(null, Locale.getDefault(), StandardCharsets.UTF_8);
+		}
+		return fileManager;
+	}
+
+	public GeneratorCompiler(Project project) {
+		this.javaFolder = project.getJavaDestinationFolder();
+		this.classesFolder = project.getTargetFolderPath().resolve(Project.TARGET_FOLDER_CLASSES);
+		this.assetsFolder = project.getAssetsFolderPath();
+		this.outputsFile = project.getTargetFolderPath().resolve(OUTPUTS_FILE);
+	}
+
+	public int getCompiledFilesCount() {
+		return compiledFilesCount;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  assets
+	//-------------------------------------------------------------------------------------------------
+
+	/**
+	 * Copy assets files newer than the ones in the classes folder
+	 *
+	 * @return the number of copied files
+	 */
+	public int copyAssets() {
+
+		int copied = 0;
+		if(Files.isDirectory(assetsFolder)) {
+
+			final Path destination = classesFolder.resolve(Project.ASSETS_FOLDER);
+			for(Path source : listFiles(assetsFolder, null)) {
+				final File target = destination.resolve(assetsFolder.relativize(source)).toFile();
+				if(!target.exists() || target.lastModified() < source.toFile().lastModified()) {
+					try {
+						target.getParentFile().mkdirs();
+						Files.copy(source, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+						copied++;
+					} catch (IOException e) {
+						ATS.logWarn("Unable to copy asset file -> " + source);
+					}
+				}
+			}
+		}
+		return copied;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  compilation
+	//-------------------------------------------------------------------------------------------------
+
+	/**
+	 * Compile the given Java files and all Java files without up to date class file,
+	 * class files compiled from deleted Java files are removed from the classes folder
+	 *
+	 * @param updatedFiles Java files generated or copied during the last generation
+	 * @return true if there is no compilation error
+	 */
+	public boolean compile(Collection<File> updatedFiles) {
+
+		final Properties outputs = loadOutputs();
+		if(removeOrphanClasses(outputs)) {
+			saveOutputs(outputs);
+		}
+
+		final Set<File> sources = new TreeSet<File>(updatedFiles);
+		sources.addAll(getStaleFiles());
+
+		compiledFilesCount = sources.size();
+		if(compiledFilesCount == 0) {
+			return true;
+		}
+
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		final Map<String, Set<String>> compiled = new HashMap<String, Set<String>>();
+
+		boolean success = false;
+		synchronized (GeneratorCompiler.class) {
+
+			final StandardJavaFileManager manager = getFileManager();
+			try {
+				classesFolder.toFile().mkdirs();
+
+				manager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(classesFolder.toFile()));
+				manager.setLocation(StandardLocation.CLASS_PATH, getClasspath());
+				manager.setLocation(StandardLocation.SOURCE_PATH, List.of(javaFolder.toFile()));
+
+				//a Java file can write several class files, inner classes or other top level classes declared in the same file
+				final JavaFileManager outputsManager = new ForwardingJavaFileManager<StandardJavaFileManager>(manager) {
+					@Override
+					public JavaFileObject getJavaFileForOutput(Location location, String name, JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+						final JavaFileObject output = super.getJavaFileForOutput(location, name, kind, sibling);
+						if(sibling != null && kind == JavaFileObject.Kind.CLASS) {
+							final String source = getRelativePath(javaFolder, sibling);
+							final String classFile = getRelativePath(classesFolder, output);
+							if(source != null && classFile != null) {
+								compiled.computeIfAbsent(source, k -> new HashSet<String>()).add(classFile);
+							}
+						}
+						return output;
+					}
+				};
+
+				success = compiler.getTask(null, outputsManager, diagnostics, OPTIONS, null, manager.getJavaFileObjectsFromFiles(sources)).call();
+
+			} catch (IOException e) {
+				ATS.logError("Unable to initialize Java compiler -> " + e.getMessage());
+			}
+		}
+
+		logErrors(diagnostics);
+
+		if(compiled.size() > 0) {
+			compiled.forEach((source, classFiles) -> {
+				final String previous = outputs.getProperty(source);
+				if(previous != null) {
+					for(String classFile : previous.split(OUTPUTS_SEPARATOR)) {
+						if(!classFiles.contains(classFile)) {
+							classesFolder.resolve(classFile).toFile().delete();
+						}
+					}
+				}
+				outputs.setProperty(source, String.join(OUTPUTS_SEPARATOR, new TreeSet<String>(classFiles)));
+			});
+			saveOutputs(outputs);
+		}
+
+		return success;
+	}
+
+	/**
+	 * Compile a Java source in memory, nothing is written in the classes folder
+	 *
+	 * @param className qualified name of the class defined by the source
+	 * @param code Java source code
+	 * @return bytecode of the compiled classes by class name (inner classes included), or null if the compilation failed
+	 */
+	public Map<String, byte[]> compile(String className, String code) {
+
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		final Map<String, ByteArrayOutputStream> outputs = new HashMap<String, ByteArrayOutputStream>();
+
+		boolean success = false;
+		synchronized (GeneratorCompiler.class) {
+
+			final StandardJavaFileManager manager = getFileManager();
+			try {
+				manager.setLocation(StandardLocation.CLASS_PATH, getClasspath());
+				manager.setLocation(StandardLocation.SOURCE_PATH, List.of());
+
+				final JavaFileManager memoryManager = new ForwardingJavaFileManager<StandardJavaFileManager>(manager) {
+					@Override
+					public JavaFileObject getJavaFileForOutput(Location location, String name, JavaFileObject.Kind kind, FileObject sibling) {
+						final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+						outputs.put(name, bytes);
+						return new SimpleJavaFileObject(URI.create("mem:///" + name.replace('.', '/') + kind.extension), kind) {
+							@Override
+							public OutputStream openOutputStream() {
+								return bytes;
+							}
+						};
+					}
+				};
+
+				final JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + JAVA_EXTENSION), JavaFileObject.Kind.SOURCE) {
+					@Override
+					public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+						return code;
+					}
+				};
+
+				success = compiler.getTask(null, memoryManager, diagnostics, OPTIONS, null, List.of(source)).call();
+
+			} catch (IOException e) {
+				ATS.logError("Unable to initialize Java compiler -> " + e.getMessage());
+			}
+		}
+
+		logErrors(diagnostics);
+
+		if(success) {
+			final Map<String, byte[]> result = new HashMap<String, byte[]>();
+			outputs.forEach((k, v) -> result.put(k, v.toByteArray()));
+			return result;
+		}
+		return null;
+	}
+
+	private List<File> getClasspath() {
+		final List<File> classpath = new ArrayList<File>();
+		classpath.add(classesFolder.toFile());
+		for(String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+			if(entry.length() > 0) {
+				classpath.add(new File(entry));
+			}
+		}
+		return classpath;
+	}
+
+	private static void logErrors(DiagnosticCollector<JavaFileObject> diagnostics) {
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if(diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+				final String source = diagnostic.getSource() != null ? diagnostic.getSource().getName() + ":" + diagnostic.getLineNumber() + " " : "";
+				ATS.logError(source + diagnostic.getMessage(Locale.getDefault()));
+			}
+		}
+	}
+
+	/**
+	 * @return Java files without class file or with a class file older than the Java file
+	 */
+	public List<File> getStaleFiles() {
+		return listFiles(javaFolder, JAVA_EXTENSION).stream()
+				.filter(p -> {
+					final File classFile = getClassFile(javaFolder.relativize(p).toString());
+					return !classFile.exists() || classFile.lastModified() < p.toFile().lastModified();
+				})
+				.map(Path::toFile)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Delete the class files recorded for Java files that no longer exist,
+	 * class files without recorded Java file are kept as they can't be safely related to a source
+	 *
+	 * @return true if recorded outputs have been removed
+	 */
+	private boolean removeOrphanClasses(Properties outputs) {
+		boolean removed = false;
+		for(String source : outputs.stringPropertyNames()) {
+			if(!javaFolder.resolve(source).toFile().exists()) {
+				for(String classFile : outputs.getProperty(source).split(OUTPUTS_SEPARATOR)) {
+					classesFolder.resolve(classFile).toFile().delete();
+				}
+				outputs.remove(source);
+				removed = true;
+			}
+		}
+		return removed;
+	}
+
+	private Properties loadOutputs() {
+		final Properties outputs = new Properties();
+		if(Files.exists(outputsFile)) {
+			try (InputStream in = Files.newInputStream(outputsFile)) {
+				outputs.load(in);
+			} catch (IOException e) {
+				ATS.logWarn("Unable to load compiled classes list -> " + e.getMessage());
+			}
+		}
+		return outputs;
+	}
+
+	private void saveOutputs(Properties outputs) {
+		try (OutputStream out = Files.newOutputStream(outputsFile)) {
+			outputs.store(out, null);
+		} catch (IOException e) {
+			ATS.logWarn("Unable to save compiled classes list -> " + e.getMessage());
+		}
+	}
+
+	private static String getRelativePath(Path folder, FileObject file) {
+		if("file".equals(file.toUri().getScheme())) {
+			final Path path = Path.of(file.toUri()).toAbsolutePath().normalize();
+			final Path root = folder.toAbsolutePath().normalize();
+			if(path.startsWith(root)) {
+				return root.relativize(path).toString().replace(File.separatorChar, '/');
+			}
+		}
+		return null;
+	}
+
+	private File getClassFile(String javaRelativePath) {
+		return classesFolder.resolve(javaRelativePath.substring(0, javaRelativePath.length() - JAVA_EXTENSION.length()) + CLASS_EXTENSION).toFile();
+	}
+
+	private static List<Path> listFiles(Path folder, String extension) {
+		if(Files.isDirectory(folder)) {
+			try (Stream<Path> paths = Files.find(folder, 99999, (p, bfa) -> bfa.isRegularFile() && (extension == null || p.getFileName().toString().endsWith(extension)))) {
+				return paths.collect(Collectors.toList());
+			} catch (IOException e) {}
+		}
+		return new ArrayList<Path>();
+	}
+}
@@ -20,17 +20,23 @@ under the License.
 package com.ats.generator;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 public class GeneratorReport {
 
 	private int generatedScriptsCount = -1;
 	private long generationEllapsedTime = -1;
 	
-	private ArrayList<String> errorLogs;
+	private int cacheHitsCount = 0;
+	private int cacheMissesCount = 0;
+	private int deletedScriptsCount = 0;
+	
+	private List<String> errorLogs;
 		
 	public GeneratorReport() {
-		errorLogs = new ArrayList<String>();
+		errorLogs = Collections.synchronizedList(new ArrayList<String>());
 	}
 	
 	public void addError(String message){
@@ -53,4 +59,28 @@ public class GeneratorReport {
 	public long getGenerationEllapsedTime() {
 		return generationEllapsedTime;
 	}
+
+	public int getCacheHitsCount() {
+		return cacheHitsCount;
+	}
+
+	public void setCacheHitsCount(int value) {
+		this.cacheHitsCount = value;
+	}
+
+	public int getCacheMissesCount() {
+		return cacheMissesCount;
+	}
+
+	public void setCacheMissesCount(int value) {
+		this.cacheMissesCount = value;
+	}
+
+	public int getDeletedScriptsCount() {
+		return deletedScriptsCount;
+	}
+
+	public void setDeletedScriptsCount(int value) {
+		this.deletedScriptsCount = value;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,332 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.generator;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.ahocorasick.trie.Trie;
+
+import com.ats.generator.parsers.Lexer;
+import com.ats.script.Project;
+import com.ats.script.ScriptLoader;
+import com.ats.script.actions.Action;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+/**
+ * Persistent reverse index of a project : called subscripts and actions keywords of every ATS script,
+ * and scripts names referenced in CSV or JSON data files of the assets folder.
+ * Only scripts and data files modified since the last update are parsed again.
+ */
+public class ProjectIndex {
+
+	public static final String INDEX_FILE_NAME = ".atsIndex.json";
+
+	//a script name is also a java class qualified name
+	private static final Pattern SCRIPT_NAME_PATTERN = Pattern.compile("[\\p{L}_$][\\p{L}\\p{N}_$]*(?:\\.[\\p{L}_$][\\p{L}\\p{N}_$]*)*");
+	private static final Pattern JSON_QUOTED_PATTERN = Pattern.compile("\"([^\"]*)\"");
+
+	public String generatorVersion;
+	public Map<String, ScriptEntry> scripts = new ConcurrentHashMap<String, ScriptEntry>();
+	public Map<String, AssetEntry> assets = new ConcurrentHashMap<String, AssetEntry>();
+
+	private transient Project project;
+	private transient File indexFile;
+
+	private transient Map<String, Set<String>> callers = new HashMap<String, Set<String>>();
+	private transient Map<String, Set<String>> assetsReferences = new HashMap<String, Set<String>>();
+
+	public static ProjectIndex load(Project project) {
+
+		final File file = project.getTargetFolderPath().resolve(INDEX_FILE_NAME).toFile();
+
+		ProjectIndex index = null;
+		if(file.exists()) {
+			try {
+				final JsonReader reader = new JsonReader(new FileReader(file, StandardCharsets.UTF_8));
+				index = new Gson().fromJson(reader, ProjectIndex.class);
+				reader.close();
+			} catch (IOException | JsonParseException e) {
+				ATS.logWarn("Unable to read project index, it will be created again -> " + e.getMessage());
+			}
+		}
+
+		if(index == null || index.scripts == null || index.assets == null || !ATS.VERSION.equals(index.generatorVersion)) {
+			index = new ProjectIndex();
+		}else {
+			index.scripts = new ConcurrentHashMap<String, ScriptEntry>(index.scripts);
+			index.assets = new ConcurrentHashMap<String, AssetEntry>(index.assets);
+		}
+
+		index.generatorVersion = ATS.VERSION;
+		index.project = project;
+		index.indexFile = file;
+		index.buildReferences();
+
+		return index;
+	}
+
+	public ProjectIndex() {}
+
+	//-------------------------------------------------------------------------------------------------
+	//  update
+	//-------------------------------------------------------------------------------------------------
+
+	/**
+	 * Parse scripts and data files added or modified since the last update, remove deleted files
+	 * and save the index if something has changed
+	 *
+	 * @return the number of files parsed or removed from the index
+	 */
+	public int update(Lexer lexer) {
+
+		final Path atsFolder = project.getAtsSourceFolder();
+		final List<File> atsFiles = project.getAtsScripts();
+
+		final List<File> updatedScripts = atsFiles.stream().filter(f -> isModified(scripts.get(getKey(atsFolder, f)), f)).collect(Collectors.toList());
+		updatedScripts.parallelStream().forEach(f -> indexScript(lexer, getKey(atsFolder, f), f));
+
+		final Set<String> atsKeys = atsFiles.stream().map(f -> getKey(atsFolder, f)).collect(Collectors.toSet());
+		int changes = updatedScripts.size() + removeDeleted(scripts, atsKeys);
+
+		final Path assetsFolder = project.getAssetsFolderPath();
+		final List<File> dataFiles = getDataFiles(assetsFolder);
+
+		final List<File> updatedAssets = dataFiles.stream().filter(f -> isModified(assets.get(getKey(assetsFolder, f)), f)).collect(Collectors.toList());
+		updatedAssets.parallelStream().forEach(f -> indexAsset(getKey(assetsFolder, f), f));
+
+		final Set<String> assetsKeys = dataFiles.stream().map(f -> getKey(assetsFolder, f)).collect(Collectors.toSet());
+		changes += updatedAssets.size() + removeDeleted(assets, assetsKeys);
+
+		if(changes > 0) {
+			buildReferences();
+			save();
+		}
+
+		return changes;
+	}
+
+	private void indexScript(Lexer lexer, String key, File f) {
+		final ScriptLoader sc = lexer.loadScript(f);
+		if(sc != null) {
+
+			final ScriptEntry entry = new ScriptEntry();
+			entry.modified = f.lastModified();
+			entry.size = f.length();
+			entry.qualifiedName = sc.getHeader().getQualifiedName();
+			entry.subscripts = sc.getCalledSubscripts();
+
+			final Set<String> keywords = new TreeSet<String>();
+			for(Action action : sc.getActions()) {
+				keywords.addAll(action.getKeywords());
+			}
+			entry.keywords = new ArrayList<String>(keywords);
+
+			scripts.put(key, entry);
+		}
+	}
+
+	private void indexAsset(String key, File f) {
+
+		final Set<String> names = new TreeSet<String>();
+
+		try {
+			if(f.getName().toLowerCase().endsWith(".csv")) {
+				try (CSVReader csvReader = new CSVReader(Files.newBufferedReader(f.toPath(), StandardCharsets.UTF_8))) {
+					String[] values;
+					while ((values = csvReader.readNext()) != null) {
+						for(String value : values) {
+							addScriptName(names, value);
+						}
+					}
+				}
+			}else {
+				try (Scanner scanner = new Scanner(f, StandardCharsets.UTF_8)) {
+					while (scanner.hasNext()) {
+						final String token = scanner.next();
+						addScriptName(names, token);
+
+						final Matcher m = JSON_QUOTED_PATTERN.matcher(token);
+						while(m.find()) {
+							addScriptName(names, m.group(1));
+						}
+					}
+				}
+			}
+
+			final AssetEntry entry = new AssetEntry();
+			entry.modified = f.lastModified();
+			entry.size = f.length();
+			entry.path = f.getCanonicalPath();
+			entry.names = new ArrayList<String>(names);
+
+			assets.put(key, entry);
+
+		} catch (IOException | CsvValidationException e) {
+			ATS.logWarn("Unable to index data file -> " + f.getAbsolutePath());
+		}
+	}
+
+	private static void addScriptName(Set<String> names, String value) {
+		if(value != null && SCRIPT_NAME_PATTERN.matcher(value).matches()) {
+			names.add(value);
+		}
+	}
+
+	private static boolean isModified(IndexEntry entry, File f) {
+		return entry == null || entry.modified != f.lastModified() || entry.size != f.length();
+	}
+
+	private static int removeDeleted(Map<String, ? extends IndexEntry> entries, Set<String> currentKeys) {
+		final List<String> deleted = entries.keySet().stream().filter(k -> !currentKeys.contains(k)).collect(Collectors.toList());
+		deleted.forEach(entries::remove);
+		return deleted.size();
+	}
+
+	private void buildReferences() {
+
+		final Map<String, Set<String>> scriptCallers = new HashMap<String, Set<String>>();
+		for(ScriptEntry entry : scripts.values()) {
+			if(entry.subscripts != null) {
+				for(String sub : entry.subscripts) {
+					scriptCallers.computeIfAbsent(sub, k -> new TreeSet<String>()).add(entry.qualifiedName);
+				}
+			}
+		}
+
+		final Map<String, Set<String>> references = new HashMap<String, Set<String>>();
+		for(AssetEntry entry : assets.values()) {
+			if(entry.names != null) {
+				for(String name : entry.names) {
+					references.computeIfAbsent(name, k -> new TreeSet<String>()).add(entry.path);
+				}
+			}
+		}
+
+		callers = scriptCallers;
+		assetsReferences = references;
+	}
+
+	public void save() {
+		try {
+			indexFile.getParentFile().mkdirs();
+			final FileWriter writer = new FileWriter(indexFile, StandardCharsets.UTF_8);
+			new Gson().toJson(this, writer);
+			writer.close();
+		} catch (IOException e) {
+			ATS.logWarn("Unable to save project index -> " + e.getMessage());
+		}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  lookups
+	//-------------------------------------------------------------------------------------------------
+
+	/**
+	 * @return qualified names of scripts calling the subscript followed by the paths of data files referencing it
+	 */
+	public ArrayList<String> findSubscriptRef(String calledScript) {
+		final ArrayList<String> result = new ArrayList<String>();
+		result.addAll(callers.getOrDefault(calledScript, Set.of()));
+		result.addAll(assetsReferences.getOrDefault(calledScript, Set.of()));
+		return result;
+	}
+
+	/**
+	 * @return qualified names of scripts with at least one action keyword matching the trie
+	 */
+	public ArrayList<String> findKeywords(Trie trie) {
+		final Set<String> result = new TreeSet<String>();
+		for(ScriptEntry entry : scripts.values()) {
+			if(entry.keywords != null) {
+				for(String keyword : entry.keywords) {
+					if(trie.containsMatch(keyword)) {
+						result.add(entry.qualifiedName);
+						break;
+					}
+				}
+			}
+		}
+		return new ArrayList<String>(result);
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  utils
+	//-------------------------------------------------------------------------------------------------
+
+	private static String getKey(Path folder, File f) {
+		return folder.toAbsolutePath().relativize(f.toPath().toAbsolutePath()).toString().replace(File.separatorChar, '/');
+	}
+
+	private static List<File> getDataFiles(Path assetsFolder) {
+		if(Files.isDirectory(assetsFolder)) {
+			try (Stream<Path> paths = Files.find(assetsFolder, 99999, (p, bfa) -> bfa.isRegularFile())) {
+				return paths.map(Path::toFile).filter(ProjectIndex::isDataFile).sorted().collect(Collectors.toList());
+			} catch (IOException e) {}
+		}
+		return new ArrayList<File>();
+	}
+
+	private static boolean isDataFile(File f) {
+		final String name = f.getName().toLowerCase();
+		return name.endsWith(".csv") || name.endsWith(".json");
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  serialized data
+	//-------------------------------------------------------------------------------------------------
+
+	public static class IndexEntry {
+		public long modified;
+		public long size;
+	}
+
+	public static class ScriptEntry extends IndexEntry {
+		public String qualifiedName;
+		public List<String> subscripts;
+		public List<String> keywords;
+	}
+
+	public static class AssetEntry extends IndexEntry {
+		public String path;
+		public List<String> names;
+	}
+}
@@ -25,6 +25,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -85,7 +86,7 @@ public class Lexer {
 
 	private Charset charset = StandardCharsets.UTF_8;
 
-	public int countScript = 0;
+	private final AtomicInteger countScript = new AtomicInteger(0);
 
 	private boolean isGenerator = true;
 
@@ -114,7 +115,11 @@ public class Lexer {
 	}
 
 	public void addScript(){
-		countScript++;
+		countScript.incrementAndGet();
+	}
+
+	public int getCountScript() {
+		return countScript.get();
 	}
 
 	public ScriptLoader loadScript(File f, ScriptProcessedNotifier notifier){
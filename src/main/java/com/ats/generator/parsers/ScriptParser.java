@@ -62,7 +62,7 @@ public class ScriptParser {
 	public static final int SCRIPT_ID_JIRA_LENGTH = SCRIPT_ID_JIRA.length();
 	public static final int SCRIPT_ID_SQUASH_LENGTH = SCRIPT_ID_SQUASH.length();
 
-	private static final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd 'at' HH:mm:ss");
+	private static final ThreadLocal<DateFormat> dateFormat = ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd 'at' HH:mm:ss"));
 
 	private Lexer lexer;
 
@@ -119,7 +119,7 @@ public class ScriptParser {
 
 			final String dateString = getHeaderData(data);
 			try {
-				header.setCreatedAt(dateFormat.parse(dateString));
+				header.setCreatedAt(dateFormat.get().parse(dateString));
 			}catch (Exception e) {}
 
 		}else if(data.regionMatches(true, 0, SCRIPT_AUTHOR_LABEL, 0, SCRIPT_AUTHOR_LABEL_LENGTH)){
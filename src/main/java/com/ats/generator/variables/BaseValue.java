@@ -21,7 +21,7 @@ package com.ats.generator.variables;
 
 import org.apache.commons.text.StringEscapeUtils;
 
-import java.util.regex.Matcher;
+import java.util.regex.MatchResult;
 
 public class BaseValue {
 
@@ -31,7 +31,7 @@ public class BaseValue {
 	private String replace;
 	protected String defaultValue;
 	
-	public BaseValue(Matcher m) {
+	public BaseValue(MatchResult m) {
 		this(StringEscapeUtils.escapeJava(m.group(1).trim()), m.group(2).trim());
 		if(m.group(0) != null) {
 			replace = StringEscapeUtils.escapeJava(m.group(0));
@@ -36,26 +36,20 @@ import java.util.regex.Pattern;
 
 public class CalculatedValue{
 
-	private static final Pattern TODAY_PATTERN = Pattern.compile("\\$today", Pattern.CASE_INSENSITIVE);
-	private static final Pattern NOW_PATTERN = Pattern.compile("\\$now", Pattern.CASE_INSENSITIVE);
-	private static final Pattern UUID_PATTERN = Pattern.compile("\\$uuid", Pattern.CASE_INSENSITIVE);
-	private static final Pattern PGAV_PATTERN = Pattern.compile("\\$pgav", Pattern.CASE_INSENSITIVE);
-	private static final Pattern ITERATION_PATTERN = Pattern.compile("\\$iteration", Pattern.CASE_INSENSITIVE);
-
 	public static final Pattern KEY_REGEXP = Pattern.compile("\\$key\\s?\\((\\w+)\\-?([^\\)]*)?\\)");
 
 	public static final Pattern ASSET_PATTERN = Pattern.compile("\\$asset\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
 	public static final Pattern IMAGE_PATTERN = Pattern.compile("\\$image\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
 
-	private static final Pattern PASSWORD_DATA = Pattern.compile("\\$pass\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
+	static final Pattern PASSWORD_DATA = Pattern.compile("\\$pass\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
 
-	private static final Pattern SYS_PATTERN = Pattern.compile("\\$sys\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
+	static final Pattern SYS_PATTERN = Pattern.compile("\\$sys\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
 	public static final Pattern PARAMETER_PATTERN = Pattern.compile("\\$param\\s*?\\((\\w+),?(\\s*?[^\\)]*)?\\)", Pattern.CASE_INSENSITIVE);
 	public static final Pattern ENV_PATTERN = Pattern.compile("\\$env\\s*?\\(([\\w.]+),?(\\s*?[^\\)]*)?\\)", Pattern.CASE_INSENSITIVE);
-	private static final Pattern RND_PATTERN = Pattern.compile("\\$rnd(?:string)?\\s*?\\((\\d+),?(\\w{0,3}?[^\\)]*)?\\)", Pattern.CASE_INSENSITIVE);
+	static final Pattern RND_PATTERN = Pattern.compile("\\$rnd(?:string)?\\s*?\\((\\d+),?(\\w{0,3}?[^\\)]*)?\\)", Pattern.CASE_INSENSITIVE);
 
-	private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$var\\s*?\\(([^\\)\\.]*)\\)", Pattern.CASE_INSENSITIVE);
-	private static final Pattern GLOBAL_VARIABLE_PATTERN = Pattern.compile("\\$var\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
+	static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$var\\s*?\\(([^\\)\\.]*)\\)", Pattern.CASE_INSENSITIVE);
+	static final Pattern GLOBAL_VARIABLE_PATTERN = Pattern.compile("\\$var\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
 
 	//-----------------------------------------------------------------------------------------------------
 	// variable and parameter management
@@ -109,110 +103,98 @@ public class CalculatedValue{
 
 	private String initCalculated(String dataValue) {
 
-		rawJavaCode = StringEscapeUtils.escapeJava(dataValue);
-
-		Matcher mv = PGAV_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			rawJavaCode = rawJavaCode.replace(mv.group(0), "\", " + ActionTestScript.JAVA_GAV_FUNCTION_NAME + "(), \"");
-		}
-
-		mv = ITERATION_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			rawJavaCode = rawJavaCode.replace(mv.group(0), "\", " + ActionTestScript.JAVA_ITERATION_FUNCTION_NAME + "(), \"");
-		}
-		
-		mv = PARAMETER_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			final ParameterValue sp = new ParameterValue(mv);
-			
-			dataValue = dataValue.replace(sp.getReplace(), script.getParameterValue(sp.getValue(), sp.getDefaultValue()));
-			rawJavaCode = rawJavaCode.replace(sp.getReplace(), "\", " + ActionTestScript.JAVA_PARAM_FUNCTION_NAME + sp.getCode() + ", \"");
-		}
-
-		mv = IMAGE_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			rawJavaCode = rawJavaCode.replace(mv.group(0), Project.getAssetsImageJavaCode(mv.group(1)));
-		}
-
-		mv = ASSET_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			rawJavaCode = rawJavaCode.replace(mv.group(0), Project.getAssetsJavaCode(mv.group(1)));
-		}
-
-		mv = PASSWORD_DATA.matcher(dataValue);
-		while (mv.find()) {
-			crypted = true;
-			rawJavaCode = rawJavaCode.replace(mv.group(0), "\", new " + Password.class.getCanonicalName() + "(this, \"" + mv.group(1) + "\"), \"");
-		}
-
-		mv = VARIABLE_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			final String replace = mv.group(0);
-			final String variableName = mv.group(1);
-			
-			dataValue = dataValue.replace(replace, script.getVariableValue(variableName));
-			rawJavaCode = rawJavaCode.replace(replace, "\", " + variableName + ", \"");
-		}
-
-		mv = GLOBAL_VARIABLE_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			final String replace = mv.group(0);
-			final String variableName = mv.group(1);
-
-			dataValue = dataValue.replace(replace, script.getGlobalVariableValue(variableName));
-			rawJavaCode = rawJavaCode.replace(replace, "\", " + ActionTestScript.JAVA_GLOBAL_VAR_FUNCTION_NAME + "(\"" + variableName + "\"), \"");
-		}
-
-		mv = SYS_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			final String replace = mv.group(0);
-			final String value = StringEscapeUtils.escapeJava(mv.group(1).trim());
-			
-			dataValue = dataValue.replace(replace, script.getSystemValue(value));
-			rawJavaCode = rawJavaCode.replace(replace, "\"," + ActionTestScript.JAVA_SYSTEM_FUNCTION_NAME + "(\"" + value + "\"), \"");
-		}
-
-		mv = ENV_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			final EnvironmentValue sp = new EnvironmentValue(mv);
-			
-			dataValue = dataValue.replace(sp.getReplace(), script.getEnvironmentValue(sp.getValue(), sp.getDefaultValue()));
-			rawJavaCode = rawJavaCode.replace(sp.getReplace(), "\", " + ActionTestScript.JAVA_ENV_FUNCTION_NAME + sp.getCode() + ", \"");
-		}
-
-		mv = TODAY_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			final String replace = mv.group(0);
-			
-			dataValue = dataValue.replace(replace, DateTransformer.getTodayValue());
-			rawJavaCode = rawJavaCode.replace(replace, "\", " + ActionTestScript.JAVA_TODAY_FUNCTION_NAME + "(), \"");
-		}
-
-		mv = NOW_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			final String replace = mv.group(0);
-			
-			dataValue = dataValue.replace(replace, TimeTransformer.getNowValue());
-			rawJavaCode = rawJavaCode.replace(replace, "\", " + ActionTestScript.JAVA_NOW_FUNCTION_NAME + "(), \"");
-		}
-
-		mv = UUID_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			final String replace = mv.group(0);
-			
-			dataValue = dataValue.replace(replace, UUID.randomUUID().toString());
-			rawJavaCode = rawJavaCode.replace(replace, "\", " + ActionTestScript.JAVA_UUID_FUNCTION_NAME + "(), \"");
+		final StringBuilder calculatedBuilder = new StringBuilder(dataValue.length());
+		final StringBuilder codeBuilder = new StringBuilder(dataValue.length() + 16);
+
+		for(CalculatedValueTokenizer.Token token : CalculatedValueTokenizer.tokenize(dataValue)) {
+
+			switch (token.getType()) {
+
+			case PGAV:
+				calculatedBuilder.append(token.getText());
+				codeBuilder.append("\", ").append(ActionTestScript.JAVA_GAV_FUNCTION_NAME).append("(), \"");
+				break;
+
+			case ITERATION:
+				calculatedBuilder.append(token.getText());
+				codeBuilder.append("\", ").append(ActionTestScript.JAVA_ITERATION_FUNCTION_NAME).append("(), \"");
+				break;
+
+			case PARAMETER:
+				final ParameterValue sp = new ParameterValue(token.getMatch());
+				calculatedBuilder.append(script.getParameterValue(sp.getValue(), sp.getDefaultValue()));
+				codeBuilder.append("\", ").append(ActionTestScript.JAVA_PARAM_FUNCTION_NAME).append(sp.getCode()).append(", \"");
+				break;
+
+			case IMAGE:
+				calculatedBuilder.append(token.getText());
+				codeBuilder.append(Project.getAssetsImageJavaCode(token.getGroup(1)));
+				break;
+
+			case ASSET:
+				calculatedBuilder.append(token.getText());
+				codeBuilder.append(Project.getAssetsJavaCode(token.getGroup(1)));
+				break;
+
+			case PASSWORD:
+				crypted = true;
+				calculatedBuilder.append(token.getText());
+				codeBuilder.append("\", new ").append(Password.class.getCanonicalName()).append("(this, \"").append(token.getGroup(1)).append("\"), \"");
+				break;
+
+			case VARIABLE:
+				calculatedBuilder.append(script.getVariableValue(token.getGroup(1)));
+				codeBuilder.append("\", ").append(token.getGroup(1)).append(", \"");
+				break;
+
+			case GLOBAL_VARIABLE:
+				calculatedBuilder.append(script.getGlobalVariableValue(token.getGroup(1)));
+				codeBuilder.append("\", ").append(ActionTestScript.JAVA_GLOBAL_VAR_FUNCTION_NAME).append("(\"").append(token.getGroup(1)).append("\"), \"");
+				break;
+
+			case SYSTEM:
+				final String sysValue = StringEscapeUtils.escapeJava(token.getGroup(1).trim());
+				calculatedBuilder.append(script.getSystemValue(sysValue));
+				codeBuilder.append("\",").append(ActionTestScript.JAVA_SYSTEM_FUNCTION_NAME).append("(\"").append(sysValue).append("\"), \"");
+				break;
+
+			case ENVIRONMENT:
+				final EnvironmentValue ev = new EnvironmentValue(token.getMatch());
+				calculatedBuilder.append(script.getEnvironmentValue(ev.getValue(), ev.getDefaultValue()));
+				codeBuilder.append("\", ").append(ActionTestScript.JAVA_ENV_FUNCTION_NAME).append(ev.getCode()).append(", \"");
+				break;
+
+			case TODAY:
+				calculatedBuilder.append(DateTransformer.getTodayValue());
+				codeBuilder.append("\", ").append(ActionTestScript.JAVA_TODAY_FUNCTION_NAME).append("(), \"");
+				break;
+
+			case NOW:
+				calculatedBuilder.append(TimeTransformer.getNowValue());
+				codeBuilder.append("\", ").append(ActionTestScript.JAVA_NOW_FUNCTION_NAME).append("(), \"");
+				break;
+
+			case UUID:
+				calculatedBuilder.append(UUID.randomUUID().toString());
+				codeBuilder.append("\", ").append(ActionTestScript.JAVA_UUID_FUNCTION_NAME).append("(), \"");
+				break;
+
+			case RANDOM:
+				final RandomStringValue rds = new RandomStringValue(token.getMatch());
+				calculatedBuilder.append(rds.exec());
+				codeBuilder.append("\", ").append(ActionTestScript.JAVA_RNDSTRING_FUNCTION_NAME).append(rds.getCode()).append(", \"");
+				break;
+
+			default:
+				calculatedBuilder.append(token.getText());
+				codeBuilder.append(StringEscapeUtils.escapeJava(token.getText()));
+				break;
+			}
 		}
 
-		mv = RND_PATTERN.matcher(dataValue);
-		while (mv.find()) {
-			final RandomStringValue rds = new RandomStringValue(mv);
-			
-			dataValue = dataValue.replace(rds.getReplace(), rds.exec());
-			rawJavaCode = rawJavaCode.replace(rds.getReplace(), "\", " + ActionTestScript.JAVA_RNDSTRING_FUNCTION_NAME + rds.getCode() + ", \"");
-		}
+		rawJavaCode = codeBuilder.toString();
 
-		return dataValue;
+		return calculatedBuilder.toString();
 	}
 
 	public boolean isCrypted() {
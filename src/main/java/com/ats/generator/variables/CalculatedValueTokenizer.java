@@ -0,0 +1,221 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.generator.variables;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Split an ATS value into literal text and function segments ($var, $param, $env ...) in a single pass.
+ * Functions patterns are only evaluated at '$' positions, anchored on the current position of the value.
+ */
+public class CalculatedValueTokenizer {
+
+	public enum TokenType {
+		TEXT, PGAV, ITERATION, PARAMETER, IMAGE, ASSET, PASSWORD, VARIABLE, GLOBAL_VARIABLE, SYSTEM, ENVIRONMENT, TODAY, NOW, UUID, RANDOM
+	}
+
+	//-----------------------------------------------------------------------------------------------------
+	// functions prefixes, most specific names first
+	//-----------------------------------------------------------------------------------------------------
+
+	private static final String PGAV = "$pgav";
+	private static final String ITERATION = "$iteration";
+	private static final String PARAMETER = "$param";
+	private static final String IMAGE = "$image";
+	private static final String ASSET = "$asset";
+	private static final String PASSWORD = "$pass";
+	private static final String VARIABLE = "$var";
+	private static final String SYSTEM = "$sys";
+	private static final String ENVIRONMENT = "$env";
+	private static final String TODAY = "$today";
+	private static final String NOW = "$now";
+	private static final String UUID = "$uuid";
+	private static final String RANDOM = "$rnd";
+
+	private final String value;
+	private final int length;
+
+	private final Matcher[] matchers = new Matcher[TokenType.values().length];
+	private final ArrayList<Token> tokens = new ArrayList<Token>();
+
+	public static List<Token> tokenize(String value) {
+		return new CalculatedValueTokenizer(value).scan();
+	}
+
+	private CalculatedValueTokenizer(String value) {
+		this.value = value;
+		this.length = value.length();
+	}
+
+	private List<Token> scan() {
+
+		int textStart = 0;
+		int index = value.indexOf('$');
+
+		while(index > -1) {
+
+			final Token token = readFunction(index);
+			if(token != null) {
+				if(index > textStart) {
+					tokens.add(new Token(TokenType.TEXT, value.substring(textStart, index), null));
+				}
+				tokens.add(token);
+
+				textStart = index + token.getText().length();
+				index = value.indexOf('$', textStart);
+			}else {
+				index = value.indexOf('$', index + 1);
+			}
+		}
+
+		if(textStart < length) {
+			tokens.add(new Token(TokenType.TEXT, value.substring(textStart), null));
+		}
+
+		return tokens;
+	}
+
+	private Token readFunction(int index) {
+
+		if(startsWith(index, PARAMETER)) {
+			return match(index, TokenType.PARAMETER, CalculatedValue.PARAMETER_PATTERN);
+		}
+
+		if(startsWith(index, PASSWORD)) {
+			return match(index, TokenType.PASSWORD, CalculatedValue.PASSWORD_DATA);
+		}
+
+		if(startsWith(index, PGAV)) {
+			return text(index, TokenType.PGAV, PGAV);
+		}
+
+		if(startsWith(index, VARIABLE)) {
+			final Token token = match(index, TokenType.VARIABLE, CalculatedValue.VARIABLE_PATTERN);
+			if(token != null) {
+				return token;
+			}
+			return match(index, TokenType.GLOBAL_VARIABLE, CalculatedValue.GLOBAL_VARIABLE_PATTERN);
+		}
+
+		if(startsWith(index, ENVIRONMENT)) {
+			return match(index, TokenType.ENVIRONMENT, CalculatedValue.ENV_PATTERN);
+		}
+
+		if(startsWith(index, RANDOM)) {
+			return match(index, TokenType.RANDOM, CalculatedValue.RND_PATTERN);
+		}
+
+		if(startsWith(index, ASSET)) {
+			return match(index, TokenType.ASSET, CalculatedValue.ASSET_PATTERN);
+		}
+
+		if(startsWith(index, IMAGE)) {
+			return match(index, TokenType.IMAGE, CalculatedValue.IMAGE_PATTERN);
+		}
+
+		if(startsWith(index, SYSTEM)) {
+			return match(index, TokenType.SYSTEM, CalculatedValue.SYS_PATTERN);
+		}
+
+		if(startsWith(index, ITERATION)) {
+			return text(index, TokenType.ITERATION, ITERATION);
+		}
+
+		if(startsWith(index, TODAY)) {
+			return text(index, TokenType.TODAY, TODAY);
+		}
+
+		if(startsWith(index, NOW)) {
+			return text(index, TokenType.NOW, NOW);
+		}
+
+		if(startsWith(index, UUID)) {
+			return text(index, TokenType.UUID, UUID);
+		}
+
+		return null;
+	}
+
+	private boolean startsWith(int index, String function) {
+		return value.regionMatches(true, index, function, 0, function.length());
+	}
+
+	private Token text(int index, TokenType type, String function) {
+		return new Token(type, value.substring(index, index + function.length()), null);
+	}
+
+	private Token match(int index, TokenType type, Pattern pattern) {
+
+		Matcher matcher = matchers[type.ordinal()];
+		if(matcher == null) {
+			matcher = pattern.matcher(value);
+			matchers[type.ordinal()] = matcher;
+		}
+
+		matcher.region(index, length);
+		if(matcher.lookingAt()) {
+			return new Token(type, matcher.group(), matcher.toMatchResult());
+		}
+		return null;
+	}
+
+	//-----------------------------------------------------------------------------------------------------
+	// token
+	//-----------------------------------------------------------------------------------------------------
+
+	public static class Token {
+
+		private final TokenType type;
+		private final String text;
+		private final MatchResult match;
+
+		private Token(TokenType type, String text, MatchResult match) {
+			this.type = type;
+			this.text = text;
+			this.match = match;
+		}
+
+		public TokenType getType() {
+			return type;
+		}
+
+		/**
+		 * @return original text of the token in the ATS value
+		 */
+		public String getText() {
+			return text;
+		}
+
+		/**
+		 * @return pattern groups of a function token, null for text and functions without arguments
+		 */
+		public MatchResult getMatch() {
+			return match;
+		}
+
+		public String getGroup(int index) {
+			return match.group(index);
+		}
+	}
+}
@@ -19,11 +19,11 @@ under the License.
 
 package com.ats.generator.variables;
 
-import java.util.regex.Matcher;
+import java.util.regex.MatchResult;
 
 public class EnvironmentValue extends BaseValue {
 	
-	public EnvironmentValue(Matcher m) {
+	public EnvironmentValue(MatchResult m) {
 		super(m);
 		codeValue = "\"" + codeValue + "\"";
 	}
@@ -1,10 +1,10 @@
 package com.ats.generator.variables;
 
-import java.util.regex.Matcher;
+import java.util.regex.MatchResult;
 
 public class ParameterValue extends BaseValue {
 		
-	public ParameterValue(Matcher m) {
+	public ParameterValue(MatchResult m) {
 		super(m);
 		
 		try {
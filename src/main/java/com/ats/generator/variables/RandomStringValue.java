@@ -20,7 +20,7 @@ under the License.
 package com.ats.generator.variables;
 
 import java.util.Random;
-import java.util.regex.Matcher;
+import java.util.regex.MatchResult;
 
 import com.ats.tools.Utils;
 
@@ -30,7 +30,7 @@ public class RandomStringValue extends BaseValue {
 	private static final String LOW_KEY = "low";
 	private static final String NUM_KEY = "num";
 	
-	public RandomStringValue(Matcher m) {
+	public RandomStringValue(MatchResult m) {
 		super(m);
 	}
 
@@ -19,45 +19,91 @@ under the License.
 
 package com.ats.graphic;
 
-import com.ats.driver.AtsManager;
-
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.stream.IntStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import com.ats.driver.AtsManager;
+import com.ats.graphic.TemplateMatchingEngine.GrayImage;
+import com.ats.tools.Utils;
 
 public class ImageTemplateMatchingSimple {
 
-	private final static double[] GRAYSCALE = new double[] {0.2126, 0.7152, 0.0722};
 	private final static double PERCENT_DEFAULT = 0.3;
 	private final static int MAX_PIXELS_DIFF = 10;
+
+	private final static int MAX_CACHED_TEMPLATES = 64;
+	private final static Map<String, GrayImage> templates = new LinkedHashMap<String, GrayImage>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, GrayImage> eldest) {
+			return size() > MAX_CACHED_TEMPLATES;
+		}
+	};
 	
 	private int targetWidth = 100;
 	private int targetHeight = 100;
 
-	private int[][] target;
+	private GrayImage target;
 	private int maxPixelsError = 0;
 	
 	public ImageTemplateMatchingSimple(int[][] image) {
+		this(GrayImage.getGrayImage(image));
+	}
+
+	public ImageTemplateMatchingSimple(final BufferedImage image) {
+		this(GrayImage.getGrayImage(image));
+	}
+
+	public ImageTemplateMatchingSimple(final byte[] image) {
+		this(GrayImage.getGrayImage(getBufferedImage(image)));
+	}
+
+	private ImageTemplateMatchingSimple(GrayImage image) {
 		this.target = image;
 		if(image != null) {
-			this.targetWidth = image.length;
-			this.targetHeight = image[0].length;
+			this.targetWidth = image.getWidth();
+			this.targetHeight = image.getHeight();
 			this.setPercentError(PERCENT_DEFAULT);
 		}
 	}
 
-	public ImageTemplateMatchingSimple(final BufferedImage image) {
-		this(getVector(image));
-	}
+	/**
+	 * Get a template for an image, the decoded grayscale pixels are kept by image source and content hash
+	 * so retries and other searches of the same image do not decode it again, the least recently used templates are removed first
+	 *
+	 * @param source path or url of the image, can be null
+	 * @param image content of the image
+	 */
+	public static ImageTemplateMatchingSimple getTemplate(String source, byte[] image) {
+		if(image == null) {
+			return new ImageTemplateMatchingSimple((GrayImage)null);
+		}
 
-	public ImageTemplateMatchingSimple(final byte[] image) {
-		this(getVector(getBufferedImage(image)));
+		final String key = source + ":" + Utils.getHash(image);
+
+		GrayImage template;
+		synchronized (templates) {
+			template = templates.get(key);
+		}
+
+		if(template == null) {
+			template = GrayImage.getGrayImage(getBufferedImage(image));
+			if(template != null) {
+				synchronized (templates) {
+					templates.put(key, template);
+				}
+			}
+		}
+		return new ImageTemplateMatchingSimple(template);
 	}
 
 	public void setError(int value) {
@@ -77,7 +123,7 @@ public class ImageTemplateMatchingSimple {
 	}
 
 	public ArrayList<Rectangle> findOccurrences(final BufferedImage mainImage) {
-		return getLocations(mainImage, target, targetWidth, targetHeight, maxPixelsError, MAX_PIXELS_DIFF);
+		return getLocations(mainImage, target, maxPixelsError, MAX_PIXELS_DIFF);
 	}
 
 	//------------------------------------------------------------------------------------------------------------------------
@@ -101,91 +147,24 @@ public class ImageTemplateMatchingSimple {
 	public static ArrayList<Rectangle> getLocations(final byte[] mainImageInBytes, final BufferedImage subImage, int maxError, int maxDiff) {
 		final InputStream in = new ByteArrayInputStream(mainImageInBytes);
 		try {
-			return getLocations(ImageIO.read(in), getVector(subImage), subImage.getWidth(), subImage.getHeight(), maxError, maxDiff);
+			return getLocations(ImageIO.read(in), GrayImage.getGrayImage(subImage), maxError, maxDiff);
 		} catch (IOException e) {
 			return new ArrayList<Rectangle>();
 		}
 	}
 
 	public static ArrayList<Rectangle> getLocations(final BufferedImage mainImage, final BufferedImage subImage, int maxError, int maxDiff) {
-		return getLocations(mainImage, getVector(subImage), subImage.getWidth(), subImage.getHeight(), maxError, maxDiff);
+		return getLocations(mainImage, GrayImage.getGrayImage(subImage), maxError, maxDiff);
 	}
 
 	//------------------------------------------------------------------------------------------------------------------------
 	//------------------------------------------------------------------------------------------------------------------------
 
-	private static ArrayList<Rectangle> getLocations(final BufferedImage mainImage, int[][] subVector, int subWidth, int subHeight, int maxError, int maxDiff) {
-
-		final ArrayList<Rectangle> result = new ArrayList<Rectangle>();
-		
-		final int[][] mainVector = getVector(mainImage);
-		final int[][] burnedPixels = new int[mainImage.getWidth()][ mainImage.getHeight()];
-
-		final int maxTryImageRecognition = AtsManager.getInstance().getMaxTryImageRecognition();
-
-		if(mainVector != null && subVector != null) {
-
-			final int xOffsetMax = mainImage.getWidth() - subWidth;
-			final int yOffsetMax = mainImage.getHeight() - subHeight;
-
-			Rectangle found = findSubImage(mainVector, burnedPixels, xOffsetMax, yOffsetMax, subVector, subWidth, subHeight, maxError, maxDiff);
-			while(found != null && result.size() < maxTryImageRecognition) {
-				result.add(found);
-				found = findSubImage(mainVector, burnedPixels, xOffsetMax, yOffsetMax, subVector, subWidth, subHeight, maxError, maxDiff);
-			}
-		}
-
-		return result;
-	}
-
-	private static int[][] getVector(BufferedImage img) {
-		if(img != null) {
-			final int[][] data = new int[img.getWidth()][img.getHeight()];
-			IntStream.range(0, data.length).parallel().forEach(x -> Arrays.parallelSetAll(data[x], y -> pixelGrayed(img.getRGB(x, y))));
-			return data;
-		}
-		return null;
-	}
-
-	private static Rectangle findSubImage(int[][] mainVector, int[][] burned, int xOffsetMax, int yOffsetMax, int[][] subImage, int subWidth, int subHeight, int maxError, int maxDiff) {
-		for (int x = 0; x < xOffsetMax; x++){
-			for (int y = 0; y < yOffsetMax; y++){
-				if(burned[x][y] == 0) {
-					if (subImageIsAtOffset(subImage, mainVector, x, y, subWidth, subHeight, maxError, maxDiff)) {
-
-						final int x0 = x;
-						final int y0 = y;
-						final int w0 = x0 + subWidth;
-						final int h0 = y0 + subHeight;
-						
-						IntStream.range(x0, w0).parallel().forEach(x1 -> IntStream.range(y0, h0).parallel().forEach(y1 -> burned[x1][y1] = 1));
-						
-						return new Rectangle(x, y, subWidth, subHeight);
-					}
-				}
-			}
-		}
-
-		return null;
-	}
-
-	private static boolean subImageIsAtOffset(final int[][] subImage, final int[][] image, final int xOffset, final int yOffset, final int width, final int height, int maxError, int maxDiff) {
-
-		for (int x = 0; x < width; x++){
-			for (int y = 0; y < height; y++){
-				if (Math.abs(subImage[x][y] - image[xOffset + x][yOffset + y]) > maxDiff) {
-					if(maxError <= 0) {
-						return false;
-					}
-					maxError--;
-				}
-			}
+	private static ArrayList<Rectangle> getLocations(final BufferedImage mainImage, GrayImage subImage, int maxError, int maxDiff) {
+		if(mainImage == null) {
+			return new ArrayList<Rectangle>();
 		}
-		return true;
-	}
-
-	private static int pixelGrayed(int rgb) {
-		return (int) (GRAYSCALE[0]*((rgb >> 16)& 0xff) + GRAYSCALE[1]*((rgb >>  8)& 0xff) + GRAYSCALE[2]*(rgb& 0xff));
+		return TemplateMatchingEngine.findOccurrences(GrayImage.getGrayImage(mainImage), subImage, maxError, maxDiff, AtsManager.getInstance().getMaxTryImageRecognition());
 	}
 
 	/*private static int pixelDiff(int rgb1, int rgb2) {
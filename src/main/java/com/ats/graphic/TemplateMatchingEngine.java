@@ -0,0 +1,335 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.graphic;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Find all occurrences of a template image in a main image in a single pass.
+ * Images are converted to flat grayscale arrays, positions are first filtered with sums of blocks of pixels
+ * read from the integral image of the main image, remaining positions are checked pixel by pixel in parallel bands of rows.
+ * Results are the same as the previous scan : a position matches if at most maxError pixels differ by more than maxDiff,
+ * positions are accepted in columns order and a found occurrence hides the positions inside its area.
+ */
+public class TemplateMatchingEngine {
+
+	private final static double[] GRAYSCALE = new double[] {0.2126, 0.7152, 0.0722};
+
+	private final static int BLOCKS = 4;
+	private final static int BAND_HEIGHT = 16;
+
+	public static ArrayList<Rectangle> findOccurrences(GrayImage main, GrayImage sub, int maxError, int maxDiff, int maxCount) {
+
+		final ArrayList<Rectangle> result = new ArrayList<Rectangle>();
+		if(main == null || sub == null || maxCount <= 0) {
+			return result;
+		}
+
+		//same positions as the previous scan, last column and last row are not checked
+		final int xOffsetMax = main.width - sub.width;
+		final int yOffsetMax = main.height - sub.height;
+		if(xOffsetMax <= 0 || yOffsetMax <= 0) {
+			return result;
+		}
+
+		final Matcher matcher = new Matcher(main, sub, maxError, maxDiff);
+
+		final int bands = (yOffsetMax + BAND_HEIGHT - 1) / BAND_HEIGHT;
+		final int[][] found = new int[bands][];
+
+		IntStream.range(0, bands).parallel().forEach(b -> found[b] = matcher.scan(b * BAND_HEIGHT, Math.min(yOffsetMax, (b + 1) * BAND_HEIGHT), xOffsetMax));
+
+		int count = 0;
+		for(int[] band : found) {
+			count += band.length;
+		}
+
+		final int[] positions = new int[count];
+		count = 0;
+		for(int[] band : found) {
+			System.arraycopy(band, 0, positions, count, band.length);
+			count += band.length;
+		}
+
+		//positions are sorted in the order of the previous scan : x first, then y
+		for(int i=0; i<positions.length; i++) {
+			final int p = positions[i];
+			positions[i] = (p % main.width) * yOffsetMax + p / main.width;
+		}
+		Arrays.sort(positions);
+
+		final boolean[] burned = new boolean[xOffsetMax * yOffsetMax];
+		for(int p : positions) {
+			if(!burned[p]) {
+
+				final int x = p / yOffsetMax;
+				final int y = p % yOffsetMax;
+
+				result.add(new Rectangle(x, y, sub.width, sub.height));
+				if(result.size() >= maxCount) {
+					break;
+				}
+
+				final int xEnd = Math.min(xOffsetMax, x + sub.width);
+				final int yEnd = Math.min(yOffsetMax, y + sub.height);
+				for(int bx=x; bx<xEnd; bx++) {
+					Arrays.fill(burned, bx * yOffsetMax + y, bx * yOffsetMax + yEnd, true);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	//------------------------------------------------------------------------------------------------------------------------
+	//------------------------------------------------------------------------------------------------------------------------
+
+	private static class Matcher {
+
+		private final int[] main;
+		private final int mainWidth;
+		private final long[] integral;
+
+		private final int[] subPixels;
+		private final int[] subOffsets;
+
+		private final int[] blocksX;
+		private final int[] blocksY;
+		private final long[] blocksSum;
+
+		private final int maxError;
+		private final int maxDiff;
+		private final long maxSumDiff;
+
+		private Matcher(GrayImage mainImage, GrayImage subImage, int maxError, int maxDiff) {
+
+			this.main = mainImage.pixels;
+			this.mainWidth = mainImage.width;
+			this.integral = mainImage.getIntegral();
+
+			final int subWidth = subImage.width;
+			final int subHeight = subImage.height;
+
+			//pixels far from the mean value of the template are checked first, a wrong position is rejected after a few pixels
+			final int pixels = subWidth * subHeight;
+			final long mean = IntStream.of(subImage.pixels).asLongStream().sum() / pixels;
+			final Integer[] order = new Integer[pixels];
+			Arrays.setAll(order, i -> i);
+			Arrays.sort(order, (a, b) -> Long.compare(Math.abs(subImage.pixels[b] - mean), Math.abs(subImage.pixels[a] - mean)));
+
+			this.subPixels = new int[pixels];
+			this.subOffsets = new int[pixels];
+			for(int i=0; i<pixels; i++) {
+				subPixels[i] = subImage.pixels[order[i]];
+				subOffsets[i] = (order[i] / subWidth) * mainWidth + order[i] % subWidth;
+			}
+
+			this.maxError = Math.max(0, maxError);
+			this.maxDiff = maxDiff;
+
+			this.blocksX = getBlocks(subWidth);
+			this.blocksY = getBlocks(subHeight);
+			this.blocksSum = new long[(blocksX.length - 1) * (blocksY.length - 1)];
+
+			final long[] subIntegral = subImage.getIntegral();
+			int i = 0;
+			for(int by=0; by<blocksY.length - 1; by++) {
+				for(int bx=0; bx<blocksX.length - 1; bx++) {
+					blocksSum[i++] = getSum(subIntegral, subWidth + 1, blocksX[bx], blocksY[by], blocksX[bx+1], blocksY[by+1]);
+				}
+			}
+
+			//a pixel within the tolerance adds at most maxDiff to the sum of absolute differences, other pixels add at most 255
+			final int pixelDiff = Math.max(0, Math.min(255, maxDiff));
+			this.maxSumDiff = (long)pixels * pixelDiff + (long)Math.min(this.maxError, pixels) * (255 - pixelDiff);
+		}
+
+		private static int[] getBlocks(int size) {
+			final int count = Math.min(BLOCKS, size);
+			final int[] blocks = new int[count + 1];
+			for(int i=0; i<=count; i++) {
+				blocks[i] = i * size / count;
+			}
+			return blocks;
+		}
+
+		private static long getSum(long[] integral, int stride, int x0, int y0, int x1, int y1) {
+			return integral[y1 * stride + x1] - integral[y0 * stride + x1] - integral[y1 * stride + x0] + integral[y0 * stride + x0];
+		}
+
+		private int[] scan(int yStart, int yEnd, int xOffsetMax) {
+			int[] found = new int[8];
+			int count = 0;
+			for(int y=yStart; y<yEnd; y++) {
+				for(int x=0; x<xOffsetMax; x++) {
+					if(isCandidate(x, y) && isMatching(x, y)) {
+						if(count == found.length) {
+							found = Arrays.copyOf(found, count * 2);
+						}
+						found[count++] = y * mainWidth + x;
+					}
+				}
+			}
+			return Arrays.copyOf(found, count);
+		}
+
+		private boolean isCandidate(int x, int y) {
+			final int stride = mainWidth + 1;
+			long diff = 0;
+			int i = 0;
+			for(int by=0; by<blocksY.length - 1; by++) {
+				for(int bx=0; bx<blocksX.length - 1; bx++) {
+					diff += Math.abs(getSum(integral, stride, x + blocksX[bx], y + blocksY[by], x + blocksX[bx+1], y + blocksY[by+1]) - blocksSum[i++]);
+					if(diff > maxSumDiff) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		private boolean isMatching(int x, int y) {
+			final int position = y * mainWidth + x;
+			int errors = maxError;
+			for(int i=0; i<subPixels.length; i++) {
+				if(Math.abs(subPixels[i] - main[position + subOffsets[i]]) > maxDiff) {
+					if(errors <= 0) {
+						return false;
+					}
+					errors--;
+				}
+			}
+			return true;
+		}
+	}
+
+	//------------------------------------------------------------------------------------------------------------------------
+	//------------------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Grayscale pixels of an image stored row by row in a single array
+	 */
+	public static class GrayImage {
+
+		private final int width;
+		private final int height;
+		private final int[] pixels;
+
+		private long[] integral;
+
+		public GrayImage(int width, int height, int[] pixels) {
+			this.width = width;
+			this.height = height;
+			this.pixels = pixels;
+		}
+
+		public static GrayImage getGrayImage(BufferedImage image) {
+			if(image == null) {
+				return null;
+			}
+
+			final int width = image.getWidth();
+			final int height = image.getHeight();
+			final int[] pixels = new int[width * height];
+
+			final Raster raster = image.getRaster();
+			final boolean direct = raster.getParent() == null && raster.getMinX() == 0 && raster.getMinY() == 0;
+
+			if(direct && (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB)) {
+				final int[] data = ((DataBufferInt)raster.getDataBuffer()).getData();
+				IntStream.range(0, height).parallel().forEach(y -> {
+					for(int i=y*width, end=i+width; i<end; i++) {
+						pixels[i] = pixelGrayed((data[i] >> 16) & 0xff, (data[i] >> 8) & 0xff, data[i] & 0xff);
+					}
+				});
+			}else if(direct && (image.getType() == BufferedImage.TYPE_3BYTE_BGR || image.getType() == BufferedImage.TYPE_4BYTE_ABGR)) {
+				final byte[] data = ((DataBufferByte)raster.getDataBuffer()).getData();
+				final int size = image.getType() == BufferedImage.TYPE_3BYTE_BGR ? 3 : 4;
+				IntStream.range(0, height).parallel().forEach(y -> {
+					for(int i=y*width, d=i*size+size-3, end=i+width; i<end; i++, d+=size) {
+						pixels[i] = pixelGrayed(data[d+2] & 0xff, data[d+1] & 0xff, data[d] & 0xff);
+					}
+				});
+			}else {
+				IntStream.range(0, height).parallel().forEach(y -> {
+					final int[] row = image.getRGB(0, y, width, 1, null, 0, width);
+					for(int x=0, i=y*width; x<width; x++, i++) {
+						pixels[i] = pixelGrayed((row[x] >> 16) & 0xff, (row[x] >> 8) & 0xff, row[x] & 0xff);
+					}
+				});
+			}
+
+			return new GrayImage(width, height, pixels);
+		}
+
+		/**
+		 * @param vector grayscale pixels stored column by column
+		 */
+		public static GrayImage getGrayImage(int[][] vector) {
+			if(vector == null) {
+				return null;
+			}
+
+			final int width = vector.length;
+			final int height = vector[0].length;
+			final int[] pixels = new int[width * height];
+			for(int x=0; x<width; x++) {
+				for(int y=0; y<height; y++) {
+					pixels[y * width + x] = vector[x][y];
+				}
+			}
+			return new GrayImage(width, height, pixels);
+		}
+
+		public int getWidth() {
+			return width;
+		}
+
+		public int getHeight() {
+			return height;
+		}
+
+		private synchronized long[] getIntegral() {
+			if(integral == null) {
+				final int stride = width + 1;
+				integral = new long[stride * (height + 1)];
+				for(int y=0; y<height; y++) {
+					long row = 0;
+					for(int x=0; x<width; x++) {
+						row += pixels[y * width + x];
+						integral[(y + 1) * stride + x + 1] = integral[y * stride + x + 1] + row;
+					}
+				}
+			}
+			return integral;
+		}
+	}
+
+	private static int pixelGrayed(int r, int g, int b) {
+		return (int) (GRAYSCALE[0]*r + GRAYSCALE[1]*g + GRAYSCALE[2]*b);
+	}
+}
@@ -206,8 +206,8 @@ public class VisualAction {
 		this.imageRef = imageRef;
 	}
 
-	public void addImage(Path folder, ArrayList<VisualImage> imagesList) {
-		if(images.size() > 0) {
+	public VisualImage getImage(Path folder) {
+		if(images != null && images.size() > 0) {
 			if(element != null && element.getBound() != null) {
 				
 				int imageRef = 0;
@@ -215,11 +215,12 @@ public class VisualAction {
 					imageRef = getImageRef();
 				}
 				
-				imagesList.add(new VisualImage(folder, getImageFileName(), getImageType(), images.get(imageRef), element.getBound()));
+				return new VisualImage(folder, getImageFileName(), getImageType(), images.get(imageRef), element.getBound());
 			}else {
-				imagesList.add(new VisualImage(folder, getImageFileName(), getImageType(), images.get(images.size()-1)));
+				return new VisualImage(folder, getImageFileName(), getImageType(), images.get(images.size()-1));
 			}
 		}
+		return null;
 	}
 
 	public String getImageFileName() {
@@ -19,6 +19,7 @@ under the License.
 
 package com.ats.recorder;
 
+import com.ats.element.TestElement;
 import com.ats.executor.TestBound;
 
 public class VisualElement {
@@ -36,6 +37,49 @@ public class VisualElement {
 	private int vposValue;
 	
 	public VisualElement() {}
+
+	/**
+	 * Copy of the data recorded for a searched element, the test element can be updated or disposed before the data are sent
+	 */
+	public VisualElement(TestElement element) {
+
+		Double x = 0D;
+		Double y = 0D;
+		Double w = 0D;
+		Double h = 0D;
+
+		this.foundElements = element.getFoundCount();
+
+		final int i = element.getIndex() == 0 ? 0 : element.getIndex() - 1;
+		if(i < element.getFoundElements().size()) {
+			final TestBound elementBound = element
+					.getFoundElements()
+					.get(i)
+					.getTestBound();
+
+			x = elementBound.getX();
+			y = elementBound.getY();
+
+			w = elementBound.getWidth();
+			h = elementBound.getHeight();
+
+			if(element.isSysComp()) {
+				x += 8;
+				y += 8;
+			}
+		}
+
+		this.bound = new TestBound(x, y, w, h);
+
+		String savedCriterias = element.getCriterias();
+		if(savedCriterias.length() > 100) {
+			savedCriterias = savedCriterias.substring(0, 100);
+		}
+
+		this.criterias = savedCriterias;
+		this.searchDuration = element.getTotalSearchDuration();
+		this.tag = element.getSearchedTag();
+	}
 	
 	public TestBound getBound() {
 		return bound;
@@ -26,6 +26,7 @@ import com.ats.executor.channels.Channel;
 import com.ats.executor.channels.EmptyChannel;
 import com.ats.executor.drivers.desktop.DesktopResponse;
 import com.ats.generator.objects.MouseDirection;
+import com.ats.generator.objects.MouseDirectionData;
 import com.ats.script.Project;
 import com.ats.script.Script;
 import com.ats.script.ScriptHeader;
@@ -54,10 +55,17 @@ public class VisualRecorder implements IVisualRecorder {
 	
 	private ExecutionLogger logger;
 
+	private final VisualRecorderQueue queue;
+
+	//the screen is captured after this delay, queued events are executed meanwhile
+	private static final long SCREEN_DELAY = 100;
+
 	public VisualRecorder(ActionTestScript topScript, ScriptHeader header, Project project, boolean xml, int quality) {
 
 		this.topScript = topScript;
 		this.logger = new ExecutionLogger();
+		this.queue = new VisualRecorderQueue();
+		this.queue.setLogger(logger);
 		
 		final Path output = project.getReportFolder().resolve(header.getPackagePath());
 		output.toFile().mkdirs();
@@ -66,9 +74,15 @@ public class VisualRecorder implements IVisualRecorder {
 	}
 
 	public VisualRecorder(ActionTestScript topScript, File outputFolder, ScriptHeader header, boolean xml, int quality, ExecutionLogger logger) {
+		this(topScript, outputFolder, header, xml, quality, logger, new VisualRecorderQueue());
+	}
+
+	public VisualRecorder(ActionTestScript topScript, File outputFolder, ScriptHeader header, boolean xml, int quality, ExecutionLogger logger, VisualRecorderQueue queue) {
 		
 		this.topScript = topScript;
 		this.logger = logger;
+		this.queue = queue;
+		this.queue.setLogger(logger);
 		
 		final Path output = outputFolder.toPath();
 		initAndStart(output, header, xml, quality);
@@ -102,12 +116,18 @@ public class VisualRecorder implements IVisualRecorder {
 	//--------------------------------------------------------------------------------------------
 	//--------------------------------------------------------------------------------------------
 	
+	public VisualRecorderQueue getQueue() {
+		return queue;
+	}
+
 	@Override
 	public void terminate() {
+		queue.close();
 		if(channel != null) {
 			final Path path = Paths.get(outputPath);
 			
 			logger.sendInfo("Stop visual recording", scriptHeader.getQualifiedName());
+			logger.sendInfo("Visual recording queue", queue.toString());
 			channel.stopVisualRecord(topScript.getStatus(), summary);
 			channel.saveVisualReportFile(path, scriptHeader.getQualifiedName() + Script.ATS_VISUAL_FILE_EXTENSION, logger);
 			
@@ -120,6 +140,7 @@ public class VisualRecorder implements IVisualRecorder {
 	private void setChannel(Channel channel) {
 		if(!recording && channel != null && !(channel instanceof EmptyChannel)) {
 			recording = true;
+			queue.flush();
 			final DesktopResponse resp = channel.startVisualRecord(scriptHeader, visualQuality, started);
 			if(resp != null && resp.errorCode < 0) {
 				channel.sendLog(resp.errorCode, "Unable to start visual recording", resp.errorMessage);
@@ -142,6 +163,9 @@ public class VisualRecorder implements IVisualRecorder {
 	public void createVisualStartChannelAction(ActionChannelStart action, long duration, String scriptName, int scriptLine) {
 		setChannel(action.getStatus().getChannel());
 		
+		queue.nextAction();
+		queue.flush();
+		
 		channel.createVisualAction(
 				true,
 				action.getClass().getName(), 
@@ -164,59 +188,83 @@ public class VisualRecorder implements IVisualRecorder {
 			stop = true;
 		}
 		
-		channel.createVisualAction(
-				stop, 
-				action.getClass().getName(), 
-				scriptLine, 
-				scriptName, 
-				System.currentTimeMillis() - started, 
-				isSyncAction(action.getClass().getName()));
+		final Channel current = channel;
+		final String actionName = action.getClass().getName();
+		final long timeline = System.currentTimeMillis() - started;
+		final boolean sync = isSyncAction(actionName);
+		final boolean stopAction = stop;
+
+		queue.nextAction();
+
+		//the screen of a synchronized action is captured when the action is created
+		if(sync) {
+			queue.flush();
+			current.createVisualAction(stopAction, actionName, scriptLine, scriptName, timeline, true);
+		}else {
+			queue.post(VisualRecorderQueue.CREATE, () -> current.createVisualAction(stopAction, actionName, scriptLine, scriptName, timeline, false));
+		}
 	}
 	
 	@Override
 	public void update(int error, long duration, String value, String data) {
-		channel.updateVisualAction(error, duration, value, data);
+		final Channel current = channel;
+		queue.post("status-data", () -> current.updateVisualAction(error, duration, value, data));
 	}
 
 	@Override
 	public void update(int error, long duration, String value) {
-		channel.updateVisualAction(error, duration, value);
+		final Channel current = channel;
+		queue.post("status-value", () -> current.updateVisualAction(error, duration, value));
 	}
 	
 	@Override
 	public void updateScreen(boolean ref) {
-		channel.sleep(100);
+		final long start = System.currentTimeMillis();
+		queue.flush();
+
+		final long remaining = SCREEN_DELAY - (System.currentTimeMillis() - start);
+		if(remaining > 0) {
+			channel.sleep((int)remaining);
+		}
 		channel.updateVisualAction(ref);
 	}
 
 	@Override
 	public void update(String value) {
-		channel.updateVisualAction(value);
+		final Channel current = channel;
+		queue.post("value", () -> current.updateVisualAction(value));
 	}
 
 	@Override
 	public void update(String value, String data) {
-		channel.updateVisualAction(value, data);
+		final Channel current = channel;
+		queue.post("data", () -> current.updateVisualAction(value, data));
 	}
 
 	@Override
 	public void update(String type, MouseDirection position) {
-		channel.updateVisualAction(type, position.getHorizontalPos(), position.getVerticalPos());
+		final Channel current = channel;
+		final MouseDirectionData hpos = position.getHorizontalPos();
+		final MouseDirectionData vpos = position.getVerticalPos();
+		queue.post("position", () -> current.updateVisualAction(type, hpos, vpos));
 	}
 
 	@Override
 	public void update(int error, long duration) {
-		channel.updateVisualAction(error, duration);
+		final Channel current = channel;
+		queue.post("status", () -> current.updateVisualAction(error, duration));
 	}
 
 	@Override
 	public void update(TestElement element) {
-		channel.updateVisualAction(element);
+		final Channel current = channel;
+		final VisualElement visualElement = new VisualElement(element);
+		queue.post("element", () -> current.updateVisualAction(visualElement));
 	}
 
 	@Override
 	public void updateScreen(TestElement element) {
-		channel.updateVisualAction(element);
+		update(element);
 	}
 	
 	//-----------------------------------------------------------------------------------------------------------------------------------
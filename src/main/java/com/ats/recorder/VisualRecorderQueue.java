@@ -0,0 +1,288 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.recorder;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import com.ats.tools.logger.ExecutionLogger;
+
+/**
+ * Bounded queue of visual recording events, events are executed in order by a single background worker
+ * so the test thread does not wait for the channel and the driver.
+ * When the queue is full the back-pressure policy is applied :
+ * BLOCK waits for a free slot, DROP forgets the new event, COALESCE replaces the last queued event of the same type
+ * and the same action (or waits if there is no such event).
+ * Create events are never dropped or coalesced, updates of the next events would be attached to the previous action.
+ */
+public class VisualRecorderQueue {
+
+	public static final int DEFAULT_SIZE = 64;
+	public static final String CREATE = "create";
+
+	public enum Policy {
+		BLOCK,
+		DROP,
+		COALESCE;
+
+		public static Policy fromString(String value) {
+			for(Policy p : values()) {
+				if(p.name().equalsIgnoreCase(value)) {
+					return p;
+				}
+			}
+			return BLOCK;
+		}
+	}
+
+	private final int capacity;
+	private final Policy policy;
+
+	private final ArrayDeque<Event> events;
+
+	private Thread worker;
+	private boolean running = true;
+	private boolean busy = false;
+
+	private long actionSequence = 0;
+
+	private ExecutionLogger logger;
+
+	//metrics
+	private int maxDepth = 0;
+	private int posted = 0;
+	private int dropped = 0;
+	private int coalesced = 0;
+	private int failed = 0;
+	private long workNanos = 0;
+	private long waitNanos = 0;
+
+	public VisualRecorderQueue() {
+		this(DEFAULT_SIZE, Policy.BLOCK);
+	}
+
+	public VisualRecorderQueue(int capacity, Policy policy) {
+		this.capacity = Math.max(1, capacity);
+		this.policy = policy;
+		this.events = new ArrayDeque<Event>(this.capacity);
+	}
+
+	/**
+	 * @param logger logger of the errors of the executed events
+	 */
+	public synchronized void setLogger(ExecutionLogger logger) {
+		this.logger = logger;
+	}
+
+	//--------------------------------------------------------------------------------------------
+	//  producer
+	//--------------------------------------------------------------------------------------------
+
+	/**
+	 * Start a new action, events of different actions are never coalesced
+	 */
+	public synchronized void nextAction() {
+		actionSequence++;
+	}
+
+	/**
+	 * Queue an event, it is executed later by the worker thread
+	 *
+	 * @param type type of event, used to coalesce events of the same action
+	 * @param command the event execution, all data needed must be copied before
+	 */
+	public synchronized void post(String type, Runnable command) {
+
+		if(!running) {
+			return;
+		}
+
+		final Event event = new Event(type, actionSequence, command);
+
+		if(events.size() >= capacity && !CREATE.equals(type)) {
+			if(policy == Policy.DROP) {
+				dropped++;
+				return;
+			}
+
+			if(policy == Policy.COALESCE) {
+				final Event last = events.peekLast();
+				if(last != null && last.sequence == event.sequence && last.type.equals(type)) {
+					events.pollLast();
+					events.addLast(event);
+					coalesced++;
+					return;
+				}
+			}
+		}
+
+		if(events.size() >= capacity) {
+			final long start = System.nanoTime();
+			while(events.size() >= capacity && running && worker != null && worker.isAlive()) {
+				waitFor();
+			}
+			waitNanos += System.nanoTime() - start;
+		}
+
+		events.addLast(event);
+		posted++;
+		maxDepth = Math.max(maxDepth, events.size());
+
+		if(worker == null || !worker.isAlive()) {
+			worker = new Thread(this::work, "atsVisualRecorder");
+			worker.setDaemon(true);
+			worker.start();
+		}
+
+		notifyAll();
+	}
+
+	/**
+	 * Wait until all queued events have been executed
+	 */
+	public synchronized void flush() {
+		if(!events.isEmpty() || busy) {
+			final long start = System.nanoTime();
+			while((!events.isEmpty() || busy) && worker != null && worker.isAlive()) {
+				waitFor();
+			}
+			waitNanos += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Execute the remaining events and stop the worker thread
+	 */
+	public synchronized void close() {
+		flush();
+		running = false;
+		notifyAll();
+	}
+
+	private void waitFor() {
+		try {
+			wait(1000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			running = false;
+		}
+	}
+
+	//--------------------------------------------------------------------------------------------
+	//  consumer
+	//--------------------------------------------------------------------------------------------
+
+	private void work() {
+		while(true) {
+
+			final Event event;
+			synchronized (this) {
+				while(events.isEmpty() && running) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+
+				event = events.pollFirst();
+				if(event == null) {
+					return;
+				}
+
+				busy = true;
+				notifyAll();
+			}
+
+			final long start = System.nanoTime();
+			try {
+				event.command.run();
+			}catch(Throwable e) {
+				final ExecutionLogger errorLogger;
+				synchronized (this) {
+					failed++;
+					errorLogger = logger;
+				}
+				if(errorLogger != null) {
+					errorLogger.sendError("Visual recording event failed", event.type + " -> " + e);
+				}
+			}
+
+			synchronized (this) {
+				workNanos += System.nanoTime() - start;
+				busy = false;
+				notifyAll();
+			}
+		}
+	}
+
+	//--------------------------------------------------------------------------------------------
+	//  metrics
+	//--------------------------------------------------------------------------------------------
+
+	public synchronized int getDepth() {
+		return events.size();
+	}
+
+	public synchronized int getMaxDepth() {
+		return maxDepth;
+	}
+
+	public synchronized int getPosted() {
+		return posted;
+	}
+
+	public synchronized int getDropped() {
+		return dropped;
+	}
+
+	public synchronized int getCoalesced() {
+		return coalesced;
+	}
+
+	public synchronized int getFailed() {
+		return failed;
+	}
+
+	/**
+	 * @return time spent by the worker executing events minus time spent by the test thread waiting for the queue, in milliseconds
+	 */
+	public synchronized long getTimeSaved() {
+		return TimeUnit.NANOSECONDS.toMillis(workNanos - waitNanos);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "policy=" + policy + ", size=" + capacity + ", events=" + posted + ", max depth=" + maxDepth + ", dropped=" + dropped + ", coalesced=" + coalesced + ", failed=" + failed + ", time saved=" + getTimeSaved() + "ms";
+	}
+
+	private static class Event {
+
+		private final String type;
+		private final long sequence;
+		private final Runnable command;
+
+		private Event(String type, long sequence, Runnable command) {
+			this.type = type;
+			this.sequence = sequence;
+			this.command = command;
+		}
+	}
+}
@@ -30,10 +30,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -71,6 +74,8 @@ public class Project {
 	private static final String SRC_FOLDER_SUBSCRIPTS = "subscripts";
 	private static final String SRC_FOLDER_JAVA = "java";
 	
+	public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
 	private static final Pattern GROUP_PATTERN = Pattern.compile(ScriptParser.SCRIPT_GROUPS_LABEL + ".*" + ScriptParser.ATS_SEPARATOR + "(.*)", Pattern.CASE_INSENSITIVE);
 
 	private String name = "";
@@ -289,9 +294,15 @@ public class Project {
 	}
 
 	public List<ScriptLoader> getAtsScripts(Lexer lexer) {
-		final ArrayList<ScriptLoader> scripts = new ArrayList<ScriptLoader>();
-		getAtsScripts().parallelStream().forEach(f -> scripts.add(lexer.loadScript(f)));
-		return scripts;
+		return getAtsScripts(lexer, DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 * Load all ATS scripts of the project using at most 'parallelism' threads,
+	 * scripts are returned in the same order as the files found in the ATS source folder
+	 */
+	public List<ScriptLoader> getAtsScripts(Lexer lexer, int parallelism) {
+		return loadParallel(getAtsScripts(), lexer::loadScript, parallelism).stream().filter(Objects::nonNull).collect(Collectors.toList());
 	}
 	
 	public List<ScriptInfo> getAtsScriptsByGroup(String groupName){
@@ -340,27 +351,34 @@ public class Project {
 	}
 
 	public List<ScriptInfo> loadScriptsHeader() {
-
-		final ArrayList<File> files = getAtsScriptsWithoutSubscripts();
-		final Lexer lexer = new Lexer(this, new GeneratorReport(), Script.DEFAULT_CHARSET);
-
-		final Stream<File> stream = files.parallelStream();
-		List<ScriptInfo> result = stream.map(s -> new ScriptInfo(lexer, s)).collect(Collectors.toList());
-		stream.close();
-
-		return result;
+		return loadScriptsHeader(getAtsScriptsWithoutSubscripts(), DEFAULT_PARALLELISM);
 	}
 
 	public List<ScriptInfo> loadScriptsHeader(File atsFolder) {
+		return loadScriptsHeader(getAtsScripts(atsFolder), DEFAULT_PARALLELISM);
+	}
 
-		final ArrayList<File> files = getAtsScripts(atsFolder);
+	public List<ScriptInfo> loadScriptsHeader(List<File> files, int parallelism) {
 		final Lexer lexer = new Lexer(this, new GeneratorReport(), Script.DEFAULT_CHARSET);
+		return loadParallel(files, f -> new ScriptInfo(lexer, f), parallelism);
+	}
 
-		final Stream<File> stream = files.parallelStream();
-		final List<ScriptInfo> result = stream.map(s -> new ScriptInfo(lexer, s)).collect(Collectors.toList());
-		stream.close();
+	private static <T> List<T> loadParallel(List<File> files, Function<File, T> loader, int parallelism) {
 
-		return result;
+		final ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+		try {
+			return pool.submit(() -> files.parallelStream().map(loader).collect(Collectors.toList())).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new ArrayList<T>();
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
 	}
 
 	private ArrayList<File> getAtsScriptsWithoutSubscripts() {
@@ -388,6 +406,11 @@ public class Project {
 
 	private void walk(ArrayList<File> list, File dir, FileFilter filter) {
 		final File[] files = dir.listFiles(filter);
+		if(files == null) {
+			return;
+		}
+
+		Arrays.sort(files);
 		for (File f : files) {
 			if(f.isDirectory()) {
 				walk(list, f, filter);
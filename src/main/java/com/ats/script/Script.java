@@ -24,6 +24,7 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -392,7 +393,7 @@ public class Script {
 		if(url != null) {
 			try {
 				return Paths.get(url.toURI()).toFile();
-			} catch (URISyntaxException e) {}
+			} catch (URISyntaxException | FileSystemNotFoundException e) {}
 		}
 		return null;
 	}
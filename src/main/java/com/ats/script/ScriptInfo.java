@@ -1,7 +1,6 @@
 package com.ats.script;
 
 import java.io.File;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -50,7 +49,9 @@ public class ScriptInfo {
 
 	public ScriptInfo(ScriptLoader sc, File f) {
 		this(sc.getHeader(), f);
-		Arrays.asList(sc.getActions()).parallelStream().forEach(this::count);
+		for(Action a : sc.getActions()) {
+			count(a);
+		}
 	}
 
 	public ScriptInfo(Project project, File scriptFile) {
@@ -121,6 +121,19 @@ public class ScriptLoader extends Script {
 		return false;
 	}
 	
+	public List<String> getCalledSubscripts() {
+		final ArrayList<String> result = new ArrayList<String>();
+		for (Action action : actions) {
+			if(action instanceof ActionCallscript) {
+				final String name = ((ActionCallscript)action).getName().getCalculated();
+				if(!result.contains(name)) {
+					result.add(name);
+				}
+			}
+		}
+		return result;
+	}
+	
 	public boolean getActionsKeywords(Trie trie) {
 		for (Action action : actions) {
 			final List<String> actionKeywords = action.getKeywords();
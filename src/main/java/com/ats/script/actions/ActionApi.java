@@ -46,6 +46,9 @@ public class ActionApi extends Action {
 	public static final String REST = "REST";
 	
 	private static final String CACHE_LABEL = "cache";
+	private static final String LOAD_LABEL = "load=";
+	private static final String CONCURRENCY_LABEL = "concurrency=";
+	private static final String DURATION_LABEL = "duration=";
 
 	private CalculatedValue method;
 	private CalculatedValue data;
@@ -57,6 +60,10 @@ public class ActionApi extends Action {
 	
 	private int port = -1;
 
+	private int loadRequests = 0;
+	private int loadConcurrency = 1;
+	private int loadDuration = 0;
+
 	public ActionApi() {}
 
 	public ActionApi(Script script, String type, String options, String method, String headerData, ArrayList<String> data) {
@@ -74,12 +81,20 @@ public class ActionApi extends Action {
 			setData(new CalculatedValue(script, data.get(0).trim()));
 		}
 		
-		if(options.contains(CACHE_LABEL)) {
-			this.useCache = true;
-			options.replace(CACHE_LABEL, "");
+		for (String option : options.split(",")) {
+			option = option.replaceAll("\\s", "");
+			if(CACHE_LABEL.equals(option)) {
+				this.useCache = true;
+			}else if(option.startsWith(LOAD_LABEL)) {
+				this.loadRequests = Utils.string2Int(option.substring(LOAD_LABEL.length()));
+			}else if(option.startsWith(CONCURRENCY_LABEL)) {
+				this.loadConcurrency = Utils.string2Int(option.substring(CONCURRENCY_LABEL.length()), 1);
+			}else if(option.startsWith(DURATION_LABEL)) {
+				this.loadDuration = Utils.string2Int(option.substring(DURATION_LABEL.length()));
+			}else if(option.length() > 0) {
+				this.port = Utils.string2Int(option, -1);
+			}
 		}
-		
-		this.port = Utils.string2Int(options.replace(",", ""), -1);
 	}
 	
 	public ActionApi(Script script, String type, CalculatedValue method, CalculatedValue data) {
@@ -96,6 +111,13 @@ public class ActionApi extends Action {
 		setHeader(new ArrayList<CalculatedProperty>(Arrays.asList(headerData)));
 	}
 
+	public ActionApi(Script script, String type, int port, boolean cache, int loadRequests, int loadConcurrency, int loadDuration, CalculatedValue method, CalculatedValue data, CalculatedProperty ... headerData) {
+		this(script, type, port, cache, method, data, headerData);
+		setLoadRequests(loadRequests);
+		setLoadConcurrency(loadConcurrency);
+		setLoadDuration(loadDuration);
+	}
+
 	//---------------------------------------------------------------------------------------------------------------------------------
 	// Code Generator
 	//---------------------------------------------------------------------------------------------------------------------------------
@@ -110,8 +132,18 @@ public class ActionApi extends Action {
 		.append(port)
 		.append(", ")
 		.append(useCache)
-		.append(", ")
-		.append(method.getJavaCode())
+		.append(", ");
+
+		if(isLoad()) {
+			codeBuilder.append(loadRequests)
+			.append(", ")
+			.append(loadConcurrency)
+			.append(", ")
+			.append(loadDuration)
+			.append(", ");
+		}
+
+		codeBuilder.append(method.getJavaCode())
 		.append(", ");
 
 		if(data != null){
@@ -144,6 +176,9 @@ public class ActionApi extends Action {
 		super.execute(ts, testName, testLine);
 		getCurrentChannel().api(status, this);
 		status.endDuration();
+
+		final Object statusData = status.getData();
+		ts.getRecorder().update(status.getCode(), status.getDuration(), method.getCalculated(), statusData == null ? "" : statusData.toString());
 		return true;
 	}
 	
@@ -216,4 +251,35 @@ public class ActionApi extends Action {
 	public void setUseCache(boolean value) {
 		this.useCache = value;
 	}
+
+	/**
+	 * @return true if the request of this action is also sent as a load probe, with a number of requests or a duration
+	 */
+	public boolean isLoad() {
+		return loadRequests > 0 || loadDuration > 0;
+	}
+
+	public int getLoadRequests() {
+		return loadRequests;
+	}
+
+	public void setLoadRequests(int value) {
+		this.loadRequests = value;
+	}
+
+	public int getLoadConcurrency() {
+		return loadConcurrency;
+	}
+
+	public void setLoadConcurrency(int value) {
+		this.loadConcurrency = value;
+	}
+
+	public int getLoadDuration() {
+		return loadDuration;
+	}
+
+	public void setLoadDuration(int value) {
+		this.loadDuration = value;
+	}
 }
\ No newline at end of file
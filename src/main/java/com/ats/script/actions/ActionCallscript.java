@@ -294,7 +294,7 @@ public class ActionCallscript extends ActionReturnVariableArray {
 		setStatus(currentChannel.newActionStatus(testName, line));
 
 		final String scriptName = name.getCalculated();
-		final Class<ActionTestScript> clazz = currentChannel.loadTestScriptClass(scriptName);
+		final Class<ActionTestScript> clazz = ts.loadTestScriptClass(scriptName);
 
 		if(clazz == null) {
 			status.setError(MessageCode.SCRIPT_NOT_FOUND, "ATS script not found : '" + scriptName + "' (maybe a letter case issue ?)\n");
@@ -192,6 +192,7 @@ public class ActionExecuteElement extends ActionExecuteElementAbstract {
 								}
 								
 							} else {
+								final long waitDeadline = System.currentTimeMillis() + channel.getProgressiveWaitDuration(actionMaxTry);
 								while (trySearch < actionMaxTry) {
 									
 									if (searchElement.isImageSearch()) {
@@ -205,7 +206,13 @@ public class ActionExecuteElement extends ActionExecuteElementAbstract {
 									} else {
 										trySearch++;
 										channel.sendLog(MessageCode.OBJECT_TRY_SEARCH, ELEMENT_NOT_FOUND_MESSAGE, actionMaxTry - trySearch);
-										channel.progressiveWait(trySearch);
+										if (testElement.waitElements(waitDeadline)) {
+											if (System.currentTimeMillis() >= waitDeadline) {
+												trySearch = Math.max(trySearch, actionMaxTry - 1); // last search after the end of the wait
+											}
+										} else {
+											channel.progressiveWait(trySearch);
+										}
 									}
 								}
 							}
@@ -22,6 +22,7 @@ package com.ats.script.actions.neoload;
 import com.ats.executor.ActionStatus;
 import com.ats.executor.ActionTestScript;
 import com.ats.executor.channels.Channel;
+import com.ats.executor.drivers.HttpClientRegistry;
 import com.ats.generator.ATS;
 import com.ats.script.Script;
 import com.ats.script.actions.Action;
@@ -32,7 +33,6 @@ import okhttp3.RequestBody;
 import okhttp3.Response;
 
 import java.io.IOException;
-import java.util.concurrent.TimeUnit;
 
 public class ActionNeoload extends Action {
 
@@ -51,11 +51,7 @@ public class ActionNeoload extends Action {
 	}
 
 	private void initClient() {
-		client = new okhttp3.OkHttpClient.Builder()
-				.connectTimeout(30, TimeUnit.SECONDS)
-				.writeTimeout(30, TimeUnit.SECONDS)
-				.readTimeout(30, TimeUnit.SECONDS)
-				.cache(null).build();
+		client = HttpClientRegistry.getClient(30);
 	}
 
 	//---------------------------------------------------------------------------------------------------------------------------------
@@ -30,6 +30,7 @@ public class ResourceContent {
 
 	private static String scrollElementJavaScript;
 	private static String searchElementsJavaScript;
+	private static String waitElementsJavaScript;
 	private static String documentSizeJavaScript;
 	private static String elementAttributesJavaScript;
 	private static String parentElementJavaScript;
@@ -43,6 +44,7 @@ public class ResourceContent {
 		parentElementJavaScript = getScript("parentElement");
 		scrollElementJavaScript = getScript("scrollElement");
 		searchElementsJavaScript = getScript("searchElements");
+		waitElementsJavaScript = getScript("waitElements");
 
 		tick24Icon = getIcon("tick", 24);
 		atsLogo = Base64.getEncoder().encodeToString(getAtsByteLogo());
@@ -109,6 +111,10 @@ public class ResourceContent {
 		return searchElementsJavaScript;
 	}
 
+	public static String getWaitElementsJavaScript() {
+		return waitElementsJavaScript;
+	}
+
 	public static String getDocumentSizeJavaScript() {
 		return documentSizeJavaScript;
 	}
@@ -34,6 +34,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import javax.imageio.ImageIO;
 import javax.imageio.stream.ImageOutputStream;
@@ -50,6 +52,8 @@ import com.google.gson.JsonPrimitive;
 
 public class Utils {
 
+	private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
 	public static String unescapeAts(String data) {
 		return data.replaceAll("&sp;", " ").replaceAll("&co;", ",").replaceAll("&eq;", "=").replaceAll("&rb;", "]").replaceAll("&lb;", "[");
 	}
@@ -225,6 +229,23 @@ public class Utils {
 		return filename.substring(0, extensionIndex);
 	}
 
+	/**
+	 * @return the SHA-256 hash of the data as an hexadecimal string, or an empty string if the algorithm is not available
+	 */
+	public static String getHash(byte[] data) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+			final char[] hex = new char[digest.length * 2];
+			for (int i = 0; i < digest.length; i++) {
+				hex[i * 2] = HEX_CHARS[(digest[i] >> 4) & 0xF];
+				hex[i * 2 + 1] = HEX_CHARS[digest[i] & 0xF];
+			}
+			return new String(hex);
+		} catch (NoSuchAlgorithmException e) {
+			return "";
+		}
+	}
+
 	//-------------------------------------------------------------------------------------------------------------------------------------------
 	//  Image utils
 	//-------------------------------------------------------------------------------------------------------------------------------------------
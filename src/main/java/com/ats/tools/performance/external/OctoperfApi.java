@@ -21,6 +21,7 @@ package com.ats.tools.performance.external;
 
 import com.ats.executor.ActionStatus;
 import com.ats.executor.channels.Channel;
+import com.ats.executor.drivers.HttpClientRegistry;
 import com.ats.script.actions.performance.octoperf.ActionOctoperfVirtualUser;
 import com.ats.tools.logger.MessageCode;
 import com.google.common.base.Charsets;
@@ -409,7 +410,7 @@ public class OctoperfApi {
 	}
 
 	private JsonElement executeRequest(Request request) {
-		final OkHttpClient client = new OkHttpClient.Builder().build();
+		final OkHttpClient client = HttpClientRegistry.getClient(10);
 		try {
 			final Response response = client.newCall(request).execute();
 
@@ -23,33 +23,37 @@ import com.ats.tools.performance.proxy.AtsProxy;
 import com.browserup.harreader.model.HarEntry;
 
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 public class UrlBaseFilter {
 
-	public static Predicate<UrlPattern> isMatching(String value) {
-        return p -> p.match(value);
-    }
-	
 	private String pageId = AtsProxy.CHANNEL_STARTED_PAGEID;
 	
-	protected List<UrlPattern> listUrls;
+	protected UrlPatternMatcher urlMatcher;
 	
 	public UrlBaseFilter() {
 	}
 	
 	public UrlBaseFilter(List<String> list) {
-		listUrls = list.stream().map(s -> new UrlPattern(s)).collect(Collectors.toList());
+		urlMatcher = new UrlPatternMatcher(list);
 	}
 	
 	public void setPageId(String value) {
 		this.pageId = value;
 	}
 
+	/**
+	 * Process all entries of the har log, entries are read in a single pass and removed from the log by block
+	 * (entries added by the proxy during the filter are processed by the next loop)
+	 */
 	public void filter(List<HarEntry> logEntries, final List<HarEntry> savedEntries) {
-		while(logEntries.size() > 0) {
-			process(logEntries.remove(0), savedEntries);
+		int size;
+		while((size = logEntries.size()) > 0) {
+			final HarEntry[] entries = logEntries.subList(0, size).toArray(new HarEntry[size]);
+			logEntries.subList(0, size).clear();
+
+			for(HarEntry entry : entries) {
+				process(entry, savedEntries);
+			}
 		}
 	}
 	
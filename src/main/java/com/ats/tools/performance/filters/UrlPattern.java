@@ -23,13 +23,182 @@ import java.util.regex.Pattern;
 
 public class UrlPattern {
 
+	//escaped letters and digits matching a single char class or a position, other ones (codes, back references, quotes ...) are not read
+	private static final String CLASS_ESCAPES = "dDsSwWbBAzZGhHvVRX";
+
 	private Pattern urlPattern;
-	
+	private String literal;
+
 	public UrlPattern(String url) {
 		urlPattern = Pattern.compile(url);
+		literal = getRequiredLiteral(url);
 	}
-	
+
 	public boolean match(String value) {
 		return urlPattern.matcher(value).matches();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @return the longest text contained by all values matching this pattern, or null if no text is required
+	 */
+	public String getLiteral() {
+		return literal;
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	// required literal
+	//-------------------------------------------------------------------------------------------------
+
+	public static String getRequiredLiteral(String regex) {
+
+		//flags and special groups can change how texts are matched
+		if(regex.contains("(?")) {
+			return null;
+		}
+
+		final int len = regex.length();
+		final StringBuilder run = new StringBuilder();
+		String best = "";
+
+		int i = 0;
+		while(i < len) {
+
+			final char c = regex.charAt(i);
+
+			boolean literalChar = false;
+			char value = c;
+			int next = i + 1;
+
+			if(c == '\\') {
+				if(next >= len) {
+					return null;
+				}
+				value = regex.charAt(next);
+				if(Character.isLetterOrDigit(value)) {
+					if(CLASS_ESCAPES.indexOf(value) == -1) {
+						return null;
+					}
+				}else {
+					literalChar = true;
+				}
+				next++;
+			}else if(c == '[') {
+				next = skipClass(regex, i);
+			}else if(c == '(') {
+				next = skipGroup(regex, i);
+			}else if(c == '|') {
+				return null;
+			}else if(".^$*?+{".indexOf(c) == -1) {
+				literalChar = true;
+			}
+
+			if(next < 0) {
+				return null;
+			}
+
+			int minimum = 1;
+			char quantifier = 0;
+			if(next < len && "*?+{".indexOf(regex.charAt(next)) > -1) {
+				quantifier = regex.charAt(next);
+				if(quantifier == '{') {
+					final int close = regex.indexOf('}', next);
+					if(close < 0) {
+						return null;
+					}
+					minimum = getMinimum(regex.substring(next + 1, close));
+					next = close + 1;
+				}else {
+					minimum = quantifier == '+' ? 1 : 0;
+					next++;
+				}
+
+				//lazy or possessive quantifier
+				if(next < len && (regex.charAt(next) == '?' || regex.charAt(next) == '+')) {
+					next++;
+				}
+			}
+
+			if(literalChar && minimum > 0) {
+				run.append(value);
+			}
+
+			if(!literalChar || quantifier != 0) {
+				if(run.length() > best.length()) {
+					best = run.toString();
+				}
+				run.setLength(0);
+			}
+
+			i = next;
+		}
+
+		if(run.length() > best.length()) {
+			best = run.toString();
+		}
+
+		return best.length() > 0 ? best : null;
+	}
+
+	private static int getMinimum(String bounds) {
+		final int comma = bounds.indexOf(',');
+		try {
+			return Integer.parseInt(comma > -1 ? bounds.substring(0, comma) : bounds);
+		}catch(NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	private static int skipClass(String regex, int start) {
+		int i = start + 1;
+		if(i < regex.length() && regex.charAt(i) == '^') {
+			i++;
+		}
+		if(i < regex.length() && regex.charAt(i) == ']') {
+			i++;
+		}
+
+		int depth = 1;
+		while(i < regex.length()) {
+			final char c = regex.charAt(i);
+			if(c == '\\') {
+				i++;
+			}else if(c == '[') {
+				depth++;
+			}else if(c == ']') {
+				depth--;
+				if(depth == 0) {
+					return i + 1;
+				}
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	private static int skipGroup(String regex, int start) {
+		int i = start + 1;
+		int depth = 1;
+		while(i < regex.length()) {
+			final char c = regex.charAt(i);
+			if(c == '\\') {
+				i += 2;
+			}else if(c == '[') {
+				i = skipClass(regex, i);
+				if(i < 0) {
+					return -1;
+				}
+			}else {
+				if(c == '(') {
+					depth++;
+				}else if(c == ')') {
+					depth--;
+					if(depth == 0) {
+						return i + 1;
+					}
+				}
+				i++;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+
+package com.ats.tools.performance.filters;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ahocorasick.trie.Emit;
+import org.ahocorasick.trie.Trie;
+
+/**
+ * Url patterns compiled in a single matcher.
+ * A text required by each pattern is added to one Aho-Corasick automaton, an url is read once by the automaton
+ * and only patterns with a required text found in the url are checked, patterns without required text are always checked.
+ */
+public class UrlPatternMatcher {
+
+	private final Trie trie;
+	private final Map<String, List<UrlPattern>> patterns = new HashMap<String, List<UrlPattern>>();
+	private final List<UrlPattern> others = new ArrayList<UrlPattern>();
+
+	public UrlPatternMatcher(List<String> list) {
+
+		final Trie.TrieBuilder builder = Trie.builder();
+		for(String url : list) {
+			final UrlPattern pattern = new UrlPattern(url);
+			final String literal = pattern.getLiteral();
+			if(literal == null) {
+				others.add(pattern);
+			}else {
+				patterns.computeIfAbsent(literal, k -> new ArrayList<UrlPattern>()).add(pattern);
+				builder.addKeyword(literal);
+			}
+		}
+
+		trie = patterns.isEmpty() ? null : builder.build();
+	}
+
+	/**
+	 * @return true if the url matches at least one of the patterns
+	 */
+	public boolean matches(String url) {
+
+		if(trie != null) {
+			final ArrayList<String> checked = new ArrayList<String>();
+			for(Emit emit : trie.parseText(url)) {
+				final String literal = emit.getKeyword();
+				if(!checked.contains(literal)) {
+					for(UrlPattern pattern : patterns.get(literal)) {
+						if(pattern.match(url)) {
+							return true;
+						}
+					}
+					checked.add(literal);
+				}
+			}
+		}
+
+		for(UrlPattern pattern : others) {
+			if(pattern.match(url)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -31,7 +31,7 @@ public class WhiteListFilter extends UrlBaseFilter {
 
 	@Override
 	protected void process(HarEntry entry, List<HarEntry> savedEntries) {
-		if(listUrls.stream().filter(isMatching(entry.getRequest().getUrl())).findFirst().isPresent()) {
+		if(urlMatcher.matches(entry.getRequest().getUrl())) {
 			saveEntry(savedEntries, entry);
 		}
 	}
@@ -0,0 +1,189 @@
+/*
+Licensed to the Apache Software Foundation (ASF) under one
+or more contributor license agreements.  See the NOTICE file
+distributed with this work for additional information
+regarding copyright ownership.  The ASF licenses this file
+to you under the Apache License, Version 2.0 (the
+"License"); you may not use this file except in compliance
+with the License.  You may obtain a copy of the License at
+
+  http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing,
+software distributed under the License is distributed on an
+"AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+KIND, either express or implied.  See the License for the
+specific language governing permissions and limitations
+under the License.
+ */
+
+package com.ats.tools.report;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.ats.tools.Utils;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Persistent summaries of tests XML reports used by the campaign report,
+ * a test report is only read again if its file has been modified since the last campaign report.
+ */
+public class CampaignReportCache {
+
+	public static final String CACHE_FILE_NAME = ".ats-report-cache.json";
+
+	private static final XMLInputFactory xmlFactory = XMLInputFactory.newInstance();
+
+	public Map<String, TestSummary> tests = new ConcurrentHashMap<String, TestSummary>();
+
+	private transient File file;
+
+	public static CampaignReportCache load(Path outputFolder) {
+
+		final File file = outputFolder.resolve(CACHE_FILE_NAME).toFile();
+
+		CampaignReportCache cache = null;
+		if(file.exists()) {
+			try (JsonReader reader = new JsonReader(new FileReader(file, StandardCharsets.UTF_8))){
+				cache = new Gson().fromJson(reader, CampaignReportCache.class);
+			} catch (IOException | JsonParseException e) {}
+		}
+
+		if(cache == null || cache.tests == null) {
+			cache = new CampaignReportCache();
+		}else {
+			cache.tests = new ConcurrentHashMap<String, TestSummary>(cache.tests);
+		}
+
+		cache.file = file;
+		return cache;
+	}
+
+	public CampaignReportCache() {}
+
+	/**
+	 * Get the summary of a test XML report, the report is read if it is not in the cache or if it has been modified
+	 */
+	public TestSummary getSummary(File xmlDataFile) throws IOException, XMLStreamException {
+
+		final String key = xmlDataFile.getAbsolutePath();
+
+		final TestSummary cached = tests.get(key);
+		if(cached != null && cached.modified == xmlDataFile.lastModified() && cached.size == xmlDataFile.length()) {
+			return cached;
+		}
+
+		final TestSummary summary = TestSummary.read(xmlDataFile);
+		tests.put(key, summary);
+
+		return summary;
+	}
+
+	/**
+	 * Remove summaries of tests not found in the last campaign report
+	 */
+	public void retain(Iterable<File> xmlDataFiles) {
+		final Map<String, TestSummary> current = new ConcurrentHashMap<String, TestSummary>();
+		for(File f : xmlDataFiles) {
+			final TestSummary summary = tests.get(f.getAbsolutePath());
+			if(summary != null) {
+				current.put(f.getAbsolutePath(), summary);
+			}
+		}
+		tests = current;
+	}
+
+	public void save() {
+		try (FileWriter writer = new FileWriter(file, StandardCharsets.UTF_8)){
+			new Gson().toJson(this, writer);
+		} catch (IOException e) {}
+	}
+
+	//-------------------------------------------------------------------------------------------------
+	//  serialized data
+	//-------------------------------------------------------------------------------------------------
+
+	public static class TestSummary {
+
+		public static final int NO_SUMMARY = -1;
+
+		public long modified;
+		public long size;
+
+		public int status = NO_SUMMARY;
+		public int actions;
+		public int duration;
+
+		/**
+		 * Only the summary status and the duration of actions are read, without any DOM
+		 */
+		private static TestSummary read(File xmlDataFile) throws IOException, XMLStreamException {
+
+			final TestSummary summary = new TestSummary();
+			summary.modified = xmlDataFile.lastModified();
+			summary.size = xmlDataFile.length();
+
+			try (Reader reader = Files.newBufferedReader(xmlDataFile.toPath(), StandardCharsets.UTF_8)){
+
+				final XMLStreamReader xml = xmlFactory.createXMLStreamReader(reader);
+
+				//depth of the current element below an action element, -1 outside of actions
+				int actionDepth = -1;
+				boolean durationFound = false;
+
+				while(xml.hasNext()) {
+					final int event = xml.next();
+					if(event == XMLStreamConstants.START_ELEMENT) {
+
+						final String name = xml.getLocalName();
+						if(actionDepth >= 0) {
+							actionDepth++;
+							if(actionDepth == 1 && !durationFound && "duration".equals(name)) {
+								summary.duration += Utils.string2Int(xml.getElementText());
+								durationFound = true;
+								actionDepth--;
+							}
+						}else if("action".equals(name)) {
+							summary.actions++;
+							actionDepth = 0;
+							durationFound = false;
+						}else if("summary".equals(name) && summary.status == NO_SUMMARY) {
+							summary.status = "1".equals(xml.getAttributeValue(null, "status")) ? 1 : 0;
+						}
+
+					}else if(event == XMLStreamConstants.END_ELEMENT && actionDepth >= 0) {
+						actionDepth--;
+					}
+				}
+
+				xml.close();
+			}
+
+			return summary;
+		}
+
+		public boolean isPassed() {
+			return status == 1;
+		}
+
+		public boolean isFailed() {
+			return status == 0;
+		}
+	}
+}
@@ -25,9 +25,10 @@ import java.io.FileReader;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
@@ -37,14 +38,25 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -58,14 +70,12 @@ import org.apache.tools.ant.Project;
 import org.apache.tools.ant.ProjectHelper;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 import com.ats.executor.ActionTestScript;
 import com.ats.tools.ResourceContent;
 import com.ats.tools.Utils;
+import com.ats.tools.report.CampaignReportCache.TestSummary;
 import com.google.gson.Gson;
 import com.google.gson.stream.JsonReader;
 
@@ -125,7 +135,7 @@ public class CampaignReportGenerator {
 
 			try {
 				new CampaignReportGenerator(outputFolderPath, jsonSuiteFilesFile, details, jasper);
-			} catch (IOException | TransformerException | ParserConfigurationException | SAXException e) {
+			} catch (IOException | TransformerException | ParserConfigurationException | SAXException | XMLStreamException e) {
 				e.printStackTrace();
 			}
 
@@ -155,7 +165,7 @@ public class CampaignReportGenerator {
 	}
 
 	public CampaignReportGenerator(Path outputFolderPath, File jsonSuiteFilesFile, String reportLevel, String jasper)
-			throws IOException, TransformerException, ParserConfigurationException, SAXException {
+			throws IOException, TransformerException, ParserConfigurationException, SAXException, XMLStreamException {
 
 		final int detailsValue = Utils.string2Int(reportLevel, 0);
 
@@ -182,35 +192,28 @@ public class CampaignReportGenerator {
 				return;
 			}
 
-			DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-			Document writeXmlDocument = builder.newDocument();
+			//-----------------------------------------------------------------------------------------------------
+			// Tests summaries, only tests modified since the last report are read again
+			//-----------------------------------------------------------------------------------------------------
 
-			final Element report = writeXmlDocument.createElement(XML_SOURCE_ROOT);
-			report.setAttribute("details", String.valueOf(detailsValue));
-			report.setAttribute("projectId", suiteReport.projectId);
-			report.setAttribute("projectDescription", suiteReport.projectDescription);
-			writeXmlDocument.appendChild(report);
+			final CampaignReportCache cache = CampaignReportCache.load(outputFolderPath);
 
-			final Element picsList = writeXmlDocument.createElement("pics");
-
-			final String[] defaultImages = new String[] { "logo.png", "true.png", "false.png", "warning.png", "noStop.png", "pdf.png"};
-			for (String img : defaultImages) {
-				final Element pic = writeXmlDocument.createElement("pic");
-				pic.setAttribute("name", img.replace(".png", ""));
-
-				byte[] imgBytes = null;
-				if(Files.exists(outputFolderPath.resolve(img))){
-					imgBytes = Files.readAllBytes(outputFolderPath.resolve(img));
-				}else {
-					imgBytes = ResourceContent.class.getResourceAsStream(CUSTOM_IMAGES_FOLDER + img).readAllBytes();
+			final List<File> xmlDataFiles = new ArrayList<File>();
+			for (SuitesReportItem info : suiteReport.suites) {
+				final Path suitePath = outputFolderPath.resolve(info.name);
+				for (String className : info.tests) {
+					final File xmlDataFile = suitePath.resolve(className + "_xml").resolve(XmlReport.REPORT_FILE).toFile();
+					if (xmlDataFile.exists()) {
+						xmlDataFiles.add(xmlDataFile);
+					}
 				}
-
-				pic.setTextContent("data:image/png;base64," + getBase64DefaultImages(imgBytes));
-				picsList.appendChild(pic);
 			}
-			report.appendChild(picsList);
 
-			report.setAttribute("suitesCount", String.valueOf(suiteReport.suites.length));
+			final Map<File, TestSummary> summaries = readSummaries(cache, xmlDataFiles);
+
+			cache.retain(xmlDataFiles);
+			cache.save();
+
 			int totalTests = 0;
 			int totalTestsPassed = 0;
 			int totalSuitesPassed = 0;
@@ -222,107 +225,138 @@ public class CampaignReportGenerator {
 				final Path suitePath = outputFolderPath.resolve(info.name);
 
 				boolean suitePassed = true;
-				final Element suite = writeXmlDocument.createElement("suite");
-
-				suite.setAttribute("name", info.name);
-				suite.setAttribute("description", info.description);
-
-				final Element parameters = writeXmlDocument.createElement("parameters");
-				suite.appendChild(parameters);
-
-				final Properties properties = new Properties();
-				final Path suiteParamPath = suitePath.resolve(ActionTestScript.SUITE_PARAMETERS);
-
-				if(Files.exists(suiteParamPath)) {
-					properties.load(Files.newBufferedReader(suiteParamPath));
+				for (String className : info.tests) {
+					final TestSummary summary = summaries.get(suitePath.resolve(className + "_xml").resolve(XmlReport.REPORT_FILE).toFile());
+					if (summary != null) {
+						totalTests++;
+						totalActions += summary.actions;
+						totalDuration += summary.duration;
+						if (summary.isPassed()) {
+							totalTestsPassed++;
+						} else if (summary.isFailed()) {
+							suitePassed = false;
+						}
+					}
 				}
 
-				for (Map.Entry<String, String> entry : info.parameters.entrySet()) {
-					final Element parameter = writeXmlDocument.createElement("parameter");
-					parameter.setAttribute("name", entry.getKey());
-					parameter.setAttribute("value", properties.getProperty(entry.getKey(), entry.getValue()));
-					parameter.setAttribute("defaultValue", entry.getValue());
-					parameters.appendChild(parameter);
+				if (suitePassed) {
+					totalSuitesPassed++;
 				}
+			}
 
-				final Element tests = writeXmlDocument.createElement("tests");
-				suite.appendChild(tests);
+			//-----------------------------------------------------------------------------------------------------
+			// Campaign XML report, tests reports are copied as they are read
+			//-----------------------------------------------------------------------------------------------------
 
-				int testsPassed = 0;
-				int actionsExecuted = 0;
-				int suiteDuration = 0;
+			final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
 
-				suite.setAttribute("testsCount", String.valueOf(info.tests.length));
+			try (Writer writer = Files.newBufferedWriter(outputFolderPath.resolve(XML_SOURCE_NAME), StandardCharsets.UTF_8)){
 
-				for (String className : info.tests) {
+				final XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(writer);
+				xml.writeStartDocument("UTF-8", "1.0");
 
-					final File xmlDataFile = suitePath.resolve(className + "_xml").resolve(XmlReport.REPORT_FILE).toFile();
+				xml.writeStartElement(XML_SOURCE_ROOT);
+				writeAttribute(xml, "details", String.valueOf(detailsValue));
+				writeAttribute(xml, "projectId", suiteReport.projectId);
+				writeAttribute(xml, "projectDescription", suiteReport.projectDescription);
+				writeAttribute(xml, "suitesCount", String.valueOf(suiteReport.suites.length));
+				writeAttribute(xml, "duration", String.valueOf(totalDuration));
+				writeAttribute(xml, "tests", String.valueOf(totalTests));
+				writeAttribute(xml, "testsPassed", String.valueOf(totalTestsPassed));
+				writeAttribute(xml, "suitesPassed", String.valueOf(totalSuitesPassed));
+				writeAttribute(xml, "actions", String.valueOf(totalActions));
 
-					if (xmlDataFile.exists()) {
+				xml.writeStartElement("pics");
 
-						totalTests++;
-						int testDuration = 0;
+				final String[] defaultImages = new String[] { "logo.png", "true.png", "false.png", "warning.png", "noStop.png", "pdf.png"};
+				for (String img : defaultImages) {
+					xml.writeStartElement("pic");
+					writeAttribute(xml, "name", img.replace(".png", ""));
 
-						final Element atsTest = builder.parse(xmlDataFile).getDocumentElement();
-						final NodeList summary = atsTest.getElementsByTagName("summary");
+					byte[] imgBytes = null;
+					if(Files.exists(outputFolderPath.resolve(img))){
+						imgBytes = Files.readAllBytes(outputFolderPath.resolve(img));
+					}else {
+						imgBytes = ResourceContent.class.getResourceAsStream(CUSTOM_IMAGES_FOLDER + img).readAllBytes();
+					}
 
-						if (summary.getLength() > 0) {
-							if ("1".equals(summary.item(0).getAttributes().getNamedItem("status").getNodeValue())) {
+					xml.writeCharacters("data:image/png;base64," + getBase64DefaultImages(imgBytes));
+					xml.writeEndElement();
+				}
+				xml.writeEndElement();
+
+				for (SuitesReportItem info : suiteReport.suites) {
+
+					final Path suitePath = outputFolderPath.resolve(info.name);
+
+					boolean suitePassed = true;
+					int testsPassed = 0;
+					int actionsExecuted = 0;
+					int suiteDuration = 0;
+
+					final List<File> suiteFiles = new ArrayList<File>();
+					for (String className : info.tests) {
+						final File xmlDataFile = suitePath.resolve(className + "_xml").resolve(XmlReport.REPORT_FILE).toFile();
+						final TestSummary summary = summaries.get(xmlDataFile);
+						if (summary != null) {
+							suiteFiles.add(xmlDataFile);
+							actionsExecuted += summary.actions;
+							suiteDuration += summary.duration;
+							if (summary.isPassed()) {
 								testsPassed++;
-								totalTestsPassed++;
-							} else {
+							} else if (summary.isFailed()) {
 								suitePassed = false;
 							}
 						}
+					}
 
-						final NodeList actionsList = atsTest.getElementsByTagName("action");
-						actionsExecuted += actionsList.getLength();
+					xml.writeStartElement("suite");
+					writeAttribute(xml, "name", info.name);
+					writeAttribute(xml, "description", info.description);
+					writeAttribute(xml, "testsCount", String.valueOf(info.tests.length));
+					writeAttribute(xml, "passed", String.valueOf(suitePassed));
+					writeAttribute(xml, "duration", String.valueOf(suiteDuration));
+					writeAttribute(xml, "actions", String.valueOf(actionsExecuted));
+					writeAttribute(xml, "testsPassed", String.valueOf(testsPassed));
 
-						for (int i = 0; i < actionsList.getLength(); i++) {
-							final Node action = actionsList.item(i);
+					xml.writeStartElement("parameters");
 
-							for (int j = 0; j < action.getChildNodes().getLength(); j++) {
-								final Node actionNode = action.getChildNodes().item(j);
-								if ("duration".equals(actionNode.getNodeName())) {
-									testDuration += Utils.string2Int(actionNode.getTextContent());
-									break;
-								}
-							}
+					final Properties properties = new Properties();
+					final Path suiteParamPath = suitePath.resolve(ActionTestScript.SUITE_PARAMETERS);
+
+					if(Files.exists(suiteParamPath)) {
+						try (Reader paramReader = Files.newBufferedReader(suiteParamPath)){
+							properties.load(paramReader);
 						}
+					}
 
-						atsTest.setAttribute("duration", String.valueOf(testDuration));
+					for (Map.Entry<String, String> entry : info.parameters.entrySet()) {
+						xml.writeStartElement("parameter");
+						writeAttribute(xml, "name", entry.getKey());
+						writeAttribute(xml, "value", properties.getProperty(entry.getKey(), entry.getValue()));
+						writeAttribute(xml, "defaultValue", entry.getValue());
+						xml.writeEndElement();
+					}
 
-						suiteDuration += testDuration;
+					xml.writeEndElement();
 
-						tests.appendChild(writeXmlDocument.importNode(atsTest, true));
+					xml.writeStartElement("tests");
+					for (File xmlDataFile : suiteFiles) {
+						try (Reader testReader = Files.newBufferedReader(xmlDataFile.toPath(), StandardCharsets.UTF_8)){
+							final XMLStreamReader testXml = inputFactory.createXMLStreamReader(testReader);
+							XmlReport.copyElements(testXml, xml, "duration", String.valueOf(summaries.get(xmlDataFile).duration));
+							testXml.close();
+						}
 					}
-				}
-
-				totalActions += actionsExecuted;
-				totalDuration += suiteDuration;
+					xml.writeEndElement();
 
-				if (suitePassed) {
-					totalSuitesPassed++;
+					xml.writeEndElement();
 				}
-				suite.setAttribute("passed", String.valueOf(suitePassed));
-				suite.setAttribute("duration", String.valueOf(suiteDuration));
-				suite.setAttribute("actions", String.valueOf(actionsExecuted));
-				suite.setAttribute("testsPassed", String.valueOf(testsPassed));
-				report.appendChild(suite);
-			}
-
-			report.setAttribute("duration", String.valueOf(totalDuration));
-			report.setAttribute("tests", String.valueOf(totalTests));
-			report.setAttribute("testsPassed", String.valueOf(totalTestsPassed));
-			report.setAttribute("suitesPassed", String.valueOf(totalSuitesPassed));
-			report.setAttribute("actions", String.valueOf(totalActions));
-
-			Transformer transformer = TransformerFactory.newInstance().newTransformer();
-			transformer.transform(new DOMSource(writeXmlDocument),
-					new StreamResult(new OutputStreamWriter(
-							new FileOutputStream(outputFolderPath.resolve(XML_SOURCE_NAME).toFile()),
-							StandardCharsets.UTF_8)));
 
+				xml.writeEndElement();
+				xml.writeEndDocument();
+				xml.close();
+			}
 
 			File htmlTemplateFile = copyResource("suites_html.xml", outputFolderPath);
 
@@ -334,10 +368,10 @@ public class CampaignReportGenerator {
 			final Transformer htmlTransformer = TransformerFactory.newInstance().newTransformer(new StreamSource(htmlTemplateFile));
 
 			htmlTransformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-			htmlTransformer.transform(
-					new DOMSource(builder.parse(new InputSource(
-							new InputStreamReader(Files.newInputStream(atsXmlDataPath), StandardCharsets.UTF_8)))),
-					new StreamResult(filteredWriter));
+
+			try (Reader xmlDataReader = Files.newBufferedReader(atsXmlDataPath, StandardCharsets.UTF_8)){
+				htmlTransformer.transform(new StreamSource(xmlDataReader), new StreamResult(filteredWriter));
+			}
 
 			filteredWriter.close();
 
@@ -378,8 +412,8 @@ public class CampaignReportGenerator {
 					// Build Jasper reports
 					//-----------------------------------------------------------------------------------------------------	
 
-					builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-					writeXmlDocument = builder.newDocument();
+					final DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+					final Document writeXmlDocument = builder.newDocument();
 
 					final Element project = writeXmlDocument.createElement("project");
 					project.setAttribute("default", "run");
@@ -435,8 +469,7 @@ public class CampaignReportGenerator {
 
 					final File buildFile = outputFolderPath.resolve("build-report.xml").toFile();
 
-					transformer = TransformerFactory.newInstance().newTransformer();
-					transformer = TransformerFactory.newInstance().newTransformer();
+					final Transformer transformer = TransformerFactory.newInstance().newTransformer();
 					transformer.transform(new DOMSource(project),
 							new StreamResult(new OutputStreamWriter(
 									new FileOutputStream(buildFile),
@@ -514,6 +547,42 @@ public class CampaignReportGenerator {
 		}
 	}
 
+	/**
+	 * Read summaries of tests reports with a bounded pool of workers, summaries of unchanged reports are found in the cache
+	 */
+	private static Map<File, TestSummary> readSummaries(CampaignReportCache cache, List<File> xmlDataFiles) throws IOException {
+
+		final int workers = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+		final ExecutorService pool = Executors.newFixedThreadPool(workers);
+
+		try {
+			final List<Future<TestSummary>> futures = new ArrayList<Future<TestSummary>>();
+			for (File xmlDataFile : xmlDataFiles) {
+				futures.add(pool.submit(() -> cache.getSummary(xmlDataFile)));
+			}
+
+			final Map<File, TestSummary> summaries = new HashMap<File, TestSummary>();
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					summaries.put(xmlDataFiles.get(i), futures.get(i).get());
+				} catch (ExecutionException e) {
+					System.out.println("Unable to read test report : " + xmlDataFiles.get(i).getAbsolutePath() + " -> " + e.getCause().getMessage());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException(e);
+				}
+			}
+			return summaries;
+
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static void writeAttribute(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+		xml.writeAttribute(name, value == null ? "" : value);
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private static void generatePdf(String reportName, String outputPath, File jasperFolder) throws ClassNotFoundException, NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException, InvocationTargetException, IOException {
 
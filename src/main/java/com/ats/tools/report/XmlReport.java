@@ -1,5 +1,6 @@
 package com.ats.tools.report;
 
+import com.ats.executor.TestBound;
 import com.ats.recorder.VisualAction;
 import com.ats.recorder.VisualImage;
 import com.ats.recorder.VisualReport;
@@ -7,372 +8,431 @@ import com.ats.recorder.ReportSummary;
 import com.ats.tools.Utils;
 import com.ats.tools.logger.ExecutionLogger;
 import com.exadel.flamingo.flex.messaging.amf.io.AMF3Deserializer;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Date;
-
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Convert an ATSV file to an XML report, the ATSV file is read as a stream :
+ * XML of actions is written as soon as an action is read and images are saved by a bounded pool of workers,
+ * so only a few screenshots are in memory at the same time.
+ */
 public class XmlReport {
 
 	public static String REPORT_FILE = "actions.xml";
 
+	//actions are written before the summary found at the end of the ATSV file, the summary is part of the script header
+	private static final String ACTIONS_FILE = "actions.tmp";
+
+	private static final String ENCODING = "UTF-8";
+	private static final String XML_VERSION = "1.0";
+
 	public static void createReport(Path output, String qualifiedName, ExecutionLogger logger) {
 
 		final File atsvFile = output.resolve(qualifiedName + ".atsv").toFile();
+		final File xmlFolder = output.resolve(qualifiedName + "_xml").toFile();
 
 		if(atsvFile.exists()) {
-
-			final File xmlFolder = output.resolve(qualifiedName + "_xml").toFile();
 			logger.sendInfo("Create XML report", xmlFolder.getAbsolutePath());
+		}else {
+			logger.sendInfo("Create empty XML report because no ATSV file founded", xmlFolder.getAbsolutePath());
+		}
 
-			final ArrayList<VisualImage> imagesList = new ArrayList<VisualImage>();
-			final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		try {
+			Utils.deleteRecursive(xmlFolder);
+		} catch (FileNotFoundException e) {}
 
-			try {
-				Utils.deleteRecursive(xmlFolder);
-			} catch (FileNotFoundException e) {}
+		xmlFolder.mkdirs();
+		final Path xmlFolderPath = xmlFolder.toPath();
 
-			xmlFolder.mkdirs();
-			final Path xmlFolderPath = xmlFolder.toPath();
+		if(atsvFile.exists()) {
+			createReport(atsvFile, xmlFolderPath, logger);
+		}else {
+			createEmptyReport(qualifiedName, xmlFolderPath, logger);
+		}
 
-			try {
+		logger.sendInfo("XML report generated", xmlFolder.getAbsolutePath());
+	}
 
-				final DocumentBuilder builder = factory.newDocumentBuilder();
-				final Document document = builder.newDocument();
+	//------------------------------------------------------------------------------------------------------
+	// ATSV conversion
+	//------------------------------------------------------------------------------------------------------
 
-				FileInputStream fis = null;
-				AMF3Deserializer amf3 = null;
+	private static void createReport(File atsvFile, Path xmlFolderPath, ExecutionLogger logger) {
 
-				try {
+		final XMLOutputFactory factory = XMLOutputFactory.newInstance();
+		final Path actionsFile = xmlFolderPath.resolve(ACTIONS_FILE);
 
-					fis = new FileInputStream(atsvFile);
-					amf3 = new AMF3Deserializer(fis);
+		final int workers = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+		final ThreadPoolExecutor imagesPool = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(workers), new ThreadPoolExecutor.CallerRunsPolicy());
 
-					final Element atsRoot = document.createElement("ats");
-					document.appendChild(atsRoot);
+		VisualReport report = null;
+		ReportSummary summary = null;
 
-					//------------------------------------------------------------------------------------------------------
-					// script header
-					//------------------------------------------------------------------------------------------------------
+		try (
+				InputStream fis = new BufferedInputStream(new FileInputStream(atsvFile));
+				Writer writer = Files.newBufferedWriter(actionsFile, StandardCharsets.UTF_8)
+				) {
 
-					final VisualReport report = (VisualReport) amf3.readObject();
-					final Element script = document.createElement("script");
+			final AtsvReader amf3 = new AtsvReader(fis);
+			final XMLStreamWriter actions = factory.createXMLStreamWriter(writer);
 
-					atsRoot.appendChild(script);
+			actions.writeStartDocument(ENCODING, XML_VERSION);
+			actions.writeStartElement("actions");
 
-					script.setAttribute("testId", report.getId());					
-					script.setAttribute("testName", report.getName());
+			report = (VisualReport) amf3.readObject();
 
-					script.setAttribute("cpuSpeed", String.valueOf(report.getCpuSpeed()));
-					script.setAttribute("cpuCount", String.valueOf(report.getCpuCount()));
-					script.setAttribute("totalMemory", String.valueOf(report.getTotalMemory()));		
-					script.setAttribute("osInfo", report.getOsInfo());	
+			while(amf3.available() > 0) {
 
-					Element description = document.createElement("description");
-					description.setTextContent(report.getDescription());
-					script.appendChild(description);
+				final Object obj = amf3.readObject();
 
-					Element author = document.createElement("author");
-					author.setTextContent(report.getAuthor());
-					script.appendChild(author);
+				if(obj instanceof VisualAction) {
 
-					Element prerequisite = document.createElement("prerequisite");
-					prerequisite.setTextContent(report.getPrerequisite());
-					script.appendChild(prerequisite);
+					final VisualAction va = (VisualAction) obj;
+					writeAction(actions, va);
 
-					Element started = document.createElement("started");
-					started.setTextContent(report.getStarted());
-					script.appendChild(started);
+					final VisualImage image = va.getImage(xmlFolderPath);
+					if(image != null) {
+						imagesPool.execute(image::save);
+					}
 
-					Element groups = document.createElement("groups");
-					groups.setTextContent(report.getGroups());
-					script.appendChild(groups);
+					amf3.releaseImages(va.getImages());
+					va.setImages(null);
 
-					Element quality = document.createElement("quality");
-					quality.setTextContent(String.valueOf(report.getQuality()));
-					script.appendChild(quality);
+				} else if(obj instanceof ReportSummary){
+					summary = (ReportSummary)obj;
+				}
+			}
 
-					//------------------------------------------------------------------------------------------------------
-					//------------------------------------------------------------------------------------------------------
+			actions.writeEndElement();
+			actions.writeEndDocument();
+			actions.close();
+
+		} catch (FileNotFoundException e0) {
+			logger.sendError("XML report stream error ->", e0.getMessage());
+		} catch (IOException e1) {
+			logger.sendError("XML report file error ->", e1.getMessage());
+		} catch (Exception e2) {
+			logger.sendError("XML report exception ->", e2.getMessage());
+		} finally {
+			imagesPool.shutdown();
+		}
 
-					Element actions = document.createElement("actions");
-					atsRoot.appendChild(actions);
+		try (Writer writer = Files.newBufferedWriter(xmlFolderPath.resolve(REPORT_FILE), StandardCharsets.UTF_8)){
 
-					while(amf3.available() > 0) {
+			final XMLStreamWriter xml = factory.createXMLStreamWriter(writer);
 
-						final Object obj = amf3.readObject();
+			xml.writeStartDocument(ENCODING, XML_VERSION);
+			xml.writeStartElement("ats");
 
-						if(obj instanceof VisualAction) {
+			if(report != null) {
+				xml.writeStartElement("script");
 
-							final VisualAction va = (VisualAction) obj;
+				writeAttribute(xml, "testId", report.getId());
+				writeAttribute(xml, "testName", report.getName());
+				writeAttribute(xml, "cpuSpeed", String.valueOf(report.getCpuSpeed()));
+				writeAttribute(xml, "cpuCount", String.valueOf(report.getCpuCount()));
+				writeAttribute(xml, "totalMemory", String.valueOf(report.getTotalMemory()));
+				writeAttribute(xml, "osInfo", report.getOsInfo());
 
-							final Element action = document.createElement("action");
-							action.setAttribute("index", String.valueOf(va.getIndex()));
-							action.setAttribute("type", va.getType());
+				writeElement(xml, "description", report.getDescription());
+				writeElement(xml, "author", report.getAuthor());
+				writeElement(xml, "prerequisite", report.getPrerequisite());
+				writeElement(xml, "started", report.getStarted());
+				writeElement(xml, "groups", report.getGroups());
+				writeElement(xml, "quality", String.valueOf(report.getQuality()));
 
-							action.appendChild(document.createElement("line")).setTextContent(String.valueOf(va.getLine()));
-							action.appendChild(document.createElement("script")).setTextContent(va.getScript());
-							action.appendChild(document.createElement("timeLine")).setTextContent(String.valueOf(va.getTimeLine()));
-							action.appendChild(document.createElement("error")).setTextContent(String.valueOf(va.getError()));
-							action.appendChild(document.createElement("stop")).setTextContent(String.valueOf(va.isStop()));
-							action.appendChild(document.createElement("duration")).setTextContent(String.valueOf(va.getDuration()));
-							action.appendChild(document.createElement("passed")).setTextContent((String.valueOf(va.getError() == 0)));
-							action.appendChild(document.createElement("value")).setTextContent(va.getValue());
-							action.appendChild(document.createElement("data")).setTextContent(va.getData());
+				if(summary != null) {
+					writeSummary(xml, summary);
+				}
 
-							Element elem = document.createElement("img");
-							elem.setAttribute("src", va.getImageFileName());
-							elem.setAttribute("width", String.valueOf(va.getChannelBound().getWidth().intValue()));
-							elem.setAttribute("height", String.valueOf(va.getChannelBound().getHeight().intValue()));
-							action.appendChild(elem);
+				xml.writeEndElement();
+			}
 
-							Element channel = document.createElement("channel");
-							channel.setAttribute("name", va.getChannelName());
+			copyActions(actionsFile, xml);
 
-							Element channelBound = document.createElement("bound");
-							Element channelX = document.createElement("x");
-							channelX.setTextContent(String.valueOf(va.getChannelBound().getX().intValue()));
-							channelBound.appendChild(channelX);
+			xml.writeEndElement();
+			xml.writeEndDocument();
+			xml.close();
 
-							Element channelY = document.createElement("y");
-							channelY.setTextContent(String.valueOf(va.getChannelBound().getY().intValue()));
-							channelBound.appendChild(channelY);
-
-							Element channelWidth = document.createElement("width");
-							channelWidth.setTextContent(String.valueOf(va.getChannelBound().getWidth().intValue()));
-							channelBound.appendChild(channelWidth);
-
-							Element channelHeight = document.createElement("height");
-							channelHeight.setTextContent(String.valueOf(va.getChannelBound().getHeight().intValue()));
-							channelBound.appendChild(channelHeight);
-
-							channel.appendChild(channelBound);
-							action.appendChild(channel);
-
-							if(va.getElement() != null) {
-
-								Element element = document.createElement("element");
-								element.setAttribute("tag", va.getElement().getTag());
-
-								Element criterias = document.createElement("criterias");
-								criterias.setTextContent(va.getElement().getCriterias());
-								element.appendChild(criterias);
-
-								Element foundElements = document.createElement("foundElements");
-								foundElements.setTextContent(String.valueOf(va.getElement().getFoundElements()));
-								element.appendChild(foundElements);
-
-								Element searchDuration = document.createElement("searchDuration");
-								searchDuration.setTextContent(String.valueOf(va.getElement().getSearchDuration()));
-								element.appendChild(searchDuration);
-
-								Element elementBound = document.createElement("bound");
-								Element elementX = document.createElement("x");
-								elementX.setTextContent(String.valueOf(va.getElement().getBound().getX().intValue()));
-								elementBound.appendChild(elementX);
-
-								Element elementY = document.createElement("y");
-								elementY.setTextContent(String.valueOf(va.getElement().getBound().getY().intValue()));
-								elementBound.appendChild(elementY);
-
-								Element elementWidth = document.createElement("width");
-								elementWidth.setTextContent(String.valueOf(va.getElement().getBound().getWidth().intValue()));
-								elementBound.appendChild(elementWidth);
-
-								Element elementHeight = document.createElement("height");
-								elementHeight.setTextContent(String.valueOf(va.getElement().getBound().getHeight().intValue()));
-								elementBound.appendChild(elementHeight);
-
-								element.appendChild(elementBound);
-								action.appendChild(element);
-							}
-
-							actions.appendChild(action);
-
-							va.addImage(xmlFolderPath, imagesList);
-
-						} else if(obj instanceof ReportSummary){
-							
-							final ReportSummary reportSummary = (ReportSummary)obj;
-							
-							final Element summary = document.createElement("summary");
-							
-							summary.setAttribute("actions", String.valueOf(reportSummary.getActions()));
-							summary.setAttribute("suiteName", reportSummary.getSuiteName());
-							summary.setAttribute("testName", reportSummary.getTestName());
-							summary.setAttribute("status", String.valueOf(reportSummary.getStatus()));
-							
-							final Element data = document.createElement("data");
-							if(!ReportSummary.EMPTY_VALUE.equals(reportSummary.getData())) {
-								data.setTextContent(reportSummary.getData());
-							}
-							summary.appendChild(data);
-							
-							if(reportSummary.getStatus() == 0 && reportSummary.getError() != null) {
-								final Element error = document.createElement("error");
-								error.setAttribute("script", reportSummary.getError().getScriptName());
-								error.setAttribute("line", String.valueOf(reportSummary.getError().getLine()));
-								error.setTextContent(reportSummary.getError().getMessage());
-								summary.appendChild(error);
-							}							
-
-							script.appendChild(summary);
-						}
-					}
+		} catch (XMLStreamException e3) {
+			logger.sendError("XML report transform error ->", e3.getMessage());
+		} catch (FileNotFoundException e4) {
+			logger.sendError("XML report write file error ->", e4.getMessage());
+		} catch (IOException e5) {
+			logger.sendError("XML report IO write file error ->", e5.getMessage());
+		} finally {
+			actionsFile.toFile().delete();
+		}
 
-				} catch (FileNotFoundException e0) {
-					logger.sendError("XML report stream error ->", e0.getMessage());
-				} catch (IOException e1) {
-					logger.sendError("XML report file error ->", e1.getMessage());
-				} catch (Exception e2) {
-					logger.sendError("XML report exception ->", e2.getMessage());
-				}finally {
-					try {
-						if(fis != null) {
-							fis.close();
-						}
-					} catch (IOException e) {
-						logger.sendError("XML report close stream error ->", e.getMessage());
-					}
-				}
+		try {
+			imagesPool.awaitTermination(10, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
 
-				imagesList.parallelStream().forEach(im -> im.save());
+	private static void writeAction(XMLStreamWriter xml, VisualAction va) throws XMLStreamException {
 
-				try {
+		xml.writeStartElement("action");
+		writeAttribute(xml, "index", String.valueOf(va.getIndex()));
+		writeAttribute(xml, "type", va.getType());
 
-					final BufferedWriter writer = Files.newBufferedWriter(xmlFolder.toPath().resolve(REPORT_FILE), StandardCharsets.UTF_8);
-					final Transformer transformer = TransformerFactory.newInstance().newTransformer();
-					transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-					
-					transformer.transform(new DOMSource(document), new StreamResult(writer));
+		writeElement(xml, "line", String.valueOf(va.getLine()));
+		writeElement(xml, "script", va.getScript());
+		writeElement(xml, "timeLine", String.valueOf(va.getTimeLine()));
+		writeElement(xml, "error", String.valueOf(va.getError()));
+		writeElement(xml, "stop", String.valueOf(va.isStop()));
+		writeElement(xml, "duration", String.valueOf(va.getDuration()));
+		writeElement(xml, "passed", String.valueOf(va.getError() == 0));
+		writeElement(xml, "value", va.getValue());
+		writeElement(xml, "data", va.getData());
 
-				} catch (TransformerConfigurationException e2) {
-					logger.sendError("XML report config error ->", e2.getMessage());
-				} catch (TransformerException e3) {
-					logger.sendError("XML report transform error ->", e3.getMessage());
-				} catch (FileNotFoundException e4) {
-					logger.sendError("XML report write file error ->", e4.getMessage());
-				} catch (IOException e5) {
-					logger.sendError("XML report IO write file error ->", e5.getMessage());
-				}
+		xml.writeStartElement("img");
+		writeAttribute(xml, "src", va.getImageFileName());
+		writeAttribute(xml, "width", String.valueOf(va.getChannelBound().getWidth().intValue()));
+		writeAttribute(xml, "height", String.valueOf(va.getChannelBound().getHeight().intValue()));
+		xml.writeEndElement();
 
-			} catch (ParserConfigurationException e4) {
-				logger.sendError("XML report parser error ->", e4.getMessage());
-			}
+		xml.writeStartElement("channel");
+		writeAttribute(xml, "name", va.getChannelName());
+		writeBound(xml, va.getChannelBound());
+		xml.writeEndElement();
 
-			logger.sendInfo("XML report generated", xmlFolder.getAbsolutePath());
-		} else {
-			///TODO Create empty xml
-			final File xmlFolder = output.resolve(qualifiedName + "_xml").toFile();
-			logger.sendInfo("Create empty XML report because no ATSV file founded", xmlFolder.getAbsolutePath());
-			
-			final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-			
-			try {
-				Utils.deleteRecursive(xmlFolder);
-			} catch (FileNotFoundException e) {}
+		if(va.getElement() != null) {
 
-			xmlFolder.mkdirs();
-			
-			try {
+			xml.writeStartElement("element");
+			writeAttribute(xml, "tag", va.getElement().getTag());
 
-				final DocumentBuilder builder = factory.newDocumentBuilder();
-				final Document document= builder.newDocument();
+			writeElement(xml, "criterias", va.getElement().getCriterias());
+			writeElement(xml, "foundElements", String.valueOf(va.getElement().getFoundElements()));
+			writeElement(xml, "searchDuration", String.valueOf(va.getElement().getSearchDuration()));
+			writeBound(xml, va.getElement().getBound());
 
-				try {
+			xml.writeEndElement();
+		}
 
-					final Element atsRoot = document.createElement("ats");
-					document.appendChild(atsRoot);
+		xml.writeEndElement();
+	}
 
-					//------------------------------------------------------------------------------------------------------
-					// script header
-					//------------------------------------------------------------------------------------------------------
-					final Element script = document.createElement("script");
+	private static void writeBound(XMLStreamWriter xml, TestBound bound) throws XMLStreamException {
+		xml.writeStartElement("bound");
+		writeElement(xml, "x", String.valueOf(bound.getX().intValue()));
+		writeElement(xml, "y", String.valueOf(bound.getY().intValue()));
+		writeElement(xml, "width", String.valueOf(bound.getWidth().intValue()));
+		writeElement(xml, "height", String.valueOf(bound.getHeight().intValue()));
+		xml.writeEndElement();
+	}
 
-					atsRoot.appendChild(script);
+	private static void writeSummary(XMLStreamWriter xml, ReportSummary reportSummary) throws XMLStreamException {
 
-					script.setAttribute("testId", "");					
-					script.setAttribute("testName", qualifiedName);
+		xml.writeStartElement("summary");
 
-					script.setAttribute("cpuSpeed", "");
-					script.setAttribute("cpuCount", "");
-					script.setAttribute("totalMemory", "");		
-					script.setAttribute("osInfo", "");	
+		writeAttribute(xml, "actions", String.valueOf(reportSummary.getActions()));
+		writeAttribute(xml, "suiteName", reportSummary.getSuiteName());
+		writeAttribute(xml, "testName", reportSummary.getTestName());
+		writeAttribute(xml, "status", String.valueOf(reportSummary.getStatus()));
 
-					Element description = document.createElement("description");
-					description.setTextContent("This script is empty");
-					script.appendChild(description);
+		if(ReportSummary.EMPTY_VALUE.equals(reportSummary.getData())) {
+			writeElement(xml, "data", null);
+		}else {
+			writeElement(xml, "data", reportSummary.getData());
+		}
 
-					Element author = document.createElement("author");
-					author.setTextContent("");
-					script.appendChild(author);
+		if(reportSummary.getStatus() == 0 && reportSummary.getError() != null) {
+			xml.writeStartElement("error");
+			writeAttribute(xml, "script", reportSummary.getError().getScriptName());
+			writeAttribute(xml, "line", String.valueOf(reportSummary.getError().getLine()));
+			writeText(xml, reportSummary.getError().getMessage());
+			xml.writeEndElement();
+		}
 
-					Element prerequisite = document.createElement("prerequisite");
-					prerequisite.setTextContent("");
-					script.appendChild(prerequisite);
+		xml.writeEndElement();
+	}
+
+	/**
+	 * Append the actions written in the temporary file to the report, elements are copied one by one without any DOM
+	 */
+	private static void copyActions(Path actionsFile, XMLStreamWriter xml) throws IOException, XMLStreamException {
 
-					Element started = document.createElement("started");
-					started.setTextContent(String.valueOf(new Date().getTime()));
-					script.appendChild(started);
+		if(!actionsFile.toFile().exists()) {
+			xml.writeEmptyElement("actions");
+			return;
+		}
 
-					Element groups = document.createElement("groups");
-					groups.setTextContent("");
-					script.appendChild(groups);
+		try (Reader reader = Files.newBufferedReader(actionsFile, StandardCharsets.UTF_8)){
 
-					Element quality = document.createElement("quality");
-					quality.setTextContent("");
-					script.appendChild(quality);
+			final XMLStreamReader actions = XMLInputFactory.newInstance().createXMLStreamReader(reader);
 
-					//------------------------------------------------------------------------------------------------------
-					//------------------------------------------------------------------------------------------------------
+			copyElements(actions, xml);
 
-					Element actions = document.createElement("actions");
-					atsRoot.appendChild(actions);
-				} catch (Exception e2) {
-					logger.sendError("XML report exception", e2.getMessage());
-				}finally {
+			actions.close();
+
+		} catch (XMLStreamException e) {
+			//the actions file is incomplete if the ATSV file is corrupted
+			xml.writeEmptyElement("actions");
+		}
+	}
+
+	/**
+	 * Copy elements and texts read by the reader to the writer
+	 *
+	 * @param rootAttributes names and values of attributes added to the first element copied
+	 */
+	static void copyElements(XMLStreamReader reader, XMLStreamWriter xml, String... rootAttributes) throws XMLStreamException {
+		int depth = 0;
+		while(reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				xml.writeStartElement(reader.getLocalName());
+				for(int i = 0; i < reader.getAttributeCount(); i++) {
+					xml.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+				}
+				if(depth == 0) {
+					for(int i = 0; i + 1 < rootAttributes.length; i += 2) {
+						xml.writeAttribute(rootAttributes[i], rootAttributes[i + 1]);
+					}
 				}
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				xml.writeEndElement();
+				depth--;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				if(depth > 0) {
+					xml.writeCharacters(reader.getText());
+				}
+				break;
+			}
+		}
+	}
+
+	//------------------------------------------------------------------------------------------------------
+	// empty report
+	//------------------------------------------------------------------------------------------------------
+
+	private static void createEmptyReport(String qualifiedName, Path xmlFolderPath, ExecutionLogger logger) {
+
+		try (Writer writer = Files.newBufferedWriter(xmlFolderPath.resolve(REPORT_FILE), StandardCharsets.UTF_8)){
+
+			final XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(writer);
+
+			xml.writeStartDocument(ENCODING, XML_VERSION);
+			xml.writeStartElement("ats");
+
+			xml.writeStartElement("script");
+
+			writeAttribute(xml, "testId", "");
+			writeAttribute(xml, "testName", qualifiedName);
+			writeAttribute(xml, "cpuSpeed", "");
+			writeAttribute(xml, "cpuCount", "");
+			writeAttribute(xml, "totalMemory", "");
+			writeAttribute(xml, "osInfo", "");
+
+			writeElement(xml, "description", "This script is empty");
+			writeElement(xml, "author", "");
+			writeElement(xml, "prerequisite", "");
+			writeElement(xml, "started", String.valueOf(new Date().getTime()));
+			writeElement(xml, "groups", "");
+			writeElement(xml, "quality", "");
+
+			xml.writeEndElement();
+
+			xml.writeEmptyElement("actions");
+
+			xml.writeEndElement();
+			xml.writeEndDocument();
+			xml.close();
+
+		} catch (XMLStreamException e3) {
+			logger.sendError("XML report transform error", e3.getMessage());
+		} catch (IOException e4) {
+			logger.sendError("XML report write file error", e4.getMessage());
+		}
+	}
+
+	//------------------------------------------------------------------------------------------------------
+	// utils
+	//------------------------------------------------------------------------------------------------------
 
-				try {
-
-					final Transformer transformer = TransformerFactory.newInstance().newTransformer();
-					transformer.transform(
-							new DOMSource(document), 
-							new StreamResult(
-									new OutputStreamWriter(
-											new FileOutputStream(
-													xmlFolder.toPath().resolve(REPORT_FILE).toFile()), 
-											StandardCharsets.UTF_8)));
-
-				} catch (TransformerConfigurationException e2) {
-					logger.sendError("XML report config error", e2.getMessage());
-				} catch (TransformerException e3) {
-					logger.sendError("XML report transform error", e3.getMessage());
-				} catch (FileNotFoundException e4) {
-					logger.sendError("XML report write file error", e4.getMessage());
+	private static void writeAttribute(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+		xml.writeAttribute(name, value == null ? "" : value);
+	}
+
+	private static void writeElement(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+		xml.writeStartElement(name);
+		writeText(xml, text);
+		xml.writeEndElement();
+	}
+
+	private static void writeText(XMLStreamWriter xml, String text) throws XMLStreamException {
+		if(text != null) {
+			xml.writeCharacters(text);
+		}
+	}
+
+	/**
+	 * Images of an action are not referenced by the next objects of the ATSV file,
+	 * once the action has been converted its image bytes (and the array holding them) are removed from the references table,
+	 * other objects are kept so they can still be referenced by the next actions
+	 */
+	private static class AtsvReader extends AMF3Deserializer {
+
+		private int released = 0;
+
+		public AtsvReader(InputStream in) {
+			super(in);
+		}
+
+		public void releaseImages(List<byte[]> images) {
+			if(images != null && images.size() > 0) {
+				for(int i = released; i < storedObjects.size(); i++) {
+					final Object o = storedObjects.get(i);
+					if(o instanceof byte[] && containsImage(images, o)) {
+						storedObjects.set(i, null);
+					}else if(o instanceof Object[] && isImagesArray(images, (Object[])o)) {
+						storedObjects.set(i, null);
+					}
 				}
+			}
+			released = storedObjects.size();
+		}
 
-			} catch (ParserConfigurationException e4) {
-				logger.sendError("XML report parser error", e4.getMessage());
+		private static boolean isImagesArray(List<byte[]> images, Object[] array) {
+			if(array.length == 0) {
+				return false;
 			}
+			for(Object o : array) {
+				if(!containsImage(images, o)) {
+					return false;
+				}
+			}
+			return true;
+		}
 
-			logger.sendInfo("XML report generated", xmlFolder.getAbsolutePath());
-			
+		private static boolean containsImage(List<byte[]> images, Object o) {
+			for(byte[] image : images) {
+				if(image == o) {
+					return true;
+				}
+			}
+			return false;
 		}
 	}
-}
\ No newline at end of file
+}
@@ -22,7 +22,7 @@ package com.exadel.flamingo.flex.messaging.amf.io;
 
 import com.exadel.flamingo.flex.amf.AMF3Constants;
 import com.exadel.flamingo.flex.messaging.amf.io.util.ActionScriptClassDescriptor;
-import com.exadel.flamingo.flex.messaging.amf.io.util.DefaultActionScriptClassDescriptor;
+import com.exadel.flamingo.flex.messaging.amf.io.util.ClassDescriptorCache;
 import com.exadel.flamingo.flex.messaging.amf.io.util.externalizer.Externalizer;
 import com.exadel.flamingo.flex.messaging.amf.io.util.instanciator.AbstractInstanciator;
 import com.exadel.flamingo.flex.messaging.util.StringUtil;
@@ -288,15 +288,16 @@ public class AMF3Deserializer extends DataInputStream implements ObjectInput, AM
             	String className = readAMF3String();
             	if (debug) debug("readAMF3Object() - className=", StringUtil.toString(className));
                 
-                desc = new DefaultActionScriptClassDescriptor(className, encoding);
-                addToStoredClassDescriptors(desc);
-
                 if (debug) debug("readAMF3Object() - defining ", String.valueOf(propertiesCount), " properties...");
+                String[] names = new String[propertiesCount];
                 for (int i = 0; i < propertiesCount; i++) {
-                    String name = readAMF3String();
-                    if (debug) debug("readAMF3Object() - defining property name=", name);
-                    desc.defineProperty(name);
+                    names[i] = readAMF3String();
+                    if (debug) debug("readAMF3Object() - defining property name=", names[i]);
                 }
+
+                // descriptors are shared, properties are introspected once by class and properties names
+                desc = ClassDescriptorCache.getActionScriptClassDescriptor(className, encoding, names);
+                addToStoredClassDescriptors(desc);
             } else
                 desc = getFromStoredClassDescriptors(type >> 2);
 
@@ -348,7 +349,7 @@ public class AMF3Deserializer extends DataInputStream implements ObjectInput, AM
 	                if (debug) debug("readAMF3Object() - reading defined properties...");
 		            for (int i = 0; i < desc.getPropertiesCount(); i++) {
 		                byte vType = readByte();
-		                Object value = readObject(vType);
+		                Object value = readPropertyValue(desc, i, result, vType);
 		                if (debug) debug(
 		                	"readAMF3Object() - setting defined property: ", desc.getPropertyName(i),
 		                	"=", StringUtil.toString(value)
@@ -391,6 +392,14 @@ public class AMF3Deserializer extends DataInputStream implements ObjectInput, AM
         return result;
     }
     
+    /**
+     * Read the value of a defined property, subclasses may decode some values while they are read
+     * (the returned value is set to the property of the instance).
+     */
+    protected Object readPropertyValue(ActionScriptClassDescriptor desc, int index, Object instance, int type) throws IOException {
+        return readObject(type);
+    }
+
     protected Document readAMF3Xml() throws IOException {
         String xml = readAMF3XmlString();
         Document result = xmlUtil.buildDocument(xml);
@@ -0,0 +1,129 @@
+/*
+  GRANITE DATA SERVICES
+  Copyright (C) 2007 ADEQUATE SYSTEMS SARL
+
+  This file is part of Granite Data Services.
+
+  Granite Data Services is free software; you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation; either version 3 of the License, or (at your
+  option) any later version.
+ 
+  Granite Data Services is distributed in the hope that it will be useful, but
+  WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+  FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+  for more details.
+ 
+  You should have received a copy of the GNU Lesser General Public License
+  along with this library; if not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.exadel.flamingo.flex.messaging.amf.io.util;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Global and thread safe cache of class descriptors and properties accessors.
+ *
+ * ActionScript class descriptors are keyed by class name, encoding and properties names, a same descriptor
+ * is shared by all deserializers once its properties are defined. Properties accessors of a Java class
+ * (public getter/setter pairs, then other public fields) are introspected once by class.
+ */
+public abstract class ClassDescriptorCache {
+
+    private static final Converter converter = new DefaultConverter();
+
+    private static final ConcurrentMap<String, ActionScriptClassDescriptor> actionScriptDescriptors = new ConcurrentHashMap<String, ActionScriptClassDescriptor>();
+
+    private static final ConcurrentMap<Class<?>, Map<String, Property>> classProperties = new ConcurrentHashMap<Class<?>, Map<String, Property>>();
+
+    public static ActionScriptClassDescriptor getActionScriptClassDescriptor(String type, byte encoding, String[] propertiesNames) {
+
+        final StringBuilder key = new StringBuilder().append(encoding).append(':').append(type);
+        for (String name : propertiesNames)
+            key.append('\n').append(name);
+
+        ActionScriptClassDescriptor desc = actionScriptDescriptors.get(key.toString());
+        if (desc == null) {
+            desc = new DefaultActionScriptClassDescriptor(type, encoding);
+            for (String name : propertiesNames)
+                desc.defineProperty(name);
+
+            final ActionScriptClassDescriptor previous = actionScriptDescriptors.putIfAbsent(key.toString(), desc);
+            if (previous != null)
+                desc = previous;
+        }
+        return desc;
+    }
+
+    /**
+     * @return read/write properties and other public fields of the class, in introspection order
+     */
+    public static List<Property> getProperties(Class<?> type) {
+        return new ArrayList<Property>(getClassProperties(type).values());
+    }
+
+    /**
+     * @return the property with public getter/setter or the public field of the class, null if the field is static or transient
+     */
+    public static Property getProperty(Class<?> type, String name) {
+        final Property property = getClassProperties(type).get(name);
+        if (property != null)
+            return property;
+
+        try {
+            // throws an error if there is no such field (static or transient fields are ignored)
+            type.getField(name);
+            return null;
+        } catch (NoSuchFieldException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Remove all descriptors and accessors, they will be introspected again
+     */
+    public static void clear() {
+        actionScriptDescriptors.clear();
+        classProperties.clear();
+    }
+
+    private static Map<String, Property> getClassProperties(Class<?> type) {
+        return classProperties.computeIfAbsent(type, ClassDescriptorCache::introspect);
+    }
+
+    private static Map<String, Property> introspect(Class<?> type) {
+
+        final Map<String, Property> properties = new LinkedHashMap<String, Property>();
+        try {
+            // Add read/write properties (ie: public getter/setter).
+            final BeanInfo info = Introspector.getBeanInfo(type);
+            for (PropertyDescriptor property : info.getPropertyDescriptors()) {
+                if (property.getWriteMethod() != null && property.getReadMethod() != null)
+                    properties.put(property.getName(), new MethodProperty(converter, property.getName(), property.getWriteMethod(), property.getReadMethod()));
+            }
+        } catch (IntrospectionException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Add other public fields.
+        for (Field field : type.getFields()) {
+            if (!properties.containsKey(field.getName()) && !Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()))
+                properties.put(field.getName(), new FieldProperty(converter, field.getName(), field));
+        }
+
+        return Collections.unmodifiableMap(properties);
+    }
+}
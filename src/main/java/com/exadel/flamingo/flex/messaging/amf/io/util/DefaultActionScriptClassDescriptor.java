@@ -22,11 +22,9 @@ package com.exadel.flamingo.flex.messaging.amf.io.util;
 
 import com.exadel.flamingo.flex.messaging.util.ClassUtil;
 
-import java.beans.BeanInfo;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.HashMap;
 
 /**
@@ -34,6 +32,10 @@ import java.util.HashMap;
  */
 public class DefaultActionScriptClassDescriptor extends ActionScriptClassDescriptor {
 
+    // descriptors are shared by deserializers, the class is loaded once
+    private volatile Class<?> javaClass;
+    private MethodHandle constructor;
+
     public DefaultActionScriptClassDescriptor(String type, byte encoding) {
         super(type, encoding);
     }
@@ -47,29 +49,36 @@ public class DefaultActionScriptClassDescriptor extends ActionScriptClassDescrip
             properties.add(new UIDProperty(converter));
         else {
             try {
-                Class<?> clazz = ClassUtil.forName(type);
-
-                // Try to find public getter/setter.
-                BeanInfo info = Introspector.getBeanInfo(clazz);
-                PropertyDescriptor[] props = info.getPropertyDescriptors();
-                for (PropertyDescriptor prop : props) {
-                    if (name.equals(prop.getName()) && prop.getWriteMethod() != null && prop.getReadMethod() != null) {
-                        properties.add(new MethodProperty(converter, name, prop.getWriteMethod(), prop.getReadMethod()));
-                        return;
-                    }
-                }
-
-                // Try to find public field.
-                Field field = clazz.getField(name);
-                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()))
-                    properties.add(new FieldProperty(converter, name, field));
+                // Public getter/setter or public field.
+                Property property = ClassDescriptorCache.getProperty(getJavaClass(), name);
+                if (property != null)
+                    properties.add(property);
 
+            } catch (RuntimeException e) {
+                throw e;
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
         }
     }
 
+    private Class<?> getJavaClass() throws ClassNotFoundException {
+        if (javaClass == null) {
+            synchronized (this) {
+                if (javaClass == null) {
+                    Class<?> clazz = ClassUtil.forName(type);
+                    try {
+                        constructor = MethodHandles.publicLookup().findConstructor(clazz, MethodType.methodType(void.class)).asType(MethodType.methodType(Object.class));
+                    } catch (NoSuchMethodException | IllegalAccessException e) {
+                        // instances are created by reflection
+                    }
+                    javaClass = clazz;
+                }
+            }
+        }
+        return javaClass;
+    }
+
     @Override
     public Object newJavaInstance() {
 
@@ -78,8 +87,11 @@ public class DefaultActionScriptClassDescriptor extends ActionScriptClassDescrip
 
         String className = type;
         try {
+            getJavaClass();
+            if (constructor != null)
+                return (Object)constructor.invokeExact();
             return ClassUtil.newInstance(className);
-        } catch (Exception e) {
+        } catch (Throwable e) {
             throw new RuntimeException("Could not create instance of: " + className, e);
         }
     }
@@ -20,11 +20,6 @@
 
 package com.exadel.flamingo.flex.messaging.amf.io.util;
 
-import java.beans.BeanInfo;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.*;
 
 /**
@@ -38,43 +33,12 @@ public class DefaultJavaClassDescriptor extends JavaClassDescriptor {
 
     @Override
     protected List<Property> introspectProperties() {
-        List<Property> properties = new ArrayList<Property>();
         Class<?> type = getType();
 
-        if (!isExternalizable() && !Map.class.isAssignableFrom(type) && !Hashtable.class.isAssignableFrom(type)) {
-            try {
+        // Read/write properties (ie: public getter/setter) and other public fields, introspected once by class.
+        if (!isExternalizable() && !Map.class.isAssignableFrom(type) && !Hashtable.class.isAssignableFrom(type))
+            return ClassDescriptorCache.getProperties(type);
 
-                Set<String> propertyNames = new HashSet<String>();
-
-                // Add read/write properties (ie: public getter/setter).
-                BeanInfo info = Introspector.getBeanInfo(type);
-                for (PropertyDescriptor property : info.getPropertyDescriptors()) {
-                    String propertyName = property.getName();
-                    if (property.getWriteMethod() != null && property.getReadMethod() != null) {
-                        properties.add(new MethodProperty(converter, propertyName, property.getWriteMethod(), property.getReadMethod()));
-                        propertyNames.add(propertyName);
-                    }
-                }
-
-                // Add other public fields.
-                Field[] fields = type.getFields();
-                for (Field field : fields) {
-                    String propertyName = field.getName();
-                    if (!propertyNames.contains(propertyName) &&
-                        !Modifier.isStatic(field.getModifiers()) &&
-                        !Modifier.isTransient(field.getModifiers())) {
-                        properties.add(new FieldProperty(converter, field.getName(), field));
-                        propertyNames.add(propertyName);
-                    }
-                }
-
-            } catch (RuntimeException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        }
-
-        return properties;
+        return new ArrayList<Property>();
     }
-}
\ No newline at end of file
+}
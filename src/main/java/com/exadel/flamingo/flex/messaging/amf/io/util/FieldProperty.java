@@ -20,6 +20,9 @@
 
 package com.exadel.flamingo.flex.messaging.amf.io.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 
 /**
@@ -28,18 +31,37 @@ import java.lang.reflect.Field;
 public class FieldProperty extends Property {
 
     private final Field field;
+
+    private final MethodHandle setterHandle;
+    private final MethodHandle getterHandle;
     
     public FieldProperty(Converter converter, String name, Field field) {
         super(converter, name);
         this.field = field;
+
+        MethodHandle setterHandle = null;
+        MethodHandle getterHandle = null;
+        try {
+            field.setAccessible(true);
+            setterHandle = MethodHandles.lookup().unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+            getterHandle = MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (RuntimeException | IllegalAccessException e) {
+            // final or inaccessible field, errors are thrown when the property is used
+        }
+        this.setterHandle = setterHandle;
+        this.getterHandle = getterHandle;
     }
 
     @Override
     public void setProperty(Object instance, Object value) {
         try {
-            field.setAccessible(true);
-            field.set(instance, convert(value, field.getType()));
-        } catch (Exception e) {
+            if (setterHandle != null)
+                setterHandle.invokeExact(instance, convert(value, field.getType()));
+            else {
+                field.setAccessible(true);
+                field.set(instance, convert(value, field.getType()));
+            }
+        } catch (Throwable e) {
             throw new RuntimeException(e);
         }
     }
@@ -47,9 +69,11 @@ public class FieldProperty extends Property {
     @Override
     public Object getProperty(Object instance) {
         try {
+            if (getterHandle != null)
+                return (Object)getterHandle.invokeExact(instance);
             field.setAccessible(true);
             return field.get(instance);
-        } catch (Exception e) {
+        } catch (Throwable e) {
             throw new RuntimeException(e);
         }
     }
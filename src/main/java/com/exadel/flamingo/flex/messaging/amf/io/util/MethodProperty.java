@@ -20,7 +20,11 @@
 
 package com.exadel.flamingo.flex.messaging.amf.io.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 
 /**
  * @author Franck WOLFF
@@ -29,18 +33,37 @@ public class MethodProperty extends Property {
 
     private final Method setter;
     private final Method getter;
+
+    private final Type setterType;
+    private final MethodHandle setterHandle;
+    private final MethodHandle getterHandle;
     
     public MethodProperty(Converter converter, String name, Method setter, Method getter) {
         super(converter, name);
         this.setter = setter;
         this.getter = getter;
+        this.setterType = setter.getGenericParameterTypes()[0];
+        this.setterHandle = unreflect(setter, MethodType.methodType(void.class, Object.class, Object.class));
+        this.getterHandle = unreflect(getter, MethodType.methodType(Object.class, Object.class));
+    }
+
+    // accessors of non public classes are still called by reflection
+    private static MethodHandle unreflect(Method method, MethodType type) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
     }
 
     @Override
     public void setProperty(Object instance, Object value) {
         try {
-            setter.invoke(instance, new Object[]{convert(value, setter.getGenericParameterTypes()[0])});
-        } catch (Exception e) {
+            if (setterHandle != null)
+                setterHandle.invokeExact(instance, convert(value, setterType));
+            else
+                setter.invoke(instance, new Object[]{convert(value, setterType)});
+        } catch (Throwable e) {
             throw new RuntimeException(e);
         }
     }
@@ -48,6 +71,8 @@ public class MethodProperty extends Property {
     @Override
     public Object getProperty(Object instance) {
         try {
+            if (getterHandle != null)
+                return (Object)getterHandle.invokeExact(instance);
             return getter.invoke(instance, new Object[0]);
         } catch (Throwable e) {
             throw new RuntimeException(e);
@@ -1,64 +1,145 @@
-var parent=arguments[0], result=[];
-const tag=arguments[1], attributes=arguments[2], attributesLen=arguments[3];	
-const scX=(window.outerWidth-window.innerWidth)/2+window.screenX+0.0001, scY=window.outerHeight-window.innerHeight+window.screenY+0.0001;
+window.atsSearchElements=function(parent, tag, attributes, attributesLen, criterias, limit){
 
-if(parent == null){
-	parent = window.document;
-};
+	var result=[], skipped=0;
+	const scX=(window.outerWidth-window.innerWidth)/2+window.screenX+0.0001, scY=window.outerHeight-window.innerHeight+window.screenY+0.0001;
 
-const elts=parent.getElementsByTagName(tag);
-const eltsLength=elts.length;
+	if(parent == null){
+		parent = window.document;
+	};
 
-function addElement(e, t, r, a){
-	result[result.length] = [e, t, e.getAttribute('inputmode')=='numeric',e.getAttribute('type')=='password', r.x+0.0001, r.y+0.0001, r.width+0.0001, r.height+0.0001, r.left+0.0001, r.top+0.0001, scX, scY, a];
-};
+	function addElement(e, t, r, a){
+		result[result.length] = [e, t, e.getAttribute('inputmode')=='numeric',e.getAttribute('type')=='password', r.x+0.0001, r.y+0.0001, r.width+0.0001, r.height+0.0001, r.left+0.0001, r.top+0.0001, scX, scY, a];
+	};
 
-if(attributesLen == 0){
+	function getValue(e, t, attributeName){
+		if(attributeName == 'text'){
+			if(e.textContent){
+				return e.textContent.replace(/\xA0/g,' ').trim();
+			}
+			return null;
+		};
 
-	for(let h = 0; h < eltsLength; h++){
-		var e = elts[h];
-		addElement(e, e.tagName, e.getBoundingClientRect(), {});
-	}
+		const type = e.type;
+		if(attributeName == 'checked' && t == 'INPUT' && (type == 'radio' || type == 'checkbox')){
+			if(e.checked == true){
+				return 'true';
+			}
+			return 'false';
+		};
 
-}else{
+		if(e.hasAttribute(attributeName)){
+			return e.getAttribute(attributeName);
+		};
 
-	function loop(e){
+		var prop = e[attributeName];
+		if(prop != null && prop != 'function'){
+			return prop.toString();
+		};
+		return window.getComputedStyle(e,null).getPropertyValue(attributeName);
+	};
 
-		let a={};
-		const t=e.tagName;
-		
-		attributes.forEach(function (attributeName) {
-			if(attributeName == 'text'){
-				if(e.textContent){
-					a['text'] = e.textContent.replace(/\xA0/g,' ').trim();
-				}
-			}else{
-				const type = e.type;
-				if(attributeName == 'checked' && t == 'INPUT' && (type == 'radio' || type == 'checkbox')){
-					if(e.checked == true){
-						a['checked'] = 'true';
-					}else{
-						a['checked'] = 'false';
-					}		
-				}else{
-					if(e.hasAttribute(attributeName)){
-						a[attributeName] = e.getAttribute(attributeName);
-					}else{
-						var prop = e[attributeName];
-						if(prop != null && prop != 'function'){
-							a[attributeName] = prop.toString();
-						}else{
-							a[attributeName] = window.getComputedStyle(e,null).getPropertyValue(attributeName);
-						}
-					}
+	function isMatching(a){
+		return criterias.every(function (criteria) {
+			const sep = criteria.indexOf('\t');
+			return a[criteria.substring(0, sep)] === criteria.substring(sep + 1);
+		});
+	};
+
+	/* once the limit is reached, elements are only counted, values are read one by one until a criteria does not match */
+	function isCounted(e, t){
+		return criterias.every(function (criteria) {
+			const sep = criteria.indexOf('\t');
+			return getValue(e, t, criteria.substring(0, sep)) === criteria.substring(sep + 1);
+		});
+	};
+
+	function getSelector(){
+		if(criterias == null || criterias.length == 0 || !window.CSS || !CSS.escape || !CSS.supports || !CSS.supports('selector(:is(a))')){
+			return null;
+		};
+
+		let selector = '';
+		criterias.forEach(function (criteria) {
+			const sep = criteria.indexOf('\t');
+			if(sep > 0){
+				const name = criteria.substring(0, sep);
+				if(name != 'text' && name != 'checked'){
+					const attr = CSS.escape(name);
+					selector += ':is([' + attr + '="' + CSS.escape(criteria.substring(sep + 1)) + '"],:not([' + attr + ']))';
 				}
 			}
 		});
 
-		if(Object.keys(a).length == attributesLen){
-			addElement(e, t, e.getBoundingClientRect(), a);
+		if(selector.length == 0){
+			return null;
+		};
+
+		return (tag == '*' ? '*' : CSS.escape(tag)) + selector;
+	};
+
+	/* only the first matching elements are returned, other ones are counted, it needs all criterias to be checked here (no regexp) on distinct attributes */
+	if(limit > 0 && attributesLen > 0 && (!criterias.every(function (criteria) {return criteria.indexOf('\t') > 0;}) || new Set(attributes).size != attributesLen)){
+		limit = 0;
+	};
+
+	var elts = null;
+
+	const selector = getSelector();
+	if(selector != null){
+		try{
+			elts = parent.querySelectorAll(selector);
+		}catch(err){
+			elts = null;
 		}
 	};
-	
-	Array.prototype.forEach.call(elts, loop);
-};
\ No newline at end of file
+
+	if(elts == null){
+		elts = parent.getElementsByTagName(tag);
+	};
+
+	const eltsLength=elts.length;
+
+	if(attributesLen == 0){
+
+		const added = limit > 0 ? Math.min(limit, eltsLength) : eltsLength;
+		for(let h = 0; h < added; h++){
+			var e = elts[h];
+			addElement(e, e.tagName, e.getBoundingClientRect(), {});
+		}
+		skipped = eltsLength - added;
+
+	}else{
+
+		function loop(e){
+
+			const t=e.tagName;
+
+			if(limit > 0 && result.length == limit){
+				if(isCounted(e, t)){
+					skipped++;
+				}
+				return;
+			};
+
+			let a={};
+			attributes.forEach(function (attributeName) {
+				const value = getValue(e, t, attributeName);
+				if(value != null){
+					a[attributeName] = value;
+				}
+			});
+
+			if(Object.keys(a).length == attributesLen && (limit == 0 || isMatching(a))){
+				addElement(e, t, e.getBoundingClientRect(), a);
+			}
+		};
+
+		Array.prototype.forEach.call(elts, loop);
+	};
+
+	if(skipped > 0){
+		result[result.length] = skipped;
+	};
+
+	return result;
+};
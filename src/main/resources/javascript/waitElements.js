@@ -0,0 +1,70 @@
+const parent=arguments[0], tag=arguments[1], attributes=arguments[2], criterias=arguments[3], expected=arguments[4], timeout=arguments[5], done=arguments[arguments.length-1];
+
+if(typeof window.atsSearchElements !== 'function'){
+	done(true);
+}else if(typeof window.MutationObserver !== 'function'){
+	done(null);
+}else{
+
+	function count(){
+		let c = 0;
+		window.atsSearchElements(parent, tag, attributes, attributes.length, criterias).forEach(function (e) {
+			const a = e[12];
+			if(criterias.every(function (criteria) {
+				const sep = criteria.indexOf('\t');
+				return sep < 0 || a[criteria.substring(0, sep)] === criteria.substring(sep + 1);
+			})){
+				c++;
+			}
+		});
+		return c;
+	};
+
+	if(count() != expected){
+		done(true);
+	}else{
+
+		var finished = false, pending = false, observer = null, timer = null, interval = null;
+
+		function end(changed){
+			if(!finished){
+				finished = true;
+				observer.disconnect();
+				clearTimeout(timer);
+				clearInterval(interval);
+				done(changed);
+			}
+		};
+
+		function check(){
+			pending = false;
+			if(!finished && count() != expected){
+				end(true);
+			}
+		};
+
+		observer = new window.MutationObserver(function () {
+			if(!pending){
+				pending = true;
+				setTimeout(check, 250);
+			}
+		});
+
+		/* only changes of the searched attributes are observed, text changes only if a text criteria is used, properties are checked by the interval */
+		const options = {childList:true, subtree:true};
+
+		const attributeFilter = attributes.filter(function (name) {return name != 'text';});
+		if(attributeFilter.length > 0){
+			options.attributeFilter = attributeFilter;
+		};
+
+		if(attributes.indexOf('text') > -1){
+			options.characterData = true;
+		};
+
+		observer.observe(parent == null ? window.document : parent, options);
+
+		timer = setTimeout(function () {end(false);}, timeout);
+		interval = setInterval(check, 1000);
+	};
+};
@@ -0,0 +1,260 @@
+package com.ats.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ats.crypto.Password;
+import com.ats.executor.ActionTestScript;
+import com.ats.generator.variables.CalculatedValue;
+import com.ats.generator.variables.EnvironmentValue;
+import com.ats.generator.variables.ParameterValue;
+import com.ats.generator.variables.RandomStringValue;
+import com.ats.generator.variables.transform.DateTransformer;
+import com.ats.generator.variables.transform.TimeTransformer;
+import com.ats.script.Project;
+import com.ats.script.Script;
+import com.ats.tools.Utils;
+
+/**
+ * Compare the single pass tokenizer of CalculatedValue with the previous chained regex implementation.
+ * Run with : java -cp target/test-classes:target/classes:[dependencies] com.ats.benchmark.CalculatedValueBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatedValueBenchmark {
+
+	private static final String[] CORPUS = new String[] {
+			"google.com",
+			"automated testing$key(ENTER)",
+			"https://www.actiontestscript.com/$param(page, index.html)?lang=$env(lang, fr)&user=$var(userName)",
+			"Welcome $var(firstName) $var(lastName), today is $today at $now",
+			"$pass(adminPassword)$key(ENTER)",
+			"$asset(data/users.csv)",
+			"$image(logo.png)",
+			"order-$rnd(8,num)-$uuid",
+			"iteration $iteration of project $pgav",
+			"$sys(os-name) - $sys(app-version) - $env(build.number, 0)",
+			"$var(subscripts.login.token)",
+			"{\"name\": \"$var(firstName)\", \"id\": \"$param(0)\", \"mail\": \"$param(mail, test@test.com)\"}",
+			"Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco laboris nisi ut aliquip ex ea commodo consequat.",
+			"price : 12.50$ for $param(quantity, 1) items"
+	};
+
+	private ActionTestScript script;
+
+	@Setup
+	public void setup() throws IOException {
+		final File folder = Files.createTempDirectory("ats_bench").toFile();
+		folder.deleteOnExit();
+
+		script = new ActionTestScript(folder);
+		script.createVariable("firstName", new CalculatedValue(script, "John"), null);
+		script.createVariable("lastName", new CalculatedValue(script, "Doe"), null);
+		script.createVariable("userName", new CalculatedValue(script, "jdoe"), null);
+	}
+
+	@Benchmark
+	public void tokenizer(Blackhole bh) {
+		for(String value : CORPUS) {
+			final CalculatedValue calc = new CalculatedValue(script, value);
+			bh.consume(calc.getCalculated());
+			bh.consume(calc.getJavaCode());
+		}
+	}
+
+	@Benchmark
+	public void chainedRegex(Blackhole bh) {
+		for(String value : CORPUS) {
+			final LegacyCalculatedValue calc = new LegacyCalculatedValue(script, value);
+			bh.consume(calc.calculated);
+			bh.consume(calc.getJavaCode());
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CalculatedValueBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	//-----------------------------------------------------------------------------------------------------
+	// previous implementation, one regex scan and one replace per function type
+	//-----------------------------------------------------------------------------------------------------
+
+	private static class LegacyCalculatedValue {
+
+		private static final Pattern TODAY_PATTERN = Pattern.compile("\\$today", Pattern.CASE_INSENSITIVE);
+		private static final Pattern NOW_PATTERN = Pattern.compile("\\$now", Pattern.CASE_INSENSITIVE);
+		private static final Pattern UUID_PATTERN = Pattern.compile("\\$uuid", Pattern.CASE_INSENSITIVE);
+		private static final Pattern PGAV_PATTERN = Pattern.compile("\\$pgav", Pattern.CASE_INSENSITIVE);
+		private static final Pattern ITERATION_PATTERN = Pattern.compile("\\$iteration", Pattern.CASE_INSENSITIVE);
+
+		private static final Pattern ASSET_PATTERN = CalculatedValue.ASSET_PATTERN;
+		private static final Pattern IMAGE_PATTERN = CalculatedValue.IMAGE_PATTERN;
+		private static final Pattern PARAMETER_PATTERN = CalculatedValue.PARAMETER_PATTERN;
+		private static final Pattern ENV_PATTERN = CalculatedValue.ENV_PATTERN;
+
+		private static final Pattern PASSWORD_DATA = Pattern.compile("\\$pass\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
+		private static final Pattern SYS_PATTERN = Pattern.compile("\\$sys\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
+		private static final Pattern RND_PATTERN = Pattern.compile("\\$rnd(?:string)?\\s*?\\((\\d+),?(\\w{0,3}?[^\\)]*)?\\)", Pattern.CASE_INSENSITIVE);
+		private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$var\\s*?\\(([^\\)\\.]*)\\)", Pattern.CASE_INSENSITIVE);
+		private static final Pattern GLOBAL_VARIABLE_PATTERN = Pattern.compile("\\$var\\s*?\\(([^\\)]*)\\)", Pattern.CASE_INSENSITIVE);
+
+		private static final Pattern unnecessaryStartQuotes = Pattern.compile("^\"\", ?");
+		private static final Pattern unnecessaryMiddleQuotes = Pattern.compile(" \"\",");
+		private static final Pattern unnecessaryEndQuotes = Pattern.compile(", \"\"$");
+
+		private final Script script;
+		private String rawJavaCode = "";
+		private String calculated;
+
+		@SuppressWarnings("unused")
+		private boolean crypted = false;
+
+		private LegacyCalculatedValue(Script script, String dataValue) {
+			this.script = script;
+			if(dataValue.length() > 0){
+				calculated = initCalculated(Utils.unescapeAts(dataValue));
+			}
+		}
+
+		private String getJavaCode(){
+			String value = "\"" + rawJavaCode + "\"";
+			value = unnecessaryStartQuotes.matcher(value).replaceFirst("");
+			value = unnecessaryEndQuotes.matcher(value).replaceFirst("");
+			value = unnecessaryMiddleQuotes.matcher(value).replaceAll("");
+			return ActionTestScript.JAVA_VALUE_FUNCTION_NAME + "(" + value + ")";
+		}
+
+		private String initCalculated(String dataValue) {
+
+			rawJavaCode = StringEscapeUtils.escapeJava(dataValue);
+
+			Matcher mv = PGAV_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				rawJavaCode = rawJavaCode.replace(mv.group(0), "\", " + ActionTestScript.JAVA_GAV_FUNCTION_NAME + "(), \"");
+			}
+
+			mv = ITERATION_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				rawJavaCode = rawJavaCode.replace(mv.group(0), "\", " + ActionTestScript.JAVA_ITERATION_FUNCTION_NAME + "(), \"");
+			}
+			
+			mv = PARAMETER_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				final ParameterValue sp = new ParameterValue(mv);
+				
+				dataValue = dataValue.replace(sp.getReplace(), script.getParameterValue(sp.getValue(), sp.getDefaultValue()));
+				rawJavaCode = rawJavaCode.replace(sp.getReplace(), "\", " + ActionTestScript.JAVA_PARAM_FUNCTION_NAME + sp.getCode() + ", \"");
+			}
+
+			mv = IMAGE_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				rawJavaCode = rawJavaCode.replace(mv.group(0), Project.getAssetsImageJavaCode(mv.group(1)));
+			}
+
+			mv = ASSET_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				rawJavaCode = rawJavaCode.replace(mv.group(0), Project.getAssetsJavaCode(mv.group(1)));
+			}
+
+			mv = PASSWORD_DATA.matcher(dataValue);
+			while (mv.find()) {
+				crypted = true;
+				rawJavaCode = rawJavaCode.replace(mv.group(0), "\", new " + Password.class.getCanonicalName() + "(this, \"" + mv.group(1) + "\"), \"");
+			}
+
+			mv = VARIABLE_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				final String replace = mv.group(0);
+				final String variableName = mv.group(1);
+				
+				dataValue = dataValue.replace(replace, script.getVariableValue(variableName));
+				rawJavaCode = rawJavaCode.replace(replace, "\", " + variableName + ", \"");
+			}
+
+			mv = GLOBAL_VARIABLE_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				final String replace = mv.group(0);
+				final String variableName = mv.group(1);
+
+				dataValue = dataValue.replace(replace, script.getGlobalVariableValue(variableName));
+				rawJavaCode = rawJavaCode.replace(replace, "\", " + ActionTestScript.JAVA_GLOBAL_VAR_FUNCTION_NAME + "(\"" + variableName + "\"), \"");
+			}
+
+			mv = SYS_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				final String replace = mv.group(0);
+				final String value = StringEscapeUtils.escapeJava(mv.group(1).trim());
+				
+				dataValue = dataValue.replace(replace, script.getSystemValue(value));
+				rawJavaCode = rawJavaCode.replace(replace, "\"," + ActionTestScript.JAVA_SYSTEM_FUNCTION_NAME + "(\"" + value + "\"), \"");
+			}
+
+			mv = ENV_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				final EnvironmentValue sp = new EnvironmentValue(mv);
+				
+				dataValue = dataValue.replace(sp.getReplace(), script.getEnvironmentValue(sp.getValue(), sp.getDefaultValue()));
+				rawJavaCode = rawJavaCode.replace(sp.getReplace(), "\", " + ActionTestScript.JAVA_ENV_FUNCTION_NAME + sp.getCode() + ", \"");
+			}
+
+			mv = TODAY_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				final String replace = mv.group(0);
+				
+				dataValue = dataValue.replace(replace, DateTransformer.getTodayValue());
+				rawJavaCode = rawJavaCode.replace(replace, "\", " + ActionTestScript.JAVA_TODAY_FUNCTION_NAME + "(), \"");
+			}
+
+			mv = NOW_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				final String replace = mv.group(0);
+				
+				dataValue = dataValue.replace(replace, TimeTransformer.getNowValue());
+				rawJavaCode = rawJavaCode.replace(replace, "\", " + ActionTestScript.JAVA_NOW_FUNCTION_NAME + "(), \"");
+			}
+
+			mv = UUID_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				final String replace = mv.group(0);
+				
+				dataValue = dataValue.replace(replace, UUID.randomUUID().toString());
+				rawJavaCode = rawJavaCode.replace(replace, "\", " + ActionTestScript.JAVA_UUID_FUNCTION_NAME + "(), \"");
+			}
+
+			mv = RND_PATTERN.matcher(dataValue);
+			while (mv.find()) {
+				final RandomStringValue rds = new RandomStringValue(mv);
+				
+				dataValue = dataValue.replace(rds.getReplace(), rds.exec());
+				rawJavaCode = rawJavaCode.replace(rds.getReplace(), "\", " + ActionTestScript.JAVA_RNDSTRING_FUNCTION_NAME + rds.getCode() + ", \"");
+			}
+
+			return dataValue;
+		}
+	}
+}
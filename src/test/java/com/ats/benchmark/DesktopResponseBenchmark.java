@@ -0,0 +1,222 @@
+package com.ats.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ats.element.AtsBaseElement;
+import com.ats.element.AtsElement;
+import com.ats.element.FoundElement;
+import com.ats.executor.TestBound;
+import com.ats.executor.drivers.desktop.DesktopData;
+import com.ats.executor.drivers.desktop.DesktopResponse;
+import com.ats.executor.drivers.desktop.DesktopResponseReader;
+import com.exadel.flamingo.flex.amf.AMF3Constants;
+import com.exadel.flamingo.flex.messaging.amf.io.AMF3Deserializer;
+import com.exadel.flamingo.flex.messaging.amf.io.AMF3Serializer;
+import com.exadel.flamingo.flex.messaging.amf.io.util.ClassDescriptorCache;
+
+/**
+ * Decode a desktop driver response with an elements tree of a window (20 panels of 100 elements with 6 attributes each),
+ * with class descriptors shared by all deserializations or introspected again for each response (previous behavior).
+ * A find response with the 2000 elements in a flat list is decoded to a full object graph then filtered,
+ * or filtered while it is streamed by the desktop response reader.
+ * Run with : java -cp target/test-classes:target/classes:[dependencies] com.ats.benchmark.DesktopResponseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DesktopResponseBenchmark {
+
+	private static final int PANELS = 20;
+	private static final int ELEMENTS = 100;
+
+	private static final String[] ELEMENT_PROPERTIES = new String[] {"id", "tag", "x", "y", "width", "height", "visible", "clickable", "password", "numChildren", "attributes", "children"};
+	private static final String[] DATA_PROPERTIES = new String[] {"name", "value"};
+
+	private static final TestBound DIMENSION = new TestBound(0D, 0D);
+	private static final Predicate<AtsBaseElement> PREDICATE = e -> e.getId().endsWith("7");
+
+	private byte[] response;
+	private byte[] findResponse;
+
+	@Setup
+	public void setup() throws IOException {
+
+		final Object[] panels = new Object[PANELS];
+		final Object[] items = new Object[PANELS * ELEMENTS];
+
+		for(int p=0; p<PANELS; p++) {
+
+			final Object[] children = new Object[ELEMENTS];
+			for(int e=0; e<ELEMENTS; e++) {
+				children[e] = element("e" + p + "-" + e, "DataItem", 10D + e * 20, 40D + p * 30, 20D, 30D, null);
+				items[p * ELEMENTS + e] = children[e];
+			}
+			panels[p] = element("p" + p, "Pane", 10D, 40D + p * 30, 2000D, 30D, children);
+		}
+
+		response = write(new Object[] {element("root", "Window", 0D, 0D, 2020D, 1200D, panels)});
+		findResponse = write(items);
+
+		final DesktopResponse decoded = decode();
+		if(decoded.elements.get(0).getChildren().get(PANELS-1).getChildren().size() != ELEMENTS) {
+			throw new IllegalStateException("response is not decoded");
+		}
+
+		final List<FoundElement> found = fullFind();
+		final List<FoundElement> streamed = streamedFind();
+		if(found.size() != PANELS * ELEMENTS / 10 || streamed.size() != found.size() || !streamed.get(PANELS - 1).getId().equals(found.get(PANELS - 1).getId())) {
+			throw new IllegalStateException("streamed elements are different");
+		}
+	}
+
+	private static byte[] write(Object[] elements) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final ResponseWriter writer = new ResponseWriter(bytes);
+
+		writer.writeTyped(DesktopResponse.class.getName(),
+				new String[] {"elements", "windows", "data", "errorCode", "errorMessage"},
+				new Object[] {elements, null, null, 0, null});
+		writer.close();
+
+		return bytes.toByteArray();
+	}
+
+	private static TypedObject element(String id, String tag, double x, double y, double w, double h, Object[] children) {
+		final Object[] attributes = new Object[] {
+				new TypedObject(DesktopData.class.getName(), DATA_PROPERTIES, new Object[] {"Name", "s" + id}),
+				new TypedObject(DesktopData.class.getName(), DATA_PROPERTIES, new Object[] {"AutomationId", "s" + id}),
+				new TypedObject(DesktopData.class.getName(), DATA_PROPERTIES, new Object[] {"ClassName", "s" + tag}),
+				new TypedObject(DesktopData.class.getName(), DATA_PROPERTIES, new Object[] {"IsEnabled", "sTrue"}),
+				new TypedObject(DesktopData.class.getName(), DATA_PROPERTIES, new Object[] {"HelpText", "s"}),
+				new TypedObject(DesktopData.class.getName(), DATA_PROPERTIES, new Object[] {"Value", "s" + x + "," + y})
+		};
+		return new TypedObject(AtsElement.class.getName(), ELEMENT_PROPERTIES, new Object[] {id, tag, x, y, w, h, true, true, false, children == null ? 0 : children.length, attributes, children});
+	}
+
+	private DesktopResponse decode() throws IOException {
+		final AMF3Deserializer amf3 = new AMF3Deserializer(new ByteArrayInputStream(response));
+		final DesktopResponse result = (DesktopResponse) amf3.readObject();
+		amf3.close();
+		return result;
+	}
+
+	private List<FoundElement> fullFind() throws IOException {
+		final AMF3Deserializer amf3 = new AMF3Deserializer(new ByteArrayInputStream(findResponse));
+		final DesktopResponse result = (DesktopResponse) amf3.readObject();
+		amf3.close();
+		return result.getFoundElements(PREDICATE, DIMENSION);
+	}
+
+	private List<FoundElement> streamedFind() throws IOException {
+		final DesktopResponseReader amf3 = new DesktopResponseReader(new ByteArrayInputStream(findResponse), PREDICATE, DIMENSION);
+		final DesktopResponse result = (DesktopResponse) amf3.readObject();
+		amf3.close();
+		return result.getFoundElements(PREDICATE, DIMENSION);
+	}
+
+	@Benchmark
+	public List<FoundElement> findDecodedGraph() throws IOException {
+		return fullFind();
+	}
+
+	@Benchmark
+	public List<FoundElement> findStreamed() throws IOException {
+		return streamedFind();
+	}
+
+	@Benchmark
+	public DesktopResponse sharedDescriptors() throws IOException {
+		return decode();
+	}
+
+	@Benchmark
+	public DesktopResponse introspectedDescriptors() throws IOException {
+		ClassDescriptorCache.clear();
+		return decode();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DesktopResponseBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	//-----------------------------------------------------------------------------------------------------
+	// AMF3 objects written like the desktop driver does, with inline class definitions sent once by response
+	//-----------------------------------------------------------------------------------------------------
+
+	private static class TypedObject {
+
+		private final String className;
+		private final String[] names;
+		private final Object[] values;
+
+		private TypedObject(String className, String[] names, Object[] values) {
+			this.className = className;
+			this.names = names;
+			this.values = values;
+		}
+	}
+
+	private static class ResponseWriter extends AMF3Serializer {
+
+		private final Map<String, Integer> classDefinitions = new HashMap<String, Integer>();
+
+		private ResponseWriter(ByteArrayOutputStream out) {
+			super(out);
+		}
+
+		private void writeTyped(String className, String[] names, Object[] values) throws IOException {
+			writeObject(new TypedObject(className, names, values));
+		}
+
+		@Override
+		public void writeObject(Object o) throws IOException {
+			if(o instanceof TypedObject) {
+				final TypedObject typed = (TypedObject) o;
+
+				write(AMF3Constants.AMF3_OBJECT);
+
+				final Integer index = classDefinitions.get(typed.className);
+				if(index == null) {
+					classDefinitions.put(typed.className, classDefinitions.size());
+					writeAMF3IntegerData(typed.names.length << 4 | 0x03);
+					writeAMF3StringData(typed.className);
+					for(String name : typed.names) {
+						writeAMF3StringData(name);
+					}
+				}else {
+					writeAMF3IntegerData(index << 2 | 0x01);
+				}
+
+				for(Object value : typed.values) {
+					writeObject(value);
+				}
+			}else {
+				super.writeObject(o);
+			}
+		}
+	}
+}
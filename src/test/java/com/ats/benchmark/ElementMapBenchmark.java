@@ -0,0 +1,187 @@
+package com.ats.benchmark;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ats.element.AtsElement;
+import com.ats.element.FoundElement;
+import com.ats.executor.TestBound;
+import com.ats.executor.drivers.desktop.ElementMapIndex;
+
+/**
+ * Compare hit tests of the desktop elements map spatial index with the previous scan of the elements lists,
+ * on a synthetic window of 10 panels with a grid of 5000 cells each (50010 elements).
+ * Run with : java -cp target/test-classes:target/classes:[dependencies] com.ats.benchmark.ElementMapBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementMapBenchmark {
+
+	private static final int PANELS_COLUMNS = 5;
+	private static final int PANELS_ROWS = 2;
+	private static final int PANEL_WIDTH = 400;
+	private static final int PANEL_HEIGHT = 500;
+
+	private static final int CELLS_COLUMNS = 100;
+	private static final int CELLS_ROWS = 50;
+	private static final int CELL_WIDTH = PANEL_WIDTH / CELLS_COLUMNS;
+	private static final int CELL_HEIGHT = PANEL_HEIGHT / CELLS_ROWS;
+
+	private static final int POINTS = 256;
+
+	private List<FoundElement> elements;
+	private ElementMapIndex index;
+
+	private double[] xs = new double[POINTS];
+	private double[] ys = new double[POINTS];
+
+	@Setup
+	public void setup() {
+
+		final TestBound window = new TestBound(0D, 0D);
+		final ArrayList<AtsElement> panels = new ArrayList<AtsElement>();
+
+		for(int p=0; p<PANELS_COLUMNS * PANELS_ROWS; p++) {
+			final double panelX = (p % PANELS_COLUMNS) * PANEL_WIDTH;
+			final double panelY = (p / PANELS_COLUMNS) * PANEL_HEIGHT;
+
+			final ArrayList<AtsElement> cells = new ArrayList<AtsElement>();
+			for(int c=0; c<CELLS_COLUMNS * CELLS_ROWS; c++) {
+				cells.add(createElement("DataItem", panelX + (c % CELLS_COLUMNS) * CELL_WIDTH, panelY + (c / CELLS_COLUMNS) * CELL_HEIGHT, CELL_WIDTH, CELL_HEIGHT, null));
+			}
+			panels.add(createElement("Table", panelX, panelY, PANEL_WIDTH, PANEL_HEIGHT, cells));
+		}
+
+		elements = new ArrayList<FoundElement>();
+		for(AtsElement panel : panels) {
+			elements.add(new FoundElement(panel, window));
+		}
+
+		index = new ElementMapIndex(elements);
+
+		final Random random = new Random(42);
+		for(int i=0; i<POINTS; i++) {
+			xs[i] = random.nextInt(PANELS_COLUMNS * PANEL_WIDTH);
+			ys[i] = random.nextInt(PANELS_ROWS * PANEL_HEIGHT);
+
+			if(index.getElementFromPoint(xs[i], ys[i]) != legacyElementFromPoint(xs[i], ys[i])
+					|| index.getElementFromRect(xs[i], ys[i], 50D, 50D) != legacyElementFromRect(xs[i], ys[i], 50D, 50D)) {
+				throw new IllegalStateException("index and scan results are different at " + xs[i] + "," + ys[i]);
+			}
+		}
+	}
+
+	private static AtsElement createElement(String tag, double x, double y, double width, double height, ArrayList<AtsElement> children) {
+		final AtsElement element = new AtsElement();
+		element.setTag(tag);
+		element.setX(x);
+		element.setY(y);
+		element.setWidth(width);
+		element.setHeight(height);
+		element.setChildren(children);
+		return element;
+	}
+
+	@Benchmark
+	public void indexFromPoint(Blackhole bh) {
+		for(int i=0; i<POINTS; i++) {
+			bh.consume(index.getElementFromPoint(xs[i], ys[i]));
+		}
+	}
+
+	@Benchmark
+	public void scanFromPoint(Blackhole bh) {
+		for(int i=0; i<POINTS; i++) {
+			bh.consume(legacyElementFromPoint(xs[i], ys[i]));
+		}
+	}
+
+	@Benchmark
+	public void indexFromRect(Blackhole bh) {
+		for(int i=0; i<POINTS; i++) {
+			bh.consume(index.getElementFromRect(xs[i], ys[i], 50D, 50D));
+		}
+	}
+
+	@Benchmark
+	public void scanFromRect(Blackhole bh) {
+		for(int i=0; i<POINTS; i++) {
+			bh.consume(legacyElementFromRect(xs[i], ys[i], 50D, 50D));
+		}
+	}
+
+	@Benchmark
+	public void buildIndex(Blackhole bh) {
+		bh.consume(new ElementMapIndex(elements));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ElementMapBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	//-----------------------------------------------------------------------------------------------------
+	// previous implementation, scan of the elements lists with parallel streams
+	//-----------------------------------------------------------------------------------------------------
+
+	private FoundElement legacyElementFromPoint(double xPos, double yPos) {
+		final Optional<FoundElement> fe = elements.stream().filter(e -> e.isActive() && e.getRectangle().contains(xPos, yPos)).findFirst();
+		if(fe.isPresent()) {
+			return legacyHoverChild(fe.get(), xPos, yPos);
+		}
+		return null;
+	}
+
+	private FoundElement legacyHoverChild(final FoundElement elem, final double xPos, final double yPos) {
+		if(elem.getChildren() != null && elem.getChildren().size() > 0) {
+			final Optional<FoundElement> child = elem.getChildren().stream().parallel().filter(e -> e.isActive() && e.getRectangle().contains(xPos, yPos)).parallel().sorted((a,b)->-1).findFirst();
+			if(child.isPresent()) {
+				return legacyHoverChild(child.get(), xPos, yPos);
+			}
+		}
+		return elem;
+	}
+
+	private FoundElement legacyElementFromRect(Double x, Double y, Double w, Double h) {
+		FoundElement hoverElement = null;
+		for (FoundElement testElement : elements) {
+			if(testElement != null && testElement.isVisible()){
+				if (hoverElement == null) {
+					hoverElement = testElement;
+					continue;
+				}
+
+				final Rectangle rect = testElement.getRectangle();
+
+				if (!rect.contains(x, y)
+						|| rect.getWidth() > w || rect.getHeight() > h
+						|| hoverElement.getWidth() <= testElement.getWidth() 
+						&& hoverElement.getHeight() <= testElement.getHeight()) continue;
+				hoverElement = testElement;
+			}
+		}
+		return hoverElement;
+	}
+}
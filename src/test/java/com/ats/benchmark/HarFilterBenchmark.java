@@ -0,0 +1,147 @@
+package com.ats.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ats.tools.performance.filters.BlackListFilter;
+import com.ats.tools.performance.filters.UrlPattern;
+import com.ats.tools.performance.filters.WhiteListFilter;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarRequest;
+
+/**
+ * Compare the single pass har filters with the previous ones, on a synthetic 100k entries har and 30 urls patterns.
+ * Run with : java -cp target/test-classes:target/classes:[dependencies] com.ats.benchmark.HarFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HarFilterBenchmark {
+
+	private static final int ENTRIES = 100000;
+
+	private static final String[] HOSTS = new String[] {"www.shop.com", "api.shop.com", "cdn1.shop-static.com", "cdn2.shop-static.com", "www.google-analytics.com",
+			"stats.g.doubleclick.net", "connect.facebook.net", "fonts.gstatic.com", "www.googletagmanager.com", "sso.shop.com"};
+
+	private static final String[] PATHS = new String[] {"/", "/cart", "/product/%d", "/api/v2/items/%d", "/img/p%d.jpg", "/js/app.%d.js", "/css/main.css", "/fonts/roboto.woff2", "/collect?v=1&tid=%d", "/track/%d.gif"};
+
+	static final List<String> PATTERNS = List.of(
+			".*google-analytics\\.com.*", ".*doubleclick\\.net.*", ".*facebook\\.net.*", ".*googletagmanager\\.com.*", ".*gstatic\\.com.*",
+			".*hotjar\\.com.*", ".*criteo\\.com.*", ".*taboola\\.com.*", ".*outbrain\\.com.*", ".*bing\\.com/bat.*",
+			"https://cdn[0-9]+\\.shop-static\\.com/.*\\.woff2?", ".*/track/[0-9]+\\.gif", ".*\\?.*utm_source=.*", "https://sso\\.shop\\.com/health", ".*/beacon.*",
+			".*newrelic\\.com.*", ".*nr-data\\.net.*", ".*segment\\.io.*", ".*mixpanel\\.com.*", ".*optimizely\\.com.*",
+			".*(ads|adservice)\\.google\\..*", ".*[.]tiktok[.]com.*", ".*linkedin\\.com/px.*", ".*twitter\\.com/i/adsct.*", ".*pinterest\\.com/v3.*",
+			".*quantserve\\.com.*", ".*scorecardresearch\\.com.*", ".*yandex\\.ru/metrika.*", ".*clarity\\.ms.*", ".*sentry\\.io/api/.*");
+
+	private List<String> urls;
+
+	private ArrayList<HarEntry> entries;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(HarFilterBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	static List<String> createUrls(int count) {
+		final Random random = new Random(42);
+		final List<String> list = new ArrayList<String>(count);
+		for(int i=0; i<count; i++) {
+			list.add("https://" + HOSTS[random.nextInt(HOSTS.length)] + String.format(PATHS[random.nextInt(PATHS.length)], random.nextInt(100000)));
+		}
+		return list;
+	}
+
+	static ArrayList<HarEntry> createEntries(List<String> urls) {
+		final ArrayList<HarEntry> list = new ArrayList<HarEntry>(urls.size());
+		for(String url : urls) {
+			final HarRequest request = new HarRequest();
+			request.setUrl(url);
+
+			final HarEntry entry = new HarEntry();
+			entry.setRequest(request);
+			list.add(entry);
+		}
+		return list;
+	}
+
+	@Setup
+	public void setup() {
+		urls = createUrls(ENTRIES);
+
+		final List<String> sample = urls.subList(0, 20000);
+
+		final List<HarEntry> saved = new ArrayList<HarEntry>();
+		new BlackListFilter(PATTERNS).filter(createEntries(sample), saved);
+
+		final List<HarEntry> legacySaved = new ArrayList<HarEntry>();
+		legacyFilter(createEntries(sample), legacySaved, PATTERNS.stream().map(UrlPattern::new).collect(Collectors.toList()), true);
+
+		if(saved.size() == sample.size() || !getUrls(saved).equals(getUrls(legacySaved))) {
+			throw new IllegalStateException("single pass and previous filters results are different");
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void createHar() {
+		entries = createEntries(urls);
+	}
+
+	private static List<String> getUrls(List<HarEntry> list) {
+		return list.stream().map(e -> e.getRequest().getUrl()).collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public List<HarEntry> blackList() {
+		final List<HarEntry> saved = new ArrayList<HarEntry>();
+		new BlackListFilter(PATTERNS).filter(entries, saved);
+		return saved;
+	}
+
+	@Benchmark
+	public List<HarEntry> whiteList() {
+		final List<HarEntry> saved = new ArrayList<HarEntry>();
+		new WhiteListFilter(PATTERNS).filter(entries, saved);
+		return saved;
+	}
+
+	@Benchmark
+	public List<HarEntry> legacyBlackList() {
+		final List<HarEntry> saved = new ArrayList<HarEntry>();
+		legacyFilter(entries, saved, PATTERNS.stream().map(UrlPattern::new).collect(Collectors.toList()), true);
+		return saved;
+	}
+
+	//------------------------------------------------------------------------------------------------------------------------
+	// previous implementation
+	//------------------------------------------------------------------------------------------------------------------------
+
+	private static void legacyFilter(List<HarEntry> logEntries, List<HarEntry> savedEntries, List<UrlPattern> listUrls, boolean blackList) {
+		while(logEntries.size() > 0) {
+			final HarEntry entry = logEntries.remove(0);
+			final String url = entry.getRequest().getUrl();
+			if(listUrls.stream().filter(p -> p.match(url)).findFirst().isPresent() != blackList) {
+				savedEntries.add(entry);
+			}
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package com.ats.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ats.element.AtsMobileElement;
+import com.ats.executor.drivers.engines.mobiles.AndroidRootElement;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Compare the indexed mobile element tree with the previous recursive searches, on a 20k nodes Android hierarchy.
+ * Run with : java -cp target/test-classes:target/classes:[dependencies] com.ats.benchmark.MobileElementIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MobileElementIndexBenchmark {
+
+	private static final int NODES = 20000;
+	private static final int CHILDREN = 6;
+	private static final String[] TAGS = new String[] {"FrameLayout", "LinearLayout", "TextView", "Button", "ImageView", "EditText"};
+
+	private static final int LOOKUPS = 100;
+
+	private JsonObject capture;
+	private AndroidRootElement root;
+
+	private final String[] ids = new String[LOOKUPS];
+	private AtsMobileElement subTree;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(MobileElementIndexBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	@Setup
+	public void setup() {
+		capture = createNode(new int[] {0}, 0);
+
+		root = new AndroidRootElement(null);
+		root.refresh(capture);
+
+		final Random random = new Random(42);
+		for(int i=0; i<LOOKUPS; i++) {
+			ids[i] = "id-" + random.nextInt(NODES);
+			if(root.getElementById(ids[i]) != legacyElementById(root.getValue(), ids[i])) {
+				throw new IllegalStateException("index and scan results are different for " + ids[i]);
+			}
+		}
+
+		subTree = root.getValue().getChildren()[1].getChildren()[2];
+		for(String tag : TAGS) {
+			if(!indexedByTag(subTree, tag).equals(legacyByTag(subTree, tag)) || !indexedByTag(root.getValue(), tag).equals(legacyByTag(root.getValue(), tag))) {
+				throw new IllegalStateException("index and scan results are different for tag " + tag);
+			}
+		}
+	}
+
+	private static JsonObject createNode(int[] count, int depth) {
+		final int index = count[0]++;
+
+		final JsonObject attributes = new JsonObject();
+		attributes.addProperty("text", "text " + index);
+		attributes.addProperty("description", "");
+		attributes.addProperty("checkable", "false");
+		attributes.addProperty("enabled", "true");
+
+		final JsonObject node = new JsonObject();
+		node.addProperty("id", "id-" + index);
+		node.addProperty("tag", TAGS[index % TAGS.length]);
+		node.addProperty("x", (double)(index % 1080));
+		node.addProperty("y", (double)(index % 1920));
+		node.addProperty("width", 100D);
+		node.addProperty("height", 40D);
+		node.addProperty("clickable", index % 2 == 0);
+		node.add("attributes", attributes);
+
+		final JsonArray children = new JsonArray();
+		for(int i=0; i<CHILDREN && count[0] < NODES && depth < 6; i++) {
+			children.add(createNode(count, depth + 1));
+		}
+		node.add("children", children);
+
+		return node;
+	}
+
+	private List<AtsMobileElement> indexedByTag(AtsMobileElement parent, String tag) {
+		final List<AtsMobileElement> list = new ArrayList<AtsMobileElement>();
+		root.loadElementsByTag(parent, tag, list);
+		return list;
+	}
+
+	private static List<AtsMobileElement> legacyByTag(AtsMobileElement parent, String tag) {
+		final List<AtsMobileElement> list = new ArrayList<AtsMobileElement>();
+		legacyLoadElementsByTag(parent, tag, list);
+		return list;
+	}
+
+	@Benchmark
+	public void refresh(Blackhole bh) {
+		final AndroidRootElement element = new AndroidRootElement(null);
+		element.refresh(capture);
+		bh.consume(element);
+	}
+
+	@Benchmark
+	public void indexById(Blackhole bh) {
+		for(String id : ids) {
+			bh.consume(root.getElementById(id));
+		}
+	}
+
+	@Benchmark
+	public void scanById(Blackhole bh) {
+		for(String id : ids) {
+			bh.consume(legacyElementById(root.getValue(), id));
+		}
+	}
+
+	@Benchmark
+	public List<AtsMobileElement> indexByTag() {
+		return indexedByTag(root.getValue(), "Button");
+	}
+
+	@Benchmark
+	public List<AtsMobileElement> scanByTag() {
+		return legacyByTag(root.getValue(), "Button");
+	}
+
+	@Benchmark
+	public List<AtsMobileElement> indexSubTreeByTag() {
+		return indexedByTag(subTree, "TextView");
+	}
+
+	@Benchmark
+	public List<AtsMobileElement> scanSubTreeByTag() {
+		return legacyByTag(subTree, "TextView");
+	}
+
+	//------------------------------------------------------------------------------------------------------------------------
+	// previous implementation
+	//------------------------------------------------------------------------------------------------------------------------
+
+	private static AtsMobileElement legacyElementById(AtsMobileElement root, String id) {
+		if(root.getId().equals(id)) {
+			return root;
+		}
+
+		for(AtsMobileElement elem : root.getChildren()) {
+			elem.setParent(root);
+			final AtsMobileElement found = legacyElementById(elem, id);
+			if(found != null) {
+				return found;
+			}
+		}
+		return null;
+	}
+
+	private static void legacyLoadElementsByTag(AtsMobileElement root, String tag, List<AtsMobileElement> list) {
+		if(root == null) return;
+		if(root.checkTag(tag)) {
+			list.add(root);
+		}
+
+		for (AtsMobileElement child : root.getChildren()) {
+			legacyLoadElementsByTag(child, tag, list);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.ats.benchmark;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ats.graphic.TemplateMatchingEngine;
+import com.ats.graphic.TemplateMatchingEngine.GrayImage;
+
+/**
+ * Compare the single pass template matching engine with the previous scan restarted for every occurrence, on the images of src/test.
+ * Run with : java -cp target/test-classes:target/classes:[dependencies] com.ats.benchmark.TemplateMatchingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateMatchingBenchmark {
+
+	private static final String IMAGES_FOLDER = "src/test";
+
+	private static final int MAX_DIFF = 10;
+	private static final double PERCENT_ERROR = 0.3;
+	private static final int MAX_COUNT = 20;
+
+	@Param({"screen_pin:pin0", "screen_pin:pin1", "screen_alert:alert_eq", "screen_alert:robot0"})
+	public String images;
+
+	private BufferedImage mainImage;
+	private BufferedImage subImage;
+	private int maxError;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TemplateMatchingBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		final String[] names = images.split(":");
+		mainImage = ImageIO.read(new File(IMAGES_FOLDER, names[0] + ".png"));
+		subImage = ImageIO.read(new File(IMAGES_FOLDER, names[1] + ".png"));
+		maxError = (int) (subImage.getWidth() * subImage.getWidth() * PERCENT_ERROR / 100);
+
+		final ArrayList<Rectangle> engine = engine();
+		if(!engine.equals(legacy())) {
+			throw new IllegalStateException("engine and scan results are different for " + images + " -> " + engine);
+		}
+	}
+
+	@Benchmark
+	public ArrayList<Rectangle> engine() {
+		return TemplateMatchingEngine.findOccurrences(GrayImage.getGrayImage(mainImage), GrayImage.getGrayImage(subImage), maxError, MAX_DIFF, MAX_COUNT);
+	}
+
+	@Benchmark
+	public ArrayList<Rectangle> legacy() {
+		final ArrayList<Rectangle> result = new ArrayList<Rectangle>();
+
+		final int[][] mainVector = getVector(mainImage);
+		final int[][] subVector = getVector(subImage);
+		final int[][] burned = new int[mainImage.getWidth()][mainImage.getHeight()];
+
+		final int xOffsetMax = mainImage.getWidth() - subImage.getWidth();
+		final int yOffsetMax = mainImage.getHeight() - subImage.getHeight();
+
+		Rectangle found = findSubImage(mainVector, burned, xOffsetMax, yOffsetMax, subVector, subImage.getWidth(), subImage.getHeight());
+		while(found != null && result.size() < MAX_COUNT) {
+			result.add(found);
+			found = findSubImage(mainVector, burned, xOffsetMax, yOffsetMax, subVector, subImage.getWidth(), subImage.getHeight());
+		}
+		return result;
+	}
+
+	//------------------------------------------------------------------------------------------------------------------------
+	// previous implementation
+	//------------------------------------------------------------------------------------------------------------------------
+
+	private static int[][] getVector(BufferedImage img) {
+		final int[][] data = new int[img.getWidth()][img.getHeight()];
+		for(int x=0; x<data.length; x++) {
+			for(int y=0; y<data[x].length; y++) {
+				final int rgb = img.getRGB(x, y);
+				data[x][y] = (int) (0.2126*((rgb >> 16)& 0xff) + 0.7152*((rgb >>  8)& 0xff) + 0.0722*(rgb& 0xff));
+			}
+		}
+		return data;
+	}
+
+	private Rectangle findSubImage(int[][] mainVector, int[][] burned, int xOffsetMax, int yOffsetMax, int[][] subVector, int subWidth, int subHeight) {
+		for (int x = 0; x < xOffsetMax; x++){
+			for (int y = 0; y < yOffsetMax; y++){
+				if(burned[x][y] == 0 && subImageIsAtOffset(subVector, mainVector, x, y, subWidth, subHeight)) {
+					for(int x1=x; x1<x + subWidth; x1++) {
+						for(int y1=y; y1<y + subHeight; y1++) {
+							burned[x1][y1] = 1;
+						}
+					}
+					return new Rectangle(x, y, subWidth, subHeight);
+				}
+			}
+		}
+		return null;
+	}
+
+	private boolean subImageIsAtOffset(int[][] subVector, int[][] mainVector, int xOffset, int yOffset, int width, int height) {
+		int errors = maxError;
+		for (int x = 0; x < width; x++){
+			for (int y = 0; y < height; y++){
+				if (Math.abs(subVector[x][y] - mainVector[xOffset + x][yOffset + y]) > MAX_DIFF) {
+					if(errors <= 0) {
+						return false;
+					}
+					errors--;
+				}
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,109 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.ats.element.api.AtsApiElement;
+import com.ats.executor.drivers.engines.webservices.ApiElementsIndex;
+
+public class ApiElementsIndexTest {
+
+	private static String names(List<AtsApiElement> elements) {
+		return elements.stream().map(e -> e.getTag() + ":" + e.getAttribute("name")).collect(Collectors.joining(","));
+	}
+
+	@Test
+	public void json() {
+		final ApiElementsIndex index = new ApiElementsIndex(200, "application/json", "{\"users\":[{\"name\":\"john\",\"age\":32},{\"name\":\"jane\",\"tags\":[\"a\",\"b\"]},null],\"total\":2.50}".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(ApiElementsIndex.JSON_TYPE, index.getType());
+		assertEquals("{\"response\":{\"name\":\"response\",\"code\":200,\"root\":{\"users\":[{\"name\":\"john\",\"age\":32},{\"name\":\"jane\",\"tags\":[\"a\",\"b\"]},null],\"total\":2.50}}}", index.getSource());
+
+		final List<AtsApiElement> all = index.findElements(null, "*");
+		assertEquals("RESPONSE:response,ARRAY:users,OBJECT:john,ARRAY:tags,ELEMENT:index0,ELEMENT:index1,OBJECT:jane,OBJECT:root", names(all));
+		assertEquals("3", all.get(1).getAttribute("size"));
+		assertEquals("2.50", all.get(7).getAttribute("total"));
+		assertEquals("32", all.get(2).getAttribute("age"));
+
+		assertEquals("OBJECT:john,OBJECT:jane,OBJECT:root", names(index.findElements(null, "OBJECT")));
+
+		final String jane = all.get(6).getId();
+		assertEquals("RESPONSE:response,ARRAY:tags,ELEMENT:index0,ELEMENT:index1,OBJECT:jane", names(index.findElements(jane, "*")));
+		assertEquals("ELEMENT:index0,ELEMENT:index1", names(index.findElements(jane, "ELEMENT")));
+		assertEquals("ARRAY:tags", names(index.findElements(all.get(3).getId(), "ARRAY")));
+		assertEquals("RESPONSE:response", names(index.findElements(all.get(4).getId(), "*")));
+
+		assertEquals(8, index.findElements(all.get(0).getId(), "*").size());
+		assertEquals("b", index.getElement(all.get(5).getId()).getAttribute("value"));
+		assertNull(index.getElement("unknown"));
+	}
+
+	@Test
+	public void xml() {
+		final String xml = "<?xml version=\"1.0\"?><soap:Envelope xmlns:soap=\"urn:soap\" xmlns:xsi=\"urn:xsi\"><soap:Body><item id=\"1\">first<!-- note --></item>"
+				+ "<item id=\"2\"><![CDATA[second]]></item><list><item id=\"3\">third</item>text</list></soap:Body></soap:Envelope>";
+
+		final ApiElementsIndex index = new ApiElementsIndex(200, "text/xml; charset=utf-8", xml.getBytes(StandardCharsets.UTF_8));
+		assertEquals(ApiElementsIndex.XML_TYPE, index.getType());
+		assertTrue(index.getSource().startsWith("<root><RESPONSE code=\"200\"><data><soap:Envelope xmlns:soap=\"urn:soap\""));
+		assertTrue(index.getSource().endsWith("</soap:Envelope></data></RESPONSE></root>"));
+
+		final List<AtsApiElement> all = index.findElements(null, "*");
+		assertEquals("RESPONSE:response,NODE:Envelope,NODE:Body,ELEMENT:item,ELEMENT:item,NODE:list,ELEMENT:item", names(all));
+
+		assertEquals("urn:soap", all.get(1).getAttribute("soap"));
+		assertNull(all.get(1).getAttribute("xsi"));
+
+		assertEquals("1", all.get(3).getAttribute("id"));
+		assertEquals("first", all.get(3).getAttribute("text"));
+		assertEquals("first", all.get(3).getAttribute("value"));
+		assertEquals("note", all.get(3).getAttribute("comment"));
+		assertEquals("second", all.get(4).getAttribute("#cdata-section"));
+		assertEquals("text", all.get(5).getAttribute("text"));
+
+		final String list = all.get(5).getId();
+		assertEquals("RESPONSE:response,ELEMENT:item", names(index.findElements(list, "*")));
+		assertEquals("third", index.findElements(list, "ELEMENT").get(0).getAttribute("value"));
+		assertEquals(3, index.findElements(all.get(2).getId(), "ELEMENT").size());
+	}
+
+	@Test
+	public void truncatedStream() {
+		final String data = "x".repeat(ApiElementsIndex.TRUNCATE_SIZE + 1);
+		final String xml = "<response><Stream><part>" + data + "</part></Stream><status>ok</status></response>";
+
+		final ApiElementsIndex index = new ApiElementsIndex(200, "application/xml", xml.getBytes(StandardCharsets.UTF_8));
+
+		final List<AtsApiElement> all = index.findElements(null, "*");
+		assertEquals("RESPONSE:response,NODE:response,ELEMENT:Stream,ELEMENT:status", names(all));
+		assertEquals("[TRUNCATED_DATA, size:100001]", all.get(2).getAttribute("value"));
+		assertEquals("<root><RESPONSE code=\"200\"><data><response><Stream>[TRUNCATED_DATA, size:100001]</Stream><status>ok</status></response></data></RESPONSE></root>", index.getSource());
+
+		final ApiElementsIndex small = new ApiElementsIndex(200, "application/xml", "<response><Stream><part>data</part></Stream></response>".getBytes(StandardCharsets.UTF_8));
+		assertEquals("<root><RESPONSE code=\"200\"><data><response><Stream><part>data</part></Stream></response></data></RESPONSE></root>", small.getSource());
+		assertEquals(4, small.size());
+	}
+
+	@Test
+	public void text() {
+		ApiElementsIndex index = new ApiElementsIndex(500, "text/plain", "server error\r\nretry later".getBytes(StandardCharsets.UTF_8));
+		assertEquals(ApiElementsIndex.TEXT_TYPE, index.getType());
+		assertEquals("RESPONSE:response,DATA:null", names(index.findElements(null, "*")));
+		assertEquals("server error\nretry later", index.findElements(null, "DATA").get(0).getAttribute("value"));
+
+		index = new ApiElementsIndex(200, "application/xml", "<a><b></a>".getBytes(StandardCharsets.UTF_8));
+		assertEquals(ApiElementsIndex.TEXT_TYPE, index.getType());
+		assertEquals(2, index.size());
+
+		index = new ApiElementsIndex(204, "application/json", new byte[0]);
+		assertEquals(ApiElementsIndex.JSON_TYPE, index.getType());
+		assertEquals("{\"response\":{\"name\":\"response\",\"code\":204,\"root\":null}}", index.getSource());
+	}
+}
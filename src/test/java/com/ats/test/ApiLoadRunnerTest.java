@@ -0,0 +1,119 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.ats.executor.drivers.HttpClientRegistry;
+import com.ats.executor.drivers.engines.webservices.ApiLoadReport;
+import com.ats.executor.drivers.engines.webservices.ApiLoadRunner;
+import com.ats.script.Script;
+import com.ats.script.actions.ActionApi;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpServer;
+
+import okhttp3.Request;
+
+public class ApiLoadRunnerTest {
+
+	@Test
+	public void loadOptions() {
+		final ActionApi api = new ActionApi(new Script(), "api-get", "cache, load=50, concurrency=5, 8080", "users", "", new ArrayList<String>());
+
+		assertTrue(api.isUseCache());
+		assertTrue(api.isLoad());
+		assertEquals(50, api.getLoadRequests());
+		assertEquals(5, api.getLoadConcurrency());
+		assertEquals(0, api.getLoadDuration());
+		assertEquals(8080, api.getPort());
+		assertTrue(api.getJavaCode().toString().contains("\"GET\", 8080, true, 50, 5, 0, "));
+
+		final ActionApi simple = new ActionApi(new Script(), "api-post", "", "users", "", new ArrayList<String>());
+		assertFalse(simple.isLoad());
+		assertTrue(simple.getJavaCode().toString().contains("\"POST\", -1, false, "));
+	}
+
+	@Test
+	public void histogram() {
+		final ApiLoadReport report = new ApiLoadReport(1);
+		for(int i=1; i<=1000; i++) {
+			report.add(i * 1000000L, i % 100 == 0, 10);
+		}
+
+		assertEquals(1000, report.getRequests());
+		assertEquals(10, report.getErrors());
+
+		assertEquals(500000, report.getPercentile(50), 500000 * 0.035);
+		assertEquals(950000, report.getPercentile(95), 950000 * 0.035);
+		assertEquals(990000, report.getPercentile(99), 990000 * 0.035);
+		assertEquals(1000000, report.getPercentile(100));
+
+		final JsonObject latency = report.toJson().getAsJsonObject("latency");
+		assertEquals(1.0, latency.get("min").getAsDouble(), 0);
+		assertEquals(1000.0, latency.get("max").getAsDouble(), 0);
+		assertEquals(10000, report.toJson().get("received").getAsLong());
+	}
+
+	@Test
+	public void loadStub() throws IOException {
+		final AtomicInteger calls = new AtomicInteger();
+		final AtomicInteger concurrent = new AtomicInteger();
+		final AtomicInteger maxConcurrent = new AtomicInteger();
+
+		final ExecutorService serverPool = Executors.newFixedThreadPool(8);
+		final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(serverPool);
+		server.createContext("/", exchange -> {
+			maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {}
+
+			final byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(calls.incrementAndGet() % 5 == 0 ? 500 : 200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+			concurrent.decrementAndGet();
+		});
+		server.start();
+
+		try {
+			final Request request = new Request.Builder().url("http://127.0.0.1:" + server.getAddress().getPort() + "/users").build();
+
+			final ApiLoadReport report = new ApiLoadRunner(HttpClientRegistry.getClient(10), 40, 4, 0).run(request);
+			assertEquals(40, report.getRequests());
+			assertEquals(8, report.getErrors());
+			assertEquals(4, report.getConcurrency());
+			assertTrue(maxConcurrent.get() <= 4);
+			assertTrue(report.getPercentile(50) >= 5000);
+			assertTrue(report.getPercentile(50) <= report.getPercentile(95));
+			assertTrue(report.getPercentile(95) <= report.getPercentile(99));
+
+			final JsonObject json = report.toJson();
+			assertEquals(40 * 11, json.get("received").getAsLong());
+			assertTrue(json.getAsJsonObject("latency").has("p99"));
+
+			final ApiLoadReport timed = new ApiLoadRunner(HttpClientRegistry.getClient(10), 0, 2, 1).run(request);
+			assertTrue(timed.getRequests() > 0);
+			assertTrue(timed.getElapsed() >= 1000);
+
+			final ApiLoadReport refused = new ApiLoadRunner(HttpClientRegistry.getClient(10), 3, 1, 0).run(new Request.Builder().url("http://127.0.0.1:1/").build());
+			assertEquals(3, refused.getErrors());
+		} finally {
+			server.stop(0);
+			serverPool.shutdownNow();
+		}
+	}
+}
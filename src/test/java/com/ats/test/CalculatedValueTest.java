@@ -162,4 +162,47 @@ public class CalculatedValueTest {
 			assertTrue(result.length() == lengths[i] && result.matches(matches[i]));
 		}
 	}
+	
+	@Test
+	public void javaCodeValues() throws IOException {
+		
+		final String[] values = new String[] {
+				"simple text",
+				"pre $var(v1) post $var(v1)",
+				"$param(0,x)-$param(1)",
+				"http://x.com/?q=$param(q)&r=$env(r,1)",
+				"user: $pass(p1) !",
+				"it $iteration of $pgav",
+				"$var(sc.v1)",
+				"a \"quoted\" \\ value $var(v1)",
+				"text$key(TAB-shift)more",
+				"$$var(v1)$",
+				"$sys(os-name)",
+				"$asset(data/x.csv)"};
+		
+		final String[] codes = new String[] {
+				"clv(\"simple text\")",
+				"clv(\"pre \", v1, \" post \", v1)",
+				"clv(prm(0, \"x\"), \"-\", prm(1))",
+				"clv(\"http://x.com/?q=\", prm(\"q\"), \"&r=\", env(\"r\", \"1\"))",
+				"clv(\"user: \", new com.ats.crypto.Password(this, \"p1\"), \" !\")",
+				"clv(\"it \", itr(), \" of \", gav())",
+				"clv(gvar(\"sc.v1\"))",
+				"clv(\"a \\\"quoted\\\" \\\\ value \", v1)",
+				"clv(\"text$key(TAB-shift)more\")",
+				"clv(\"$\", v1, \"$\")",
+				"clv(sys(\"os-name\"))",
+				"clv(emb(\"assets/data/x.csv\"))"};
+		
+		final ActionTestScript script = new ActionTestScript(tempFolder.newFolder());
+		script.createVariable("v1", new CalculatedValue(script, "val1"), null);
+		
+		for(int i = 0 ; i < values.length; i++) {
+			assertEquals(codes[i], new CalculatedValue(script, values[i]).getJavaCode());
+		}
+		
+		assertEquals("$val1$", new CalculatedValue(script, "$$var(v1)$").getCalculated());
+		assertEquals("x-", new CalculatedValue(script, "$param(0,x)-$param(1)").getCalculated());
+		assertTrue(new CalculatedValue(script, "user: $pass(p1) !").isCrypted());
+	}
 }
@@ -0,0 +1,90 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import com.ats.tools.report.CampaignReportCache;
+import com.ats.tools.report.CampaignReportGenerator;
+import com.ats.tools.report.XmlReport;
+
+public class CampaignReportTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void incrementalReport() throws Exception {
+
+		final Path output = tempFolder.newFolder().toPath();
+		final File suitesFile = output.resolve(CampaignReportGenerator.ATS_JSON_SUITES).toFile();
+
+		Files.writeString(suitesFile.toPath(), "{\"projectId\":\"prj\",\"suites\":[{\"name\":\"suite1\",\"tests\":[\"t1\",\"t2\",\"missing\"],\"parameters\":{\"p\":\"v\"}},{\"name\":\"suite2\",\"tests\":[\"t3\"],\"parameters\":{}}]}", StandardCharsets.UTF_8);
+
+		final Path t1 = writeTest(output, "suite1", "t1", 1, 100, 50);
+		writeTest(output, "suite1", "t2", 0, 10);
+		writeTest(output, "suite2", "t3", 1, 1, 2, 3);
+
+		new CampaignReportGenerator(output, suitesFile, "1", null);
+
+		Element report = readReport(output);
+		assertEquals("prj", report.getAttribute("projectId"));
+		assertEquals("3", report.getAttribute("tests"));
+		assertEquals("2", report.getAttribute("testsPassed"));
+		assertEquals("1", report.getAttribute("suitesPassed"));
+		assertEquals("6", report.getAttribute("actions"));
+		assertEquals("166", report.getAttribute("duration"));
+
+		final NodeList suites = report.getElementsByTagName("suite");
+		final Element suite1 = (Element) suites.item(0);
+		assertEquals("false", suite1.getAttribute("passed"));
+		assertEquals("160", suite1.getAttribute("duration"));
+		assertEquals("v", ((Element)suite1.getElementsByTagName("parameter").item(0)).getAttribute("value"));
+		assertEquals(2, suite1.getElementsByTagName("ats").getLength());
+		assertEquals("150", ((Element)suite1.getElementsByTagName("ats").item(0)).getAttribute("duration"));
+		assertEquals("true", ((Element) suites.item(1)).getAttribute("passed"));
+
+		assertTrue(Files.exists(output.resolve(CampaignReportCache.CACHE_FILE_NAME)));
+		assertTrue(Files.size(output.resolve(CampaignReportGenerator.ATS_REPORT + ".html")) > 0);
+
+		Files.writeString(t1, testXml(0, 7), StandardCharsets.UTF_8);
+		t1.toFile().setLastModified(System.currentTimeMillis() + 5000);
+
+		new CampaignReportGenerator(output, suitesFile, "1", null);
+
+		report = readReport(output);
+		assertEquals("1", report.getAttribute("testsPassed"));
+		assertEquals("7", ((Element)report.getElementsByTagName("ats").item(0)).getAttribute("duration"));
+		assertEquals("23", report.getAttribute("duration"));
+		assertEquals(3, CampaignReportCache.load(output).tests.size());
+	}
+
+	private static Element readReport(Path output) throws Exception {
+		return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(output.resolve(CampaignReportGenerator.ATS_REPORT + ".xml").toFile()).getDocumentElement();
+	}
+
+	private static Path writeTest(Path output, String suite, String name, int status, int... durations) throws Exception {
+		final Path folder = Files.createDirectories(output.resolve(suite).resolve(name + "_xml"));
+		return Files.writeString(folder.resolve(XmlReport.REPORT_FILE), testXml(status, durations), StandardCharsets.UTF_8);
+	}
+
+	private static String testXml(int status, int... durations) {
+		final StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><ats><script testName=\"t\"><summary status=\"").append(status).append("\"><data></data></summary></script><actions>");
+		for(int d : durations) {
+			xml.append("<action index=\"1\"><duration>").append(d).append("</duration><element><searchDuration>999</searchDuration></element></action>");
+		}
+		return xml.append("</actions></ats>").toString();
+	}
+}
@@ -0,0 +1,84 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ats.generator.Generator;
+import com.ats.generator.GeneratorReport;
+import com.ats.script.Project;
+
+public class GeneratorCacheTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private Path createProject() throws IOException {
+		final Path prj = ProjectFixture.createProject(tempFolder);
+
+		final Path ats = prj.resolve("src/main/ats");
+		Files.createDirectories(ats.resolve("subscripts"));
+
+		Files.writeString(ats.resolve("main.ats"), "goto-url -> google.com\nsubscript -> subscripts.sub1\n", StandardCharsets.UTF_8);
+		Files.writeString(ats.resolve("other.ats"), "comment -> step -> other\n", StandardCharsets.UTF_8);
+		Files.writeString(ats.resolve("subscripts/sub1.ats"), "comment -> step -> sub\n", StandardCharsets.UTF_8);
+
+		return prj;
+	}
+
+	private GeneratorReport generate(Path prj) {
+		return new Generator(Project.getProjectData(prj.toFile(), null, null), true).launch();
+	}
+
+	@Test
+	public void unchangedScripts() throws IOException {
+		final Path prj = createProject();
+
+		GeneratorReport report = generate(prj);
+		assertEquals(3, report.getGeneratedScriptsCount());
+		assertEquals(0, report.getCacheHitsCount());
+
+		report = generate(prj);
+		assertEquals(0, report.getGeneratedScriptsCount());
+		assertEquals(3, report.getCacheHitsCount());
+		assertTrue(prj.resolve("target/generated/main.java").toFile().exists());
+	}
+
+	@Test
+	public void changedSubscript() throws IOException {
+		final Path prj = createProject();
+		generate(prj);
+
+		Files.writeString(prj.resolve("src/main/ats/subscripts/sub1.ats"), "comment -> step -> changed\n", StandardCharsets.UTF_8);
+
+		final GeneratorReport report = generate(prj);
+		assertEquals(2, report.getCacheMissesCount());
+		assertEquals(1, report.getCacheHitsCount());
+	}
+
+	@Test
+	public void deletedScript() throws IOException {
+		final Path prj = createProject();
+		generate(prj);
+
+		final File javaFile = prj.resolve("target/generated/other.java").toFile();
+		assertTrue(javaFile.exists());
+
+		Files.delete(prj.resolve("src/main/ats/other.ats"));
+
+		final GeneratorReport report = generate(prj);
+		assertEquals(1, report.getDeletedScriptsCount());
+		assertEquals(0, report.getGeneratedScriptsCount());
+		assertFalse(javaFile.exists());
+	}
+}
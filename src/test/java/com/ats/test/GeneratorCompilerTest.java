@@ -0,0 +1,89 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ats.generator.Generator;
+import com.ats.generator.GeneratorCompiler;
+import com.ats.script.Project;
+
+public class GeneratorCompilerTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void compileUpdatedFiles() throws IOException {
+		Assume.assumeTrue(GeneratorCompiler.isAvailable());
+
+		final Path prj = ProjectFixture.createProject(tempFolder);
+
+		final Path ats = Files.createDirectories(prj.resolve("src/main/ats/subscripts"));
+		Files.writeString(ats.resolve("sub1.ats"), "comment -> step -> sub\n", StandardCharsets.UTF_8);
+		Files.writeString(ats.resolve("sub2.ats"), "comment -> step -> sub\n", StandardCharsets.UTF_8);
+
+		final Path assets = Files.createDirectories(prj.resolve("src/assets/data"));
+		Files.writeString(assets.resolve("list.csv"), "name\nfirst\n", StandardCharsets.UTF_8);
+
+		final Project project = Project.getProjectData(prj.toFile(), null, null);
+		final Path classes = prj.resolve("target/classes");
+
+		Generator generator = new Generator(project, true);
+		generator.launch();
+
+		GeneratorCompiler compiler = new GeneratorCompiler(project);
+		assertEquals(1, compiler.copyAssets());
+		assertTrue(compiler.compile(generator.getGeneratedJavaFiles()));
+		assertEquals(2, compiler.getCompiledFilesCount());
+		assertTrue(classes.resolve("subscripts/sub1.class").toFile().exists());
+		assertTrue(classes.resolve("assets/data/list.csv").toFile().exists());
+
+		assertEquals(0, compiler.copyAssets());
+		assertTrue(compiler.compile(new Generator(project, true).getGeneratedJavaFiles()));
+		assertEquals(0, compiler.getCompiledFilesCount());
+
+		Files.delete(ats.resolve("sub2.ats"));
+		Files.writeString(ats.resolve("sub1.ats"), "comment -> step -> changed\n", StandardCharsets.UTF_8);
+
+		generator = new Generator(project, true);
+		generator.launch();
+
+		final File sub2Class = classes.resolve("subscripts/sub2.class").toFile();
+		assertTrue(sub2Class.exists());
+
+		compiler = new GeneratorCompiler(project);
+		assertTrue(compiler.compile(generator.getGeneratedJavaFiles()));
+		assertEquals(1, compiler.getCompiledFilesCount());
+		assertFalse(sub2Class.exists());
+
+		final Path helpers = Files.createDirectories(project.getJavaDestinationFolder().resolve("tools"));
+		final Path helpersJava = Files.writeString(helpers.resolve("Helpers.java"), "package tools;\npublic class Helpers {}\nclass Helper {}\n", StandardCharsets.UTF_8);
+
+		final File helperClass = classes.resolve("tools/Helper.class").toFile();
+		assertTrue(compiler.compile(List.of(helpersJava.toFile())));
+		assertTrue(helperClass.exists());
+
+		assertTrue(compiler.compile(new Generator(project, true).getGeneratedJavaFiles()));
+		assertEquals(0, compiler.getCompiledFilesCount());
+		assertTrue(helperClass.exists());
+
+		Files.delete(helpersJava);
+		assertTrue(compiler.compile(new Generator(project, true).getGeneratedJavaFiles()));
+		assertFalse(helperClass.exists());
+		assertFalse(classes.resolve("tools/Helpers.class").toFile().exists());
+		assertTrue(classes.resolve("subscripts/sub1.class").toFile().exists());
+	}
+}
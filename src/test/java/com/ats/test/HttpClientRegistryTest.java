@@ -0,0 +1,75 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.ats.executor.drivers.HttpClientRegistry;
+import com.ats.executor.drivers.HttpClientRegistry.Metrics;
+import com.sun.net.httpserver.HttpServer;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+public class HttpClientRegistryTest {
+
+	@Test
+	public void sharedClients() {
+		final OkHttpClient client = HttpClientRegistry.getClient(15);
+		assertSame(client, HttpClientRegistry.getClient(15, 15, 15, null));
+		assertEquals(15000, client.readTimeoutMillis());
+
+		final OkHttpClient proxyClient = HttpClientRegistry.getClient(15, new Proxy(Proxy.Type.HTTP, new InetSocketAddress("127.0.0.1", 8888)));
+		final OkHttpClient sslClient = HttpClientRegistry.newBuilder(25).followRedirects(true).build();
+
+		assertNotSame(client, proxyClient);
+		assertSame(client.connectionPool(), proxyClient.connectionPool());
+		assertSame(client.connectionPool(), sslClient.connectionPool());
+		assertSame(client.dispatcher(), sslClient.dispatcher());
+		assertEquals(25000, sslClient.connectTimeoutMillis());
+	}
+
+	@Test
+	public void pooledConnections() throws IOException {
+		final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			final byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+
+		try {
+			final Metrics metrics = HttpClientRegistry.getMetrics();
+			final long calls = metrics.getCalls();
+			final long hits = metrics.getPoolHits();
+			final long misses = metrics.getPoolMisses();
+
+			final Request request = new Request.Builder().url("http://127.0.0.1:" + server.getAddress().getPort() + "/").build();
+			for(OkHttpClient client : new OkHttpClient[] {HttpClientRegistry.getClient(5), HttpClientRegistry.getClient(6), HttpClientRegistry.getClient(5)}) {
+				try (Response response = client.newCall(request).execute()) {
+					assertEquals("ok", response.body().string());
+				}
+			}
+
+			assertEquals(calls + 3, metrics.getCalls());
+			assertEquals(misses + 1, metrics.getPoolMisses());
+			assertEquals(hits + 2, metrics.getPoolHits());
+			assertTrue(metrics.toString().contains("pool hits="));
+		} finally {
+			server.stop(0);
+		}
+	}
+}
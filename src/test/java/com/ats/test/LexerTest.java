@@ -1,8 +1,13 @@
 package com.ats.test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
 
 import com.ats.script.Script;
 import com.ats.script.actions.neoload.ActionNeoloadContainer;
@@ -14,16 +19,23 @@ import com.ats.generator.variables.CalculatedValue;
 import com.ats.generator.variables.Variable;
 import com.ats.script.actions.*;
 import com.ats.tools.Utils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.ats.generator.GeneratorReport;
 import com.ats.generator.parsers.*;
+import com.ats.script.Project;
+import com.ats.script.ScriptInfo;
 import com.ats.script.ScriptLoader;
 
 import static org.junit.Assert.assertEquals;
 
 public class LexerTest {	
 
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
 	@Test
 	public void createActionTest() throws IOException {
 		Lexer lexer = new Lexer(new GeneratorReport());
@@ -106,4 +118,37 @@ public class LexerTest {
 			assertEquals(expectedScript.getActions()[i].getJavaCode().toString() ,allActions[i].getJavaCode().toString());
 		}
 	}
-}
\ No newline at end of file
+	
+	@Test
+	public void parallelLoadingTest() throws IOException {
+		final Path prj = ProjectFixture.createProject(tempFolder);
+		
+		final Path ats = Files.createDirectories(prj.resolve("src/main/ats"));
+		for (int i = 0; i < 200; i++) {
+			final StringBuilder content = new StringBuilder("created -> 2021-0" + (1 + i % 9) + "-1" + (i % 10) + " at 10:20:30\n");
+			for (int j = 0; j < i % 20; j++) {
+				content.append("goto-url -> google.com\nsubscript -> sub").append(j).append("\n");
+			}
+			Files.writeString(ats.resolve(String.format("script%03d.ats", i)), content.toString(), StandardCharsets.UTF_8);
+		}
+		
+		final Project project = Project.getProjectData(prj.toFile(), null, null);
+		
+		final List<ScriptLoader> scripts = project.getAtsScripts(new Lexer(project, new GeneratorReport(), StandardCharsets.UTF_8), 4);
+		assertEquals(200, scripts.size());
+		
+		final Calendar cal = Calendar.getInstance();
+		for (int i = 0; i < scripts.size(); i++) {
+			final ScriptLoader sc = scripts.get(i);
+			assertEquals(String.format("script%03d", i), sc.getHeader().getName());
+			
+			cal.setTime(sc.getHeader().getCreatedAt());
+			assertEquals(i % 9, cal.get(Calendar.MONTH));
+			assertEquals(10 + i % 10, cal.get(Calendar.DAY_OF_MONTH));
+			
+			final ScriptInfo info = new ScriptInfo(sc, sc.getHeader().getJavaFile());
+			assertEquals(i % 20, info.getActions());
+			assertEquals(i % 20, info.getCallscripts());
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ats.element.AtsMobileElement;
+import com.ats.executor.drivers.engines.mobiles.AndroidRootElement;
+import com.ats.executor.drivers.engines.mobiles.MobileCapture;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpServer;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+public class MobileCaptureTest {
+
+	private static final String CAPTURE = "{\"id\":\"root\",\"tag\":\"root\",\"attributes\":{},\"children\":["
+			+ "{\"id\":\"a\",\"tag\":\"LinearLayout\",\"attributes\":{},\"children\":["
+			+ "{\"id\":\"a1\",\"tag\":\"Button\",\"attributes\":{\"text\":\"ok\"}},"
+			+ "{\"id\":\"a2\",\"tag\":\"TextView\",\"attributes\":{\"text\":\"old\"}}]},"
+			+ "{\"id\":\"b\",\"tag\":\"Button\",\"attributes\":{}}]}";
+
+	private static final String PATCHES = "{\"patches\":["
+			+ "{\"id\":\"a2\",\"element\":{\"id\":\"a3\",\"tag\":\"TextView\",\"attributes\":{\"text\":\"new\"},\"children\":[{\"id\":\"a31\",\"tag\":\"Button\",\"attributes\":{}}]}},"
+			+ "{\"id\":\"b\",\"element\":null}]}";
+
+	//stand-in mobile station, responses are sent in order : status code, version, body
+	private final Deque<String[]> responses = new ArrayDeque<String[]>();
+	private final List<String> versions = new ArrayList<String>();
+
+	private HttpServer station;
+	private MobileCapture capture;
+
+	@Before
+	public void startStation() throws IOException {
+		station = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		station.createContext("/capture", exchange -> {
+			versions.add(exchange.getRequestHeaders().getFirst(MobileCapture.IF_NONE_MATCH));
+
+			final String[] response = responses.poll();
+			if(response[1] != null) {
+				exchange.getResponseHeaders().add(MobileCapture.ETAG, response[1]);
+			}
+
+			final byte[] body = response[2] != null ? response[2].getBytes(StandardCharsets.UTF_8) : new byte[0];
+			exchange.sendResponseHeaders(Integer.parseInt(response[0]), body.length > 0 ? body.length : -1);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		station.start();
+
+		capture = new MobileCapture(new OkHttpClient());
+	}
+
+	@After
+	public void stopStation() {
+		station.stop(0);
+	}
+
+	private JsonObject load(AndroidRootElement root) {
+		return capture.load(new Request.Builder().url("http://127.0.0.1:" + station.getAddress().getPort() + "/capture"), root);
+	}
+
+	@Test
+	public void versionedCapture() {
+		final AndroidRootElement root = new AndroidRootElement(null);
+
+		responses.add(new String[] {"200", "v1", CAPTURE});
+		responses.add(new String[] {"304", null, null});
+		responses.add(new String[] {"200", "v2", PATCHES});
+
+		final JsonObject source = load(root);
+		final AtsMobileElement value = root.getValue();
+		assertEquals("ok", root.getElementById("a1").getAttribute("text"));
+
+		assertSame(source, load(root));
+		assertSame(value, root.getValue());
+
+		load(root);
+		assertNull(root.getElementById("a2"));
+		assertNull(root.getElementById("b"));
+		assertSame(root.getElementById("a3"), root.getElementById("a31").getParent());
+		assertEquals(1, root.getValue().getChildren().length);
+		assertEquals("new", root.getElementById("a3").getAttribute("text"));
+		assertEquals(1, root.getCaptureSource().getAsJsonArray("children").size());
+
+		assertNull(versions.get(0));
+		assertEquals(List.of("v1", "v1"), versions.subList(1, 3));
+		assertEquals("v2", root.getCaptureVersion());
+		assertEquals(1, capture.getLoaded());
+		assertEquals(1, capture.getUnchanged());
+		assertEquals(1, capture.getPatched());
+	}
+
+	@Test
+	public void patchesOfPatchedElements() {
+		final AndroidRootElement root = new AndroidRootElement(null);
+
+		responses.add(new String[] {"200", "v1", CAPTURE});
+		responses.add(new String[] {"200", "v2", "{\"patches\":["
+				+ "{\"id\":\"a2\",\"element\":{\"id\":\"a3\",\"tag\":\"TextView\",\"attributes\":{},\"children\":[{\"id\":\"a31\",\"tag\":\"Button\",\"attributes\":{}}]}},"
+				+ "{\"id\":\"a31\",\"element\":{\"id\":\"a32\",\"tag\":\"Button\",\"attributes\":{\"text\":\"last\"}}},"
+				+ "{\"id\":\"a1\",\"element\":null}]}"});
+
+		load(root);
+		load(root);
+
+		assertNull(root.getElementById("a1"));
+		assertNull(root.getElementById("a31"));
+		assertEquals("last", root.getElementById("a32").getAttribute("text"));
+		assertSame(root.getElementById("a3"), root.getElementById("a32").getParent());
+		assertSame(root.getElementById("a"), root.getElementById("a3").getParent());
+		assertEquals(1, capture.getPatched());
+	}
+
+	@Test
+	public void patchesAfterRootReplaced() {
+		final AndroidRootElement root = new AndroidRootElement(null);
+
+		responses.add(new String[] {"200", "v1", CAPTURE});
+		responses.add(new String[] {"200", "v2", "{\"patches\":["
+				+ "{\"id\":\"root\",\"element\":{\"id\":\"root2\",\"tag\":\"root\",\"attributes\":{},\"children\":[{\"id\":\"c\",\"tag\":\"Button\",\"attributes\":{}},{\"id\":\"d\",\"tag\":\"Button\",\"attributes\":{}}]}},"
+				+ "{\"id\":\"c\",\"element\":null}]}"});
+
+		load(root);
+		load(root);
+
+		assertNull(root.getElementById("a"));
+		assertNull(root.getElementById("c"));
+		assertNotNull(root.getElementById("d"));
+		assertEquals(1, root.getCaptureSource().getAsJsonArray("children").size());
+		assertEquals("d", root.getCaptureSource().getAsJsonArray("children").get(0).getAsJsonObject().get("id").getAsString());
+		assertEquals(1, capture.getPatched());
+	}
+
+	@Test
+	public void patchesNotApplied() {
+		final AndroidRootElement root = new AndroidRootElement(null);
+
+		responses.add(new String[] {"200", "v1", CAPTURE});
+		responses.add(new String[] {"200", "v2", "{\"patches\":[{\"id\":\"unknown\",\"element\":null}]}"});
+		responses.add(new String[] {"200", "v3", CAPTURE.replace("\"old\"", "\"reloaded\"")});
+
+		load(root);
+		load(root);
+
+		assertEquals("reloaded", root.getElementById("a2").getAttribute("text"));
+		assertEquals("v3", root.getCaptureVersion());
+		assertNull(versions.get(2));
+		assertEquals(2, capture.getLoaded());
+	}
+
+	@Test
+	public void stationWithoutVersion() {
+		final AndroidRootElement root = new AndroidRootElement(null);
+
+		responses.add(new String[] {"200", null, CAPTURE});
+		responses.add(new String[] {"200", null, CAPTURE});
+		responses.add(new String[] {"200", null, CAPTURE.replace("\"ok\"", "\"cancel\"")});
+
+		load(root);
+		final AtsMobileElement value = root.getValue();
+
+		load(root);
+		assertSame(value, root.getValue());
+		assertEquals(1, capture.getUnchanged());
+
+		load(root);
+		assertNotNull(root.getValue());
+		assertEquals("cancel", root.getElementById("a1").getAttribute("text"));
+		assertEquals(2, capture.getLoaded());
+	}
+}
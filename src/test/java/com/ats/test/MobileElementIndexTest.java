@@ -0,0 +1,51 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.ats.element.AtsMobileElement;
+import com.ats.executor.drivers.engines.mobiles.AndroidRootElement;
+import com.google.gson.JsonParser;
+
+public class MobileElementIndexTest {
+
+	private static final String CAPTURE = "{\"id\":\"root\",\"tag\":\"root\",\"attributes\":{},\"children\":["
+			+ "{\"id\":\"a\",\"tag\":\"LinearLayout\",\"attributes\":{},\"children\":["
+			+ "{\"id\":\"a1\",\"tag\":\"Button\",\"attributes\":{}},"
+			+ "{\"id\":\"a2\",\"tag\":\"TextView\",\"attributes\":{},\"children\":[{\"id\":\"a21\",\"tag\":\"button\",\"attributes\":{}}]}]},"
+			+ "{\"id\":\"b\",\"tag\":\"Button\",\"attributes\":{}}]}";
+
+	private static List<String> byTag(AndroidRootElement root, AtsMobileElement parent, String tag) {
+		final List<AtsMobileElement> list = new ArrayList<AtsMobileElement>();
+		root.loadElementsByTag(parent, tag, list);
+		return list.stream().map(AtsMobileElement::getId).collect(Collectors.toList());
+	}
+
+	@Test
+	public void indexedCapture() {
+		final AndroidRootElement root = new AndroidRootElement(null);
+		root.refresh(JsonParser.parseString(CAPTURE).getAsJsonObject());
+
+		final AtsMobileElement a21 = root.getElementById("a21");
+		assertEquals("button", a21.getTag());
+		assertSame(root.getElementById("a2"), a21.getParent());
+		assertSame(root.getValue(), root.getElementById("a").getParent());
+		assertNull(root.getElementById("c"));
+
+		assertEquals(List.of("a1", "a21", "b"), byTag(root, root.getValue(), "Button"));
+		assertEquals(List.of("a1", "a21"), byTag(root, root.getElementById("a"), "BUTTON"));
+		assertEquals(List.of("a2", "a21"), byTag(root, root.getElementById("a2"), "*"));
+		assertEquals(List.of(), byTag(root, root.getElementById("b"), "TextView"));
+
+		root.refresh(JsonParser.parseString("{\"id\":\"root\",\"tag\":\"root\",\"attributes\":{}}").getAsJsonObject());
+		assertNull(root.getElementById("a"));
+		assertEquals(List.of(), byTag(root, a21, "*"));
+	}
+}
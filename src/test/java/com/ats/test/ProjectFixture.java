@@ -0,0 +1,24 @@
+package com.ats.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.rules.TemporaryFolder;
+
+public class ProjectFixture {
+
+	private static final String PROJECT_PROPERTIES = "<?xml version=\"1.0\"?><atsProject><domain>com.test</domain><name>prj</name><version>1.0</version></atsProject>";
+
+	/**
+	 * Create an empty ats project folder with its properties file
+	 *
+	 * @param tempFolder temporary folder rule of the test
+	 * @return path of the new project folder
+	 */
+	public static Path createProject(TemporaryFolder tempFolder) throws IOException {
+		final Path prj = tempFolder.newFolder().toPath();
+		Files.writeString(prj.resolve(".atsProjectProperties"), PROJECT_PROPERTIES);
+		return prj;
+	}
+}
@@ -0,0 +1,70 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.ahocorasick.trie.Trie;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ats.generator.GeneratorReport;
+import com.ats.generator.ProjectIndex;
+import com.ats.generator.parsers.Lexer;
+import com.ats.script.Project;
+
+public class ProjectIndexTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void subscriptReferences() throws IOException {
+		final Path prj = ProjectFixture.createProject(tempFolder);
+
+		final Path ats = Files.createDirectories(prj.resolve("src/main/ats"));
+		final Path assets = Files.createDirectories(prj.resolve("src/assets/data"));
+
+		Files.writeString(ats.resolve("main.ats"), "goto-url -> google.com\nsubscript -> sub.login\n", StandardCharsets.UTF_8);
+		Files.writeString(ats.resolve("other.ats"), "subscript -> sub.login\nsubscript -> sub.logout\n", StandardCharsets.UTF_8);
+		Files.writeString(assets.resolve("list.csv"), "name,script\nfirst,sub.logout\n", StandardCharsets.UTF_8);
+		Files.writeString(assets.resolve("list.json"), "[{\"script\":\"sub.login\"}]", StandardCharsets.UTF_8);
+
+		final Project project = Project.getProjectData(prj.toFile(), null, null);
+		final Lexer lexer = new Lexer(project, new GeneratorReport(), StandardCharsets.UTF_8);
+
+		ProjectIndex index = ProjectIndex.load(project);
+		assertEquals(4, index.update(lexer));
+
+		List<String> refs = index.findSubscriptRef("sub.login");
+		assertEquals(3, refs.size());
+		assertEquals("main", refs.get(0));
+		assertEquals("other", refs.get(1));
+		assertTrue(refs.get(2).endsWith("list.json"));
+
+		refs = index.findSubscriptRef("sub.logout");
+		assertEquals(2, refs.size());
+		assertTrue(refs.get(1).endsWith("list.csv"));
+
+		assertEquals(1, index.findKeywords(Trie.builder().addKeyword("google").build()).size());
+
+		index = ProjectIndex.load(project);
+		assertEquals(0, index.update(lexer));
+		assertEquals(3, index.findSubscriptRef("sub.login").size());
+
+		Files.writeString(ats.resolve("main.ats"), "goto-url -> google.com\n", StandardCharsets.UTF_8);
+		ats.resolve("main.ats").toFile().setLastModified(System.currentTimeMillis() + 5000);
+		Files.delete(assets.resolve("list.json"));
+
+		assertEquals(2, index.update(lexer));
+		refs = index.findSubscriptRef("sub.login");
+		assertEquals(1, refs.size());
+		assertEquals("other", refs.get(0));
+	}
+}
@@ -0,0 +1,55 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.ats.executor.ActionTestScript;
+import com.ats.executor.ScriptRunner;
+import com.ats.generator.GeneratorCompiler;
+import com.ats.script.Project;
+
+public class ScriptRunnerTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void runScript() throws IOException {
+		Assume.assumeTrue(GeneratorCompiler.isAvailable());
+
+		final Path prj = ProjectFixture.createProject(tempFolder);
+
+		final Path ats = Files.createDirectories(prj.resolve("src/main/ats/subscripts"));
+		Files.writeString(ats.resolve("sub1.ats"), "comment -> step -> sub\nvar -> result -> done\nreturns -> $var(result)\n", StandardCharsets.UTF_8);
+		Files.writeString(prj.resolve("src/main/ats/main.ats"), "var -> value\nsubscript -> subscripts.sub1 => value\ncomment -> step -> $var(value)\n", StandardCharsets.UTF_8);
+
+		final ScriptRunner runner = ScriptRunner.getInstance(Project.getProjectData(prj.toFile(), null, null));
+
+		final Class<ActionTestScript> clazz = runner.loadScriptClass("main");
+		assertNotNull(clazz);
+		assertSame(clazz, runner.loadScriptClass("main"));
+
+		final ActionTestScript ts = runner.run("main");
+		assertNotNull(ts);
+		assertTrue(ts.getStatus().isPassed());
+		assertEquals("done", ts.getVariable("value").getCalculatedValue());
+		assertFalse(prj.resolve("target/generated/main.java").toFile().exists());
+
+		Files.writeString(prj.resolve("src/main/ats/main.ats"), "comment -> step -> changed\n", StandardCharsets.UTF_8);
+		assertNotSame(clazz, runner.loadScriptClass("main"));
+	}
+}
@@ -0,0 +1,71 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import com.ats.graphic.TemplateMatchingEngine;
+import com.ats.graphic.TemplateMatchingEngine.GrayImage;
+
+public class TemplateMatchingTest {
+
+	private static BufferedImage readImage(String name) throws IOException {
+		return ImageIO.read(new File("src/test", name + ".png"));
+	}
+
+	private static ArrayList<Rectangle> find(BufferedImage main, BufferedImage sub, int maxError, int maxCount) {
+		return TemplateMatchingEngine.findOccurrences(GrayImage.getGrayImage(main), GrayImage.getGrayImage(sub), maxError, 10, maxCount);
+	}
+
+	private static BufferedImage convert(BufferedImage image, int type) {
+		final BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), type);
+		result.getGraphics().drawImage(image, 0, 0, null);
+		return result;
+	}
+
+	@Test
+	public void allOccurrences() throws IOException {
+		final BufferedImage screen = readImage("screen_pin");
+		final BufferedImage pin = readImage("pin0");
+
+		assertEquals(List.of(new Rectangle(583, 278, 57, 54), new Rectangle(583, 532, 57, 54)), find(screen, pin, 9, 20));
+		assertEquals(List.of(new Rectangle(583, 278, 57, 54)), find(screen, pin, 9, 1));
+
+		assertEquals(List.of(new Rectangle(187, 284, 224, 125)), find(readImage("screen_alert"), readImage("alert_eq"), 150, 20));
+	}
+
+	@Test
+	public void imageTypes() throws IOException {
+		final BufferedImage screen = readImage("screen_alert");
+		final BufferedImage robot = readImage("robot0");
+
+		final List<Rectangle> expected = List.of(new Rectangle(159, 16, 277, 96));
+		assertEquals(expected, find(convert(screen, BufferedImage.TYPE_INT_RGB), robot, 230, 20));
+		assertEquals(expected, find(convert(screen, BufferedImage.TYPE_3BYTE_BGR), convert(robot, BufferedImage.TYPE_INT_ARGB), 230, 20));
+		assertEquals(expected, find(screen.getSubimage(0, 0, 600, 300), robot, 230, 20));
+	}
+
+	@Test
+	public void burnedPositions() {
+		final BufferedImage main = new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB);
+		final BufferedImage sub = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+
+		final ArrayList<Rectangle> found = find(main, sub, 0, 100);
+		final int[] xs = found.stream().mapToInt(r -> r.x).toArray();
+		final int[] ys = found.stream().mapToInt(r -> r.y).toArray();
+
+		//positions inside a found area are skipped, last column and last row of positions are not checked
+		assertArrayEquals(new int[] {0, 0, 10, 10, 20, 20}, xs);
+		assertArrayEquals(new int[] {0, 10, 0, 10, 0, 10}, ys);
+	}
+}
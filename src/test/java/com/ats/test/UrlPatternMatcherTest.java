@@ -0,0 +1,96 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import com.ats.tools.performance.filters.BlackListFilter;
+import com.ats.tools.performance.filters.UrlPattern;
+import com.ats.tools.performance.filters.UrlPatternMatcher;
+import com.ats.tools.performance.filters.WhiteListFilter;
+import com.browserup.harreader.model.HarEntry;
+import com.browserup.harreader.model.HarRequest;
+
+public class UrlPatternMatcherTest {
+
+	private static final List<String> PATTERNS = List.of(".*google-analytics\\.com.*", ".*doubleclick.net.*", "https://cdn[0-9]+\\.site\\.com/.*\\.woff2?",
+			".*/track/[0-9]+\\.gif", "https://api\\.site\\.com/v1+/items", ".*(ads|pixel)\\..*", "(?i).*FONTS.*", "https://sso\\.site\\.com/health", "colou?r.*");
+
+	private static final String[] URLS = new String[] {"https://www.google-analytics.com/collect?v=1", "https://stats.g.doubleclick.net/r", "https://stats.doubleclickxnet/r",
+			"https://cdn2.site.com/fonts/a.woff2", "https://cdn2.site.com/fonts/a.woff", "https://cdn.site.com/fonts/a.woff", "https://www.site.com/track/12.gif",
+			"https://www.site.com/track/x.gif", "https://api.site.com/v111/items", "https://api.site.com/v/items", "https://ads.site.com/a", "https://pixel.site.com",
+			"https://www.site.com/Fonts/roboto.css", "https://sso.site.com/health", "https://sso.site.com/health/live", "color.css", "colour", "colr", "https://www.site.com/"};
+
+	@Test
+	public void requiredLiterals() {
+		assertEquals("google-analytics.com", UrlPattern.getRequiredLiteral(".*google-analytics\\.com.*"));
+		assertEquals(".shop-static.com/", UrlPattern.getRequiredLiteral("https://cdn[0-9]+\\.shop-static\\.com/.*\\.woff2?"));
+		assertEquals("https://api.site.com/v1", UrlPattern.getRequiredLiteral("https://api\\.site\\.com/v1+/items"));
+		assertEquals("colo", UrlPattern.getRequiredLiteral("colou?r.*"));
+		assertEquals("/track/", UrlPattern.getRequiredLiteral(".*/track/\\d{1,3}\\.gif"));
+		assertEquals("/items", UrlPattern.getRequiredLiteral("(ab|cd)/items"));
+		assertEquals("xx", UrlPattern.getRequiredLiteral("x{0,2}[a-z]+xx"));
+
+		assertNull(UrlPattern.getRequiredLiteral(".*(ads|pixel)\\..*|.*beacon.*"));
+		assertNull(UrlPattern.getRequiredLiteral("(?i).*FONTS.*"));
+		assertNull(UrlPattern.getRequiredLiteral("\\Qhttps://site.com\\E.*"));
+		assertNull(UrlPattern.getRequiredLiteral(".*[a-z]+.*"));
+	}
+
+	@Test
+	public void sameResultsAsPatterns() {
+		final UrlPatternMatcher matcher = new UrlPatternMatcher(PATTERNS);
+		for(String url : URLS) {
+			final boolean expected = PATTERNS.stream().anyMatch(p -> Pattern.compile(p).matcher(url).matches());
+			assertEquals(url, expected, matcher.matches(url));
+		}
+
+		assertTrue(matcher.matches("https://www.site.com/Fonts/roboto.css"));
+		assertFalse(matcher.matches("https://www.site.com/"));
+		assertFalse(new UrlPatternMatcher(new ArrayList<String>()).matches("https://www.site.com/"));
+	}
+
+	@Test
+	public void filters() {
+		final List<String> urls = List.of("https://www.site.com/", "https://www.google-analytics.com/collect", "https://www.site.com/cart", "https://www.site.com/track/1.gif");
+
+		List<HarEntry> log = createEntries(urls);
+		final List<HarEntry> saved = new ArrayList<HarEntry>();
+
+		final BlackListFilter blackList = new BlackListFilter(PATTERNS);
+		blackList.setPageId("page1");
+		blackList.filter(log, saved);
+
+		assertTrue(log.isEmpty());
+		assertEquals(2, saved.size());
+		assertEquals("https://www.site.com/", saved.get(0).getRequest().getUrl());
+		assertEquals("https://www.site.com/cart", saved.get(1).getRequest().getUrl());
+		assertEquals("page1", saved.get(1).getPageref());
+
+		log = createEntries(urls);
+		new WhiteListFilter(PATTERNS).filter(log, saved);
+		assertTrue(log.isEmpty());
+		assertEquals(4, saved.size());
+		assertEquals("https://www.site.com/track/1.gif", saved.get(3).getRequest().getUrl());
+	}
+
+	private static List<HarEntry> createEntries(List<String> urls) {
+		final List<HarEntry> entries = new ArrayList<HarEntry>();
+		for(String url : urls) {
+			final HarRequest request = new HarRequest();
+			request.setUrl(url);
+
+			final HarEntry entry = new HarEntry();
+			entry.setRequest(request);
+			entries.add(entry);
+		}
+		return entries;
+	}
+}
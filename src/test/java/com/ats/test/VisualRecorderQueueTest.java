@@ -0,0 +1,115 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.ats.recorder.VisualRecorderQueue;
+import com.ats.recorder.VisualRecorderQueue.Policy;
+
+public class VisualRecorderQueueTest {
+
+	@Test
+	public void orderedExecution() {
+		final List<Integer> done = new CopyOnWriteArrayList<Integer>();
+		final VisualRecorderQueue queue = new VisualRecorderQueue(4, Policy.BLOCK);
+
+		for(int i=0; i<20; i++) {
+			final int value = i;
+			queue.post("value", () -> done.add(value));
+		}
+		queue.flush();
+
+		assertEquals(20, done.size());
+		for(int i=0; i<20; i++) {
+			assertEquals(i, done.get(i).intValue());
+		}
+		assertEquals(20, queue.getPosted());
+		assertTrue(queue.getMaxDepth() <= 4);
+
+		queue.close();
+		queue.post("value", () -> done.add(-1));
+		assertEquals(20, done.size());
+	}
+
+	@Test
+	public void dropAndCoalesce() throws InterruptedException {
+		final List<String> done = new CopyOnWriteArrayList<String>();
+
+		VisualRecorderQueue queue = new VisualRecorderQueue(1, Policy.DROP);
+		CountDownLatch release = blockWorker(queue);
+		queue.post("value", () -> done.add("a"));
+		queue.post("value", () -> done.add("b"));
+		release.countDown();
+		queue.close();
+
+		assertEquals(List.of("a"), done);
+		assertEquals(1, queue.getDropped());
+
+		done.clear();
+		queue = new VisualRecorderQueue(1, Policy.DROP);
+		release = blockWorker(queue);
+		queue.post("value", () -> done.add("a"));
+		final VisualRecorderQueue createQueue = queue;
+		final Thread producer = new Thread(() -> {
+			createQueue.nextAction();
+			createQueue.post(VisualRecorderQueue.CREATE, () -> done.add("create"));
+		});
+		producer.start();
+		while(producer.isAlive() && producer.getState() != Thread.State.TIMED_WAITING) {
+			Thread.sleep(1);
+		}
+		release.countDown();
+		producer.join(5000);
+		queue.close();
+
+		assertEquals(List.of("a", "create"), done);
+		assertEquals(0, queue.getDropped());
+
+		done.clear();
+		queue = new VisualRecorderQueue(1, Policy.COALESCE);
+		release = blockWorker(queue);
+		queue.post("status", () -> done.add("a"));
+		queue.post("status", () -> done.add("b"));
+		release.countDown();
+		queue.close();
+
+		assertEquals(List.of("b"), done);
+		assertEquals(1, queue.getCoalesced());
+	}
+
+	@Test
+	public void failedEvents() {
+		final List<String> done = new CopyOnWriteArrayList<String>();
+		final VisualRecorderQueue queue = new VisualRecorderQueue(1, Policy.BLOCK);
+
+		queue.post("value", () -> {throw new IllegalStateException("driver error");});
+		queue.post("value", () -> {throw new AssertionError("assert error");});
+		queue.post("value", () -> done.add("a"));
+		queue.post("value", () -> done.add("b"));
+		queue.close();
+
+		assertEquals(List.of("a", "b"), done);
+		assertEquals(2, queue.getFailed());
+		assertTrue(queue.toString().contains("failed=2"));
+	}
+
+	private static CountDownLatch blockWorker(VisualRecorderQueue queue) throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		queue.post("block", () -> {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {}
+		});
+		started.await(5, TimeUnit.SECONDS);
+		return release;
+	}
+}
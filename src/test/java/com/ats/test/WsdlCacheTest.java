@@ -0,0 +1,132 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.SAXException;
+
+import com.ats.executor.drivers.HttpClientRegistry;
+import com.ats.executor.drivers.engines.webservices.WsdlCache;
+import com.ats.executor.drivers.engines.webservices.WsdlDefinition;
+import com.sun.net.httpserver.HttpServer;
+
+public class WsdlCacheTest {
+
+	private static final String WSDL = "<?xml version=\"1.0\"?>"
+			+ "<wsdl:definitions xmlns:wsdl=\"http://schemas.xmlsoap.org/wsdl/\" xmlns:soap=\"http://schemas.xmlsoap.org/wsdl/soap/\" xmlns:tns=\"urn:calc\" targetNamespace=\"urn:calc\">"
+			+ "<wsdl:message name=\"AddIn\"><wsdl:part name=\"p\" element=\"tns:Add\"/></wsdl:message>"
+			+ "<wsdl:portType name=\"CalcPort\"><wsdl:operation name=\"Add\"><wsdl:input message=\"tns:AddIn\"/></wsdl:operation></wsdl:portType>"
+			+ "<wsdl:binding name=\"CalcBinding\" type=\"tns:CalcPort\"><wsdl:operation name=\"Add\"><soap:operation soapAction=\"urn:calc#Add\"/></wsdl:operation>%s</wsdl:binding>"
+			+ "<wsdl:service name=\"Calc\"><wsdl:port name=\"CalcPort\" binding=\"tns:CalcBinding\"><soap:address location=\"http://localhost/calc\"/></wsdl:port></wsdl:service>"
+			+ "</wsdl:definitions>";
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void revalidation() throws IOException, SAXException, ParserConfigurationException {
+
+		final AtomicReference<String> content = new AtomicReference<String>(String.format(WSDL, ""));
+		final AtomicReference<String> etag = new AtomicReference<String>("\"v1\"");
+		final AtomicInteger notModified = new AtomicInteger();
+		final AtomicBoolean rest = new AtomicBoolean(false);
+
+		final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			if(rest.get()) {
+				final byte[] body = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+				return;
+			}
+
+			if(etag.get() != null) {
+				if(etag.get().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+					notModified.incrementAndGet();
+					exchange.sendResponseHeaders(304, -1);
+					exchange.close();
+					return;
+				}
+				exchange.getResponseHeaders().add("ETag", etag.get());
+			}
+
+			final byte[] body = content.get().getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+
+		try {
+			final String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/calc?wsdl";
+			final Path folder = tempFolder.newFolder().toPath();
+
+			final long parsed = WsdlCache.getParsed();
+
+			final WsdlDefinition wsdl = WsdlCache.load(HttpClientRegistry.getClient(10), url, folder);
+			assertEquals(parsed + 1, WsdlCache.getParsed());
+			assertEquals("urn:calc", wsdl.getNamespace());
+			assertEquals("http://localhost/calc", wsdl.getAddress());
+			assertEquals("urn:calc#Add", wsdl.getOperations().get("Add").getHeaderName());
+			assertEquals("Add", wsdl.getOperations().get("Add").getMessageName());
+			assertEquals("\"v1\"", wsdl.getEtag());
+
+			assertSame(wsdl, WsdlCache.load(HttpClientRegistry.getClient(10), url, folder));
+			assertEquals(1, notModified.get());
+
+			WsdlCache.clear();
+			final WsdlDefinition saved = WsdlCache.load(HttpClientRegistry.getClient(10), url, folder);
+			assertEquals(2, notModified.get());
+			assertEquals(parsed + 1, WsdlCache.getParsed());
+			assertEquals("urn:calc#Add", saved.getOperations().get("Add").getHeaderName());
+
+			etag.set(null);
+			final WsdlDefinition sameContent = WsdlCache.load(HttpClientRegistry.getClient(10), url, folder);
+			assertEquals(parsed + 1, WsdlCache.getParsed());
+			assertNull(sameContent.getEtag());
+			assertEquals(wsdl.getHash(), sameContent.getHash());
+
+			final Path file;
+			try (Stream<Path> files = Files.list(folder)) {
+				file = files.findFirst().get();
+			}
+			Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+			assertSame(sameContent, WsdlCache.load(HttpClientRegistry.getClient(10), url, folder));
+			assertEquals(0, Files.getLastModifiedTime(file).toMillis());
+
+			content.set(String.format(WSDL, "<wsdl:operation name=\"Sub\"><soap:operation soapAction=\"urn:calc#Sub\"/></wsdl:operation>"));
+			final WsdlDefinition updated = WsdlCache.load(HttpClientRegistry.getClient(10), url, null);
+			assertEquals(parsed + 2, WsdlCache.getParsed());
+			assertNotSame(wsdl, updated);
+			assertTrue(updated.getOperationNames().contains("Sub"));
+
+			rest.set(true);
+			assertNull(WsdlCache.load(HttpClientRegistry.getClient(10), url, null));
+		} finally {
+			server.stop(0);
+		}
+	}
+}
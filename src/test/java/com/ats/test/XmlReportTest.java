@@ -0,0 +1,199 @@
+package com.ats.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import com.ats.tools.logger.ExecutionLogger;
+import com.ats.tools.report.XmlReport;
+import com.exadel.flamingo.flex.amf.AMF3Constants;
+import com.exadel.flamingo.flex.messaging.amf.io.AMF3Serializer;
+
+public class XmlReportTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void streamedReport() throws Exception {
+
+		final Path output = tempFolder.newFolder().toPath();
+
+		final ByteArrayOutputStream png = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "png", png);
+
+		try (OutputStream out = Files.newOutputStream(output.resolve("test.script.atsv"))){
+			final AtsvWriter writer = new AtsvWriter(out);
+
+			writer.writeTyped("com.ats.recorder.VisualReport", new String[] {"id", "name", "description", "quality"}, new Object[] {"id0", "test.script", "desc", 3});
+			for(int i=1; i<=5; i++) {
+				writer.writeTyped("com.ats.recorder.VisualAction",
+						new String[] {"index", "type", "line", "value", "imageType", "channelName", "channelBound", "images"},
+						new Object[] {i, "com.ats.script.actions.ActionComment", i * 2, i == 3 ? null : "value<" + i + ">", "png", "chrome", new TypedObject("com.ats.executor.TestBound", new String[] {"x", "y", "width", "height"}, new Object[] {0D, 0D, 40D, 30D}), new Object[] {png.toByteArray()}});
+			}
+			writer.writeTyped("com.ats.recorder.ReportSummary", new String[] {"status", "actions", "suiteName", "testName", "data"}, new Object[] {1, 5, "suite", "test.script", "summary"});
+		}
+
+		XmlReport.createReport(output, "test.script", new ExecutionLogger());
+
+		final Path xmlFolder = output.resolve("test.script_xml");
+		final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(xmlFolder.resolve(XmlReport.REPORT_FILE).toFile());
+
+		final Element script = (Element) doc.getDocumentElement().getElementsByTagName("script").item(0);
+		assertEquals("test.script", script.getAttribute("testName"));
+		assertEquals("desc", script.getElementsByTagName("description").item(0).getTextContent());
+		assertEquals("5", ((Element)script.getElementsByTagName("summary").item(0)).getAttribute("actions"));
+
+		final Element actions = (Element) doc.getDocumentElement().getElementsByTagName("actions").item(0);
+		assertEquals(5, actions.getElementsByTagName("action").getLength());
+
+		final Element action = (Element) actions.getElementsByTagName("action").item(1);
+		assertEquals("2", action.getAttribute("index"));
+		assertEquals("value<2>", action.getElementsByTagName("value").item(0).getTextContent());
+		assertEquals("", ((Element) actions.getElementsByTagName("action").item(2)).getElementsByTagName("value").item(0).getTextContent());
+		assertEquals("2.png", ((Element)action.getElementsByTagName("img").item(0)).getAttribute("src"));
+
+		for(int i=1; i<=5; i++) {
+			assertTrue(Files.exists(xmlFolder.resolve(i + ".png")));
+		}
+		assertFalse(Files.exists(xmlFolder.resolve("actions.tmp")));
+	}
+
+	@Test
+	public void backReferencedObjects() throws Exception {
+
+		final Path output = tempFolder.newFolder().toPath();
+
+		final ByteArrayOutputStream png = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "png", png);
+
+		final String[] actionFields = new String[] {"index", "type", "line", "imageType", "channelName", "channelBound", "images", "element"};
+		final String[] boundFields = new String[] {"x", "y", "width", "height"};
+
+		try (OutputStream out = Files.newOutputStream(output.resolve("test.script.atsv"))){
+			final AtsvWriter writer = new AtsvWriter(out);
+
+			//references table : 0 report, 1 action, 2 channel bound, 3 images, 4 image, 5 element, 6 element bound
+			writer.writeTyped("com.ats.recorder.VisualReport", new String[] {"id", "name"}, new Object[] {"id0", "test.script"});
+			writer.writeTyped("com.ats.recorder.VisualAction", actionFields,
+					new Object[] {1, "com.ats.script.actions.ActionComment", 2, "png", "chrome", new TypedObject("com.ats.executor.TestBound", boundFields, new Object[] {0D, 0D, 40D, 30D}), new Object[] {png.toByteArray()},
+							new TypedObject("com.ats.recorder.VisualElement", new String[] {"tag", "criterias", "foundElements", "bound"}, new Object[] {"INPUT", "id = name", 1, new TypedObject("com.ats.executor.TestBound", boundFields, new Object[] {5D, 6D, 7D, 8D})})});
+
+			for(int i=2; i<=3; i++) {
+				writer.writeTyped("com.ats.recorder.VisualAction", actionFields,
+						new Object[] {i, "com.ats.script.actions.ActionComment", i * 2, "png", "chrome", new Reference(2), new Object[] {png.toByteArray()}, new Reference(5)});
+			}
+		}
+
+		XmlReport.createReport(output, "test.script", new ExecutionLogger());
+
+		final Path xmlFolder = output.resolve("test.script_xml");
+		final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(xmlFolder.resolve(XmlReport.REPORT_FILE).toFile());
+
+		final Element actions = (Element) doc.getDocumentElement().getElementsByTagName("actions").item(0);
+		assertEquals(3, actions.getElementsByTagName("action").getLength());
+
+		for(int i=0; i<3; i++) {
+			final Element action = (Element) actions.getElementsByTagName("action").item(i);
+			assertEquals("40", ((Element)action.getElementsByTagName("img").item(0)).getAttribute("width"));
+
+			final Element element = (Element) action.getElementsByTagName("element").item(0);
+			assertEquals("INPUT", element.getAttribute("tag"));
+			assertEquals("7", element.getElementsByTagName("width").item(0).getTextContent());
+
+			assertTrue(Files.exists(xmlFolder.resolve((i + 1) + ".png")));
+		}
+	}
+
+	@Test
+	public void emptyReport() throws Exception {
+		final Path output = tempFolder.newFolder().toPath();
+		XmlReport.createReport(output, "missing", new ExecutionLogger());
+
+		final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(output.resolve("missing_xml").resolve(XmlReport.REPORT_FILE).toFile());
+		assertEquals("missing", ((Element) doc.getDocumentElement().getElementsByTagName("script").item(0)).getAttribute("testName"));
+		assertEquals(1, doc.getDocumentElement().getElementsByTagName("actions").getLength());
+	}
+
+	private static class TypedObject {
+
+		private final String className;
+		private final String[] names;
+		private final Object[] values;
+
+		private TypedObject(String className, String[] names, Object[] values) {
+			this.className = className;
+			this.names = names;
+			this.values = values;
+		}
+	}
+
+	private static class Reference {
+
+		private final int index;
+
+		private Reference(int index) {
+			this.index = index;
+		}
+	}
+
+	private static class AtsvWriter extends AMF3Serializer {
+
+		private final Map<String, Integer> classDefinitions = new HashMap<String, Integer>();
+
+		private AtsvWriter(OutputStream out) {
+			super(out);
+		}
+
+		private void writeTyped(String className, String[] names, Object[] values) throws IOException {
+			write(AMF3Constants.AMF3_OBJECT);
+
+			final Integer index = classDefinitions.get(className);
+			if(index == null) {
+				classDefinitions.put(className, classDefinitions.size());
+				writeAMF3IntegerData(names.length << 4 | 0x03);
+				writeAMF3StringData(className);
+				for(String name : names) {
+					writeAMF3StringData(name);
+				}
+			}else {
+				writeAMF3IntegerData(index << 2 | 0x01);
+			}
+
+			for(Object value : values) {
+				writeObject(value);
+			}
+		}
+
+		@Override
+		public void writeObject(Object o) throws IOException {
+			if(o instanceof TypedObject) {
+				final TypedObject typed = (TypedObject) o;
+				writeTyped(typed.className, typed.names, typed.values);
+			}else if(o instanceof Reference) {
+				write(AMF3Constants.AMF3_OBJECT);
+				writeAMF3IntegerData(((Reference) o).index << 1);
+			}else {
+				super.writeObject(o);
+			}
+		}
+	}
+}